@@ -0,0 +1,13 @@
+#!/bin/bash
+# Streaming replica of the `db` service: clones the primary on first start, then runs as a hot standby.
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -d "host=db port=5432 user=$POSTGRES_USER password=$POSTGRES_PASSWORD" \
+                      -D "$PGDATA" -R -X stream -c fast; do
+    echo "waiting for primary..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres -c hot_standby=on
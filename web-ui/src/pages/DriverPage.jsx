@@ -179,7 +179,9 @@ export default function DriverPage() {
         stateTick()
 
         // ASSIGNMENT LOOP (only acts when on-shift & unassigned)
+        // Next delay follows the server's X-Poll-Interval / Retry-After hints when given
         const assignTick = async () => {
+            let nextDelay = ASSIGN_POLL_MS
             try {
                 const id = getDriverId()
                 if (!id) return
@@ -202,7 +204,10 @@ export default function DriverPage() {
                     console.log('[poll] /assignment attempt @', new Date().toISOString())
                     assignInFlightRef.current = true
                     try {
-                        const a = await getCurrentAssignment(id, { signal: ac.signal })
+                        const a = await getCurrentAssignment(id, {
+                            signal: ac.signal,
+                            onPollHint: (ms) => { nextDelay = ms }
+                        })
                         applyIfCurrent(id, () => {
                             if (a) {
                                 setState(prev => ({ ...(prev || normalized), load: a }))
@@ -215,9 +220,10 @@ export default function DriverPage() {
                     }
                 }
             } catch (e) {
+                if (e.retryAfterMs) nextDelay = e.retryAfterMs
                 if (e.name !== 'AbortError') console.warn('[Driver] assignment poll failed:', e)
             } finally {
-                assignLoopRef.current.timer = setTimeout(assignTick, ASSIGN_POLL_MS)
+                assignLoopRef.current.timer = setTimeout(assignTick, nextDelay)
             }
         }
         assignTick()
@@ -29,10 +29,17 @@ export class ApiError extends Error {
         this.correlationId = meta.correlationId ?? null;
         this.timestamp = meta.timestamp ?? null;
         this.details = meta.details ?? null;
+        this.retryAfterMs = meta.retryAfterMs ?? null;
     }
     is(code) { return this.code === code; }
 }
 
+/** Header holding a number of seconds (Retry-After, X-Poll-Interval) as millis, or null. */
+function secondsHeaderMs(headers, name) {
+    const v = Number(headers?.get(name));
+    return Number.isFinite(v) && v > 0 ? v * 1000 : null;
+}
+
 /**
  * Uniform fetch wrapper
  */
@@ -55,7 +62,7 @@ async function request(path, {
         signal
     });
 
-    if (res.status === 204) return { ok: true, status: 204, data: null };
+    if (res.status === 204) return { ok: true, status: 204, data: null, headers: res.headers };
 
     const ct = res.headers.get('Content-Type') || '';
     let parsed = null, text = null;
@@ -66,6 +73,7 @@ async function request(path, {
     }
 
     if (!res.ok) {
+        const retryAfterMs = secondsHeaderMs(res.headers, 'Retry-After');
         if (parsed && typeof parsed === 'object') {
             throw new ApiError(parsed.message || `HTTP ${res.status}`, {
                 code: parsed.code,
@@ -73,13 +81,14 @@ async function request(path, {
                 path: parsed.path,
                 correlationId: parsed.correlationId,
                 timestamp: parsed.timestamp,
-                details: parsed.details
+                details: parsed.details,
+                retryAfterMs
             });
         }
-        throw new ApiError(text || `HTTP ${res.status}`, { status: res.status });
+        throw new ApiError(text || `HTTP ${res.status}`, { status: res.status, retryAfterMs });
     }
 
-    return { ok: true, status: res.status, data: parsed ?? text ?? null };
+    return { ok: true, status: res.status, data: parsed ?? text ?? null, headers: res.headers };
 }
 
 // --- DTO normalization ------------------------------------------------------
@@ -148,12 +157,17 @@ export async function getDriverState(driverId, opts) {
     return { ...data, load: normalizeLoad(data.load) };
 }
 
+/**
+ * opts.onPollHint(ms) receives the server's suggested delay before the next poll (X-Poll-Interval).
+ */
 export async function getCurrentAssignment(driverId, opts) {
-    const { status, data } = await request(`/api/drivers/${driverId}/assignment`, {
+    const { status, data, headers } = await request(`/api/drivers/${driverId}/assignment`, {
         method: 'GET',
         noCacheGet: true,
         ...opts
     });
+    const hint = secondsHeaderMs(headers, 'X-Poll-Interval');
+    if (hint != null) opts?.onPollHint?.(hint);
     if (status === 204) return null;
     return normalizeLoad(data);
 }
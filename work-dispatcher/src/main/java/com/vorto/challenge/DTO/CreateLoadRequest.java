@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 @Schema(description = "Request to create a load with pickup and dropoff coordinates")
@@ -14,7 +16,11 @@ public record CreateLoadRequest(
         LocationDto pickup,
         @Schema(requiredMode = Schema.RequiredMode.REQUIRED, description = "Dropoff coordinate")
         @JsonProperty("dropoff") @NotNull @Valid
-        LocationDto dropoff
+        LocationDto dropoff,
+        @Schema(description = "0 (normal, default) to 3 (most urgent); urgent loads are offered to drivers further away",
+                minimum = "0", maximum = "3", example = "0")
+        @JsonProperty("priority") @Min(0) @Max(3)
+        Integer priority
 ) {
     // Cross-field: pickup and dropoff must differ
     @Schema(hidden = true)
@@ -0,0 +1,20 @@
+package com.vorto.challenge.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Dashboard counters, maintained in memory and periodically reconciled with the database")
+public record DispatchStatsDto(
+        @Schema(description = "Number of loads per status",
+                example = "{\"AWAITING_DRIVER\": 12, \"RESERVED\": 3, \"IN_PROGRESS\": 5, \"COMPLETED\": 240}")
+        Map<String, Long> loadsByStatus,
+        @Schema(description = "Drivers currently on shift", example = "9")
+        long driversOnShift,
+        @Schema(description = "On-shift drivers with no RESERVED/IN_PROGRESS load", example = "1")
+        long driversIdle,
+        @Schema(description = "When the counters were last reconciled with the database", type = "string",
+                format = "date-time")
+        Instant reconciledAt
+) {}
@@ -3,10 +3,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.UUID;
+
 @Schema(description = "Driver's current or newly-reserved load assignment")
 public record LoadAssignmentResponse(
         @Schema(description = "Load ID", example = "6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c")
-        String loadId,
+        UUID loadId,
 
         @Schema(description = "Load pick up location")
         @Valid @NotNull
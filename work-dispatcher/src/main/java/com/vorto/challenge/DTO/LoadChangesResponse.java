@@ -0,0 +1,20 @@
+package com.vorto.challenge.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Loads inserted or updated since a change token, oldest change first")
+public record LoadChangesResponse(
+        @Schema(description = "Changed loads in their current state; a load changed several times appears once")
+        List<Change> changes,
+        @Schema(description = "Token to pass as 'since' on the next call", example = "AAAAAAAAAvkBk_HCehB8MZ0uT1prfI2e")
+        String next,
+        @Schema(description = "True if more changes are ready; call again right away with 'next'", example = "false")
+        boolean hasMore
+) {
+    @Schema(description = "A load and when it last changed")
+    public record Change(LoadSummaryDto load,
+                         @Schema(example = "2025-01-01T12:03:41.207Z") Instant updatedAt) {}
+}
@@ -0,0 +1,32 @@
+package com.vorto.challenge.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Load pickups inside a bounding box: grid clusters when zoomed out, individual loads when zoomed in")
+public record LoadMapResponse(
+        @Schema(description = "Which list is populated", allowableValues = {"CLUSTERS", "LOADS"}, example = "CLUSTERS")
+        String mode,
+        @Schema(description = "Grid cell size in degrees (CLUSTERS mode only)", example = "0.087890625")
+        Double cellSizeDeg,
+        @Schema(description = "Grid cells with at least one pickup; empty in LOADS mode")
+        List<Cluster> clusters,
+        @Schema(description = "Individual loads; empty in CLUSTERS mode")
+        List<MapLoad> loads,
+        @Schema(description = "True if the result hit the size cap and was cut (densest clusters / any loads kept)",
+                example = "false")
+        boolean truncated
+) {
+    @Schema(description = "Pickups aggregated into one grid cell")
+    public record Cluster(@Schema(description = "Centroid latitude", example = "39.7412") double lat,
+                          @Schema(description = "Centroid longitude", example = "-104.9877") double lng,
+                          @Schema(description = "Loads in the cell", example = "182") long count) {}
+
+    @Schema(description = "A single load at its pickup")
+    public record MapLoad(@Schema(example = "0193f1c2-7a10-7c31-9d2e-4f5a6b7c8d9e") UUID id,
+                          @Schema(example = "AWAITING_DRIVER") String status,
+                          @Schema(example = "39.7392") double lat,
+                          @Schema(example = "-104.9903") double lng) {}
+}
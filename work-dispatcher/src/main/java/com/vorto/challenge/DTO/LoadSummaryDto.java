@@ -2,6 +2,7 @@ package com.vorto.challenge.DTO;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Schema(description = "Current load snapshot for a driver")
@@ -22,7 +23,9 @@ public record LoadSummaryDto(
         @Schema(description = "Pickup location") LocationDto pickup,
         @Schema(description = "Dropoff location") LocationDto dropoff,
         @Schema(description = "Assigned driver (null if unassigned)")
-        DriverLite assignedDriver
+        DriverLite assignedDriver,
+        @Schema(description = "0 (normal) to 3 (most urgent)", example = "0") int priority,
+        @Schema(description = "When the load was created", example = "2025-01-01T12:00:00Z") Instant createdAt
 ) {
     @Schema(description = "Lightweight driver reference")
     public record DriverLite(@Schema(example = "3bfd7de8-3ead-4443-9abd-53dd8cc85ec0") UUID id,
@@ -0,0 +1,29 @@
+package com.vorto.challenge.DTO;
+
+import com.vorto.challenge.model.Load;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Stop confirmations queued while offline, oldest first")
+public record StopSyncRequest(
+        @Schema(requiredMode = Schema.RequiredMode.REQUIRED, description = "Events in the order they happened")
+        @NotEmpty @Size(max = 100, message = "at most 100 events per sync") @Valid
+        List<StopEvent> events
+) {
+    @Schema(description = "One confirmed stop")
+    public record StopEvent(
+            @Schema(example = "f7127afb-0e62-4c94-802d-3dbd18751727") @NotNull UUID loadId,
+            @Schema(description = "The stop that was completed", allowableValues = { "PICKUP", "DROPOFF" },
+                    example = "PICKUP")
+            @NotNull Load.StopKind stop,
+            @Schema(description = "When the driver confirmed the stop on the device", example = "2025-10-19T18:33:08Z")
+            @NotNull Instant occurredAt
+    ) {}
+}
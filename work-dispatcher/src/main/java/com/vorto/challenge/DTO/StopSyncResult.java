@@ -0,0 +1,32 @@
+package com.vorto.challenge.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Per-event outcome of a stop sync, plus the single assignment made at the end")
+public record StopSyncResult(
+        @Schema(description = "One entry per submitted event, same order")
+        List<EventOutcome> events,
+        @Schema(description = "The driver's open load after the sync; reserved once, at the end (may be null)")
+        LoadAssignmentResponse nextAssignment
+) {
+    @Schema(description = "What happened to one event")
+    public record EventOutcome(
+            @Schema(example = "f7127afb-0e62-4c94-802d-3dbd18751727") UUID loadId,
+            @Schema(example = "PICKUP") String stop,
+            @Schema(description = "APPLIED, ALREADY_APPLIED (an earlier sync or call got there first), "
+                    + "FAILED, or SKIPPED (after a failure)",
+                    allowableValues = { "APPLIED", "ALREADY_APPLIED", "FAILED", "SKIPPED" }, example = "APPLIED")
+            String result,
+            @Schema(description = "The load after this event (APPLIED only)") LoadAssignmentResponse load,
+            @Schema(description = "Error code (FAILED only)", example = "RESERVATION_EXPIRED") String code,
+            @Schema(description = "Error message (FAILED only)") String message
+    ) {
+        public static final String APPLIED = "APPLIED";
+        public static final String ALREADY_APPLIED = "ALREADY_APPLIED";
+        public static final String FAILED = "FAILED";
+        public static final String SKIPPED = "SKIPPED";
+    }
+}
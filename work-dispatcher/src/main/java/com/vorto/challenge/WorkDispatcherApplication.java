@@ -1,70 +1,16 @@
 package com.vorto.challenge;
 
-import com.vorto.challenge.model.Load;
-import com.vorto.challenge.repository.LoadRepository;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import static com.vorto.challenge.common.JtsGeo.point;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class WorkDispatcherApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(WorkDispatcherApplication.class, args);
     }
-
-
-    @Bean
-    public CommandLineRunner commandLineRunner(LoadRepository loadRepository) {
-        return args -> {
-            // Seed only once: if any loads exist, skip
-            if (loadRepository.count() > 0) {
-                System.out.println("Loads already present; skipping seed.");
-                return;
-            }
-
-            List<Load> loads = new ArrayList<>();
-
-            // L1: Denver -> Colorado Springs
-            Load l1 = new Load();
-            l1.setPickup(point(39.7392, -104.9903));   // Denver
-            l1.setDropoff(point(38.8339, -104.8214));  // Colorado Springs
-            l1.setStatus(Load.Status.AWAITING_DRIVER);
-            l1.setCurrentStop(Load.StopKind.PICKUP);
-            loads.add(l1);
-
-            // L2: Boulder -> Denver
-            Load l2 = new Load();
-            l2.setPickup(point(40.01499, -105.27055)); // Boulder
-            l2.setDropoff(point(39.7392, -104.9903));  // Denver
-            l2.setStatus(Load.Status.AWAITING_DRIVER);
-            l2.setCurrentStop(Load.StopKind.PICKUP);
-            loads.add(l2);
-
-            // L3: Phoenix -> Tucson
-            Load l3 = new Load();
-            l3.setPickup(point(33.4484, -112.0740));   // Phoenix
-            l3.setDropoff(point(32.2226, -110.9747));  // Tucson
-            l3.setStatus(Load.Status.AWAITING_DRIVER);
-            l3.setCurrentStop(Load.StopKind.PICKUP);
-            loads.add(l3);
-
-            // L4: Denver -> Phoenix
-            Load l4 = new Load();
-            l4.setPickup(point(39.7392, -104.9903));   // Denver
-            l4.setDropoff(point(33.4484, -112.0740));  // Phoenix
-            l4.setStatus(Load.Status.AWAITING_DRIVER);
-            l4.setCurrentStop(Load.StopKind.PICKUP);
-            loads.add(l4);
-
-            loadRepository.saveAll(loads);
-            System.out.println("Seeded loads: " + loads.size());
-        };
-    }
 }
@@ -0,0 +1,74 @@
+package com.vorto.challenge.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vorto.challenge.common.GcraRateLimiter;
+import com.vorto.challenge.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Per-driver and node-wide token buckets for the driver API. A call must pass its driver's bucket
+ * and then the global one; a refused call reports how long to wait.
+ */
+@Component
+public final class AdmissionControl {
+    private final AdmissionProperties props;
+    private final Cache<UUID, GcraRateLimiter> perDriver;
+    private final GcraRateLimiter global;
+    private final Counter rejectedDriver;
+    private final Counter rejectedGlobal;
+
+    public AdmissionControl(AdmissionProperties props, MeterRegistry registry) {
+        this.props = props;
+        // idle buckets refill completely within burst / rate, so older state can be dropped
+        Duration full = Duration.ofMillis((long) Math.ceil(props.driverBurst() * 1000 / props.driverRate()));
+        this.perDriver = Caffeine.newBuilder()
+                .maximumSize(props.maxTrackedDrivers())
+                .expireAfterAccess(full.plusSeconds(1))
+                .build();
+        this.global = new GcraRateLimiter(props.globalRate(), props.globalBurst());
+        this.rejectedDriver = rejected(registry, "driver");
+        this.rejectedGlobal = rejected(registry, "global");
+        Gauge.builder("dispatch.admission.global.utilization", this, AdmissionControl::globalPressure)
+                .description("Share of the node-wide burst in use")
+                .register(registry);
+    }
+
+    /** Admits the call (returns {@link Duration#ZERO}) or returns the time until it would be admitted. */
+    public Duration admit(UUID driverId) {
+        long now = System.nanoTime();
+        if (driverId != null) {
+            GcraRateLimiter bucket = perDriver.get(driverId,
+                    id -> new GcraRateLimiter(props.driverRate(), props.driverBurst()));
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                rejectedDriver.increment();
+                return Duration.ofNanos(wait);
+            }
+        }
+        long wait = global.tryAcquire(now);
+        if (wait > 0) {
+            rejectedGlobal.increment();
+            return Duration.ofNanos(wait);
+        }
+        return Duration.ZERO;
+    }
+
+    /** 0 (idle) .. 1 (saturated); poll hints stretch as this rises. */
+    public double globalPressure() {
+        return global.utilization(System.nanoTime());
+    }
+
+    private static Counter rejected(MeterRegistry registry, String scope) {
+        return Counter.builder("dispatch.admission.rejected")
+                .description("Driver API calls refused with 429, by the bucket that refused them")
+                .tag("scope", scope)
+                .register(registry);
+    }
+}
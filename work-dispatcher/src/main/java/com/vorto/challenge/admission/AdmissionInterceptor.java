@@ -0,0 +1,46 @@
+package com.vorto.challenge.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vorto.challenge.common.DriverRequests;
+import com.vorto.challenge.exception.ErrorCode;
+import com.vorto.challenge.exception.ErrorResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Refuses driver API calls over budget with 429 + {@code Retry-After} before they reach a controller,
+ * so a runaway client costs a CAS instead of a transaction. The driver is taken from the
+ * {@code driverId}/{@code id} path variable; calls without one (login) only count globally.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+    private final AdmissionControl admission;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionInterceptor(AdmissionControl admission, ObjectMapper objectMapper) {
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        Duration wait = admission.admit(DriverRequests.driverId(request));
+        if (wait.isZero()) return true;
+
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponses.of(HttpStatus.TOO_MANY_REQUESTS,
+                ErrorCode.RATE_LIMITED, "Too many requests. Retry after " + seconds + "s.",
+                request.getRequestURI(), Map.of("retryAfterSeconds", seconds)));
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.vorto.challenge.admission;
+
+import com.vorto.challenge.config.AdmissionProperties;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.repository.DriverRepository;
+import com.vorto.challenge.repository.LoadRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Periodic snapshot of where loads are waiting and where on-shift drivers are, on a coarse grid,
+ * so a poll hint is a couple of map lookups instead of a spatial query per request.
+ * Two aggregate reads per refresh, regardless of how often drivers poll.
+ */
+@Component
+public class LoadAvailabilityMap {
+    private final LoadRepository loadRepository;
+    private final DriverRepository driverRepository;
+    private final double cell;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    public LoadAvailabilityMap(LoadRepository loadRepository, DriverRepository driverRepository,
+                               AdmissionProperties props) {
+        this.loadRepository = loadRepository;
+        this.driverRepository = driverRepository;
+        this.cell = props.cellDegrees();
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.admission.refresh-interval:15s}")
+    @Transactional(readOnly = true)
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void refresh() {
+        Map<Long, Integer> awaiting = new HashMap<>();
+        for (LoadRepository.GridCount c : loadRepository.countAwaitingByCell(cell)) {
+            awaiting.put(key(c.getCx(), c.getCy()), c.getCount());
+        }
+        Map<UUID, Long> drivers = new HashMap<>();
+        for (DriverRepository.DriverCell d : driverRepository.findOnShiftCells(cell)) {
+            drivers.put(d.getId(), key(d.getCx(), d.getCy()));
+        }
+        snapshot = new Snapshot(awaiting, drivers);
+    }
+
+    /** Loads waiting in the driver's cell and its neighbours, or -1 if the driver's position isn't known yet. */
+    public int awaitingNear(UUID driverId) {
+        Snapshot s = snapshot;
+        Long home = s.driverCells().get(driverId);
+        if (home == null) return -1;
+        int cx = (int) (home >> 32), cy = (int) (long) home;
+        int total = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                total += s.awaitingByCell().getOrDefault(key(cx + dx, cy + dy), 0);
+            }
+        }
+        return total;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private record Snapshot(Map<Long, Integer> awaitingByCell, Map<UUID, Long> driverCells) {}
+}
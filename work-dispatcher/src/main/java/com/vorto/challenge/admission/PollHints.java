@@ -0,0 +1,52 @@
+package com.vorto.challenge.admission;
+
+import com.vorto.challenge.config.AdmissionProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Suggested delay before a driver's next assignment poll ({@value #HEADER} header, seconds).
+ *
+ * Loads waiting nearby (or a pending reservation) mean poll soon; an empty neighbourhood stretches
+ * the interval towards {@code pollMax}, since new loads there are pushed on creation anyway. The
+ * result grows with node-wide admission pressure and gets +-10% jitter so a fleet that started
+ * together doesn't poll in lockstep.
+ */
+@Component
+public class PollHints {
+    public static final String HEADER = "X-Poll-Interval";
+
+    private final LoadAvailabilityMap availability;
+    private final AdmissionControl admission;
+    private final long minMillis;
+    private final long maxMillis;
+
+    public PollHints(LoadAvailabilityMap availability, AdmissionControl admission, AdmissionProperties props) {
+        this.availability = availability;
+        this.admission = admission;
+        this.minMillis = props.pollMin().toMillis();
+        this.maxMillis = Math.max(minMillis, props.pollMax().toMillis());
+    }
+
+    public Duration nextAssignmentPoll(UUID driverId, boolean hasAssignment) {
+        long base;
+        if (hasAssignment) {
+            base = minMillis;
+        } else {
+            int nearby = availability.awaitingNear(driverId);
+            base = nearby > 0 ? minMillis
+                    : nearby < 0 ? (minMillis + maxMillis) / 2  // position not in the snapshot yet
+                    : maxMillis;
+        }
+        double stretched = base * (1 + admission.globalPressure());
+        double jittered = stretched * (0.9 + 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(Math.max(minMillis, Math.min((long) jittered, 2 * maxMillis)));
+    }
+
+    public static String headerValue(Duration d) {
+        return Long.toString(Math.max(1, (d.toMillis() + 999) / 1000));
+    }
+}
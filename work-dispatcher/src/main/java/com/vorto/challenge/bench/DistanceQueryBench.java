@@ -0,0 +1,158 @@
+package com.vorto.challenge.bench;
+
+import com.vorto.challenge.config.DistanceBenchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Before/after cost of the distance queries ({@code SPRING_PROFILES_ACTIVE=distance-bench}). Each pair runs
+ * the same question the pre-V10 way (casting geometry to geography per row) and on the stored
+ * {@code pickup_geog} / {@code location_geog} columns, from the same origins, and logs ms per query.
+ * V10 dropped the planar partial index the old KNN query ordered by, so the bench recreates it for the run
+ * and drops it again afterwards; otherwise the baseline would be measured without its index. Nothing else
+ * is written; run it on a datagen dataset so the awaiting set is large enough to matter.
+ */
+@Component
+@Profile("distance-bench")
+public class DistanceQueryBench implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(DistanceQueryBench.class);
+
+    private static final String ORIGINS = """
+        SELECT ST_Y(pickup) AS lat, ST_X(pickup) AS lng
+        FROM loads
+        WHERE status = 'AWAITING_DRIVER'
+        ORDER BY md5(id::text)
+        LIMIT :points
+        """;
+
+    private static final String ORIGIN = "ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)";
+
+    /** As created by V8 and dropped by V10. */
+    private static final String PRE_V10_INDEX = "idx_loads_awaiting_pickup_gix";
+    private static final String CREATE_PRE_V10_INDEX = """
+        CREATE INDEX %s ON loads USING GIST (pickup)
+        WHERE status = 'AWAITING_DRIVER'""".formatted(PRE_V10_INDEX);
+
+    private record Query(String name, String sql) {}
+
+    private static final List<Query[]> PAIRS = List.of(
+            new Query[]{
+                    new Query("closest load, cast", """
+                        SELECT id FROM loads
+                        WHERE status = 'AWAITING_DRIVER'
+                        ORDER BY ST_Distance(pickup::geography, %s::geography)
+                        LIMIT 1""".formatted(ORIGIN)),
+                    new Query("closest load, stored", """
+                        SELECT id FROM loads
+                        WHERE status = 'AWAITING_DRIVER'
+                        ORDER BY pickup_geog <-> %s::geography
+                        LIMIT 1""".formatted(ORIGIN))},
+            new Query[]{
+                    new Query("knn + score, cast", """
+                        WITH nearest AS (
+                          SELECT id FROM loads
+                          WHERE status = 'AWAITING_DRIVER'
+                          ORDER BY pickup <-> %1$s
+                          LIMIT 16)
+                        SELECT l.id FROM loads l JOIN nearest n ON n.id = l.id
+                        ORDER BY ST_Distance(l.pickup::geography, %1$s::geography)
+                        LIMIT 1""".formatted(ORIGIN)),
+                    new Query("knn + score, stored", """
+                        WITH nearest AS (
+                          SELECT id FROM loads
+                          WHERE status = 'AWAITING_DRIVER'
+                          ORDER BY pickup_geog <-> %1$s::geography
+                          LIMIT 16)
+                        SELECT l.id FROM loads l JOIN nearest n ON n.id = l.id
+                        ORDER BY ST_Distance(l.pickup_geog, %1$s::geography)
+                        LIMIT 1""".formatted(ORIGIN))},
+            new Query[]{
+                    new Query("closest driver, cast", """
+                        SELECT id FROM drivers
+                        WHERE on_shift AND current_location IS NOT NULL
+                        ORDER BY ST_Distance(current_location::geography, %s::geography)
+                        LIMIT 1""".formatted(ORIGIN)),
+                    new Query("closest driver, stored", """
+                        SELECT id FROM drivers
+                        WHERE on_shift AND current_location IS NOT NULL
+                        ORDER BY location_geog <-> %s::geography
+                        LIMIT 1""".formatted(ORIGIN))}
+    );
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final DistanceBenchProperties props;
+
+    public DistanceQueryBench(NamedParameterJdbcTemplate jdbc, DistanceBenchProperties props) {
+        this.jdbc = jdbc;
+        this.props = props;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<double[]> origins = jdbc.query(ORIGINS, new MapSqlParameterSource("points", props.points()),
+                (rs, i) -> new double[]{rs.getDouble("lat"), rs.getDouble("lng")});
+        if (origins.isEmpty()) {
+            log.warn("Distance bench: no awaiting loads; nothing to measure");
+            return;
+        }
+        log.info("Distance bench: {} origins x {} rounds per query", origins.size(), props.rounds());
+        boolean created = restorePreV10Index();
+        try {
+            measure(origins);
+        } finally {
+            if (created) jdbc.getJdbcTemplate().execute("DROP INDEX IF EXISTS " + PRE_V10_INDEX);
+        }
+    }
+
+    /** @return whether the index was created here (and so must be dropped again) */
+    private boolean restorePreV10Index() {
+        Boolean exists = jdbc.queryForObject("SELECT to_regclass(:name) IS NOT NULL",
+                new MapSqlParameterSource("name", PRE_V10_INDEX), Boolean.class);
+        if (Boolean.TRUE.equals(exists)) return false;
+        log.info("Distance bench: recreating {} for the cast baseline", PRE_V10_INDEX);
+        jdbc.getJdbcTemplate().execute(CREATE_PRE_V10_INDEX);
+        return true;
+    }
+
+    private void measure(List<double[]> origins) {
+        for (Query[] pair : PAIRS) {
+            for (Query q : pair) {
+                time(q, origins);  // warmup: plan cache, shared buffers
+                long[] nanos = time(q, origins);
+                for (int r = 1; r < props.rounds(); r++) nanos = concat(nanos, time(q, origins));
+                Arrays.sort(nanos);
+                log.info("{} mean={} ms p95={} ms", String.format("%-24s", q.name()),
+                        String.format("%8.3f", Arrays.stream(nanos).average().orElse(0) / 1e6),
+                        String.format("%8.3f", nanos[(int) Math.min(nanos.length - 1, Math.round(nanos.length * 0.95))] / 1e6));
+            }
+        }
+    }
+
+    private long[] time(Query q, List<double[]> origins) {
+        long[] nanos = new long[origins.size()];
+        for (int i = 0; i < nanos.length; i++) {
+            MapSqlParameterSource origin = new MapSqlParameterSource()
+                    .addValue("lat", origins.get(i)[0])
+                    .addValue("lng", origins.get(i)[1]);
+            long t0 = System.nanoTime();
+            jdbc.queryForList(q.sql(), origin);
+            nanos[i] = System.nanoTime() - t0;
+        }
+        return nanos;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+}
@@ -0,0 +1,94 @@
+package com.vorto.challenge.bench;
+
+import com.vorto.challenge.common.UuidV7;
+import com.vorto.challenge.config.IdBenchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and index size with random (v4) vs time-ordered (v7) ids ({@code SPRING_PROFILES_ACTIVE=id-bench}).
+ * For each scheme it creates a parent table (uuid primary key) and a child table (uuid primary key plus an indexed
+ * foreign key to the parent), inserts {@code rows} parents each with one child in commit-per-batch JDBC batches,
+ * and logs rows/s and {@code pg_relation_size} of the three indexes. The tables are dropped afterwards;
+ * the application's own tables are not touched.
+ */
+@Component
+@Profile("id-bench")
+public class IdSchemeBench implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(IdSchemeBench.class);
+
+    private record Scheme(String name, Supplier<UUID> ids) {}
+
+    private static final List<Scheme> SCHEMES = List.of(
+            new Scheme("v4", UUID::randomUUID),
+            new Scheme("v7", UuidV7::next));
+
+    private final JdbcTemplate jdbc;
+    private final IdBenchProperties props;
+
+    public IdSchemeBench(JdbcTemplate jdbc, IdBenchProperties props) {
+        this.jdbc = jdbc;
+        this.props = props;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Id bench: {} parent + {} child rows per scheme, batches of {}", props.rows(), props.rows(), props.batch());
+        for (Scheme scheme : SCHEMES) {
+            String parent = "bench_ids_" + scheme.name() + "_parent";
+            String child = "bench_ids_" + scheme.name() + "_child";
+            create(parent, child);
+            try {
+                long nanos = insert(scheme, parent, child);
+                log.info("{} {} rows/s; pk {} MB, child pk {} MB, fk index {} MB",
+                        scheme.name(),
+                        String.format("%9.0f", 2.0 * props.rows() / (nanos / 1e9)),
+                        mb(parent + "_pkey"), mb(child + "_pkey"), mb(child + "_parent_idx"));
+            } finally {
+                jdbc.execute("DROP TABLE IF EXISTS " + child + ", " + parent);
+            }
+        }
+    }
+
+    private void create(String parent, String child) {
+        jdbc.execute("DROP TABLE IF EXISTS " + child + ", " + parent);
+        jdbc.execute("CREATE TABLE " + parent + " (id uuid PRIMARY KEY, n int NOT NULL)");
+        jdbc.execute("CREATE TABLE " + child + " (id uuid PRIMARY KEY, parent_id uuid NOT NULL REFERENCES "
+                + parent + " (id), n int NOT NULL)");
+        jdbc.execute("CREATE INDEX " + child + "_parent_idx ON " + child + " (parent_id)");
+    }
+
+    private long insert(Scheme scheme, String parent, String child) {
+        String insertParent = "INSERT INTO " + parent + " (id, n) VALUES (?, ?)";
+        String insertChild = "INSERT INTO " + child + " (id, parent_id, n) VALUES (?, ?, ?)";
+        long started = System.nanoTime();
+        for (int from = 0; from < props.rows(); from += props.batch()) {
+            int size = Math.min(props.batch(), props.rows() - from);
+            List<Object[]> parents = new ArrayList<>(size);
+            List<Object[]> children = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                UUID id = scheme.ids().get();
+                parents.add(new Object[]{id, from + i});
+                children.add(new Object[]{scheme.ids().get(), id, from + i});
+            }
+            jdbc.batchUpdate(insertParent, parents);
+            jdbc.batchUpdate(insertChild, children);
+        }
+        return System.nanoTime() - started;
+    }
+
+    private String mb(String index) {
+        Long bytes = jdbc.queryForObject("SELECT pg_relation_size(CAST(? AS regclass))", Long.class, index);
+        return String.format("%7.1f", (bytes == null ? 0 : bytes) / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,95 @@
+package com.vorto.challenge.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vorto.challenge.DTO.CompleteStopResult;
+import com.vorto.challenge.DTO.DriverDto;
+import com.vorto.challenge.DTO.DriverStateResponse;
+import com.vorto.challenge.DTO.LoadAssignmentResponse;
+import com.vorto.challenge.DTO.LoadSummaryDto;
+import com.vorto.challenge.DTO.LocationDto;
+import com.vorto.challenge.DTO.ShiftDto;
+import com.vorto.challenge.config.PayloadBenchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JSON vs CBOR size and serialization cost of the driver-app DTOs ({@code SPRING_PROFILES_ACTIVE=payload-bench}).
+ * Uses the application's own mappers (the ones behind the JSON and CBOR message converters) and logs bytes and
+ * ns/op per payload. Touches no tables. {@code PayloadFormatTest} asserts the sizes and round trips on the same
+ * {@link #samples()}.
+ */
+@Component
+@Profile("payload-bench")
+public class PayloadFormatBench implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(PayloadFormatBench.class);
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final PayloadBenchProperties props;
+
+    public PayloadFormatBench(ObjectMapper json, MappingJackson2CborHttpMessageConverter cbor,
+                              PayloadBenchProperties props) {
+        this.json = json;
+        this.cbor = cbor.getObjectMapper();
+        this.props = props;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws JsonProcessingException {
+        log.info("Payload bench: {} warmup + {} timed serializations per payload and format",
+                props.warmup(), props.iterations());
+        for (Map.Entry<String, Object> e : samples().entrySet()) {
+            Object value = e.getValue();
+            int jsonBytes = json.writeValueAsBytes(value).length;
+            int cborBytes = cbor.writeValueAsBytes(value).length;
+            log.info("{} json={} B cbor={} B ratio={} json={} ns/op cbor={} ns/op",
+                    String.format("%-24s", e.getKey()), jsonBytes, cborBytes,
+                    String.format("%.2f", (double) cborBytes / jsonBytes),
+                    nanosPerOp(json, value), nanosPerOp(cbor, value));
+        }
+    }
+
+    private long nanosPerOp(ObjectMapper mapper, Object value) throws JsonProcessingException {
+        long sink = 0;
+        for (int i = 0; i < props.warmup(); i++) sink += mapper.writeValueAsBytes(value).length;
+        long start = System.nanoTime();
+        for (int i = 0; i < props.iterations(); i++) sink += mapper.writeValueAsBytes(value).length;
+        long perOp = (System.nanoTime() - start) / Math.max(1, props.iterations());
+        if (sink == 0) log.debug("Payload bench: empty output");  // keeps the loops from being optimised away
+        return perOp;
+    }
+
+    /** Representative driver-app responses, keyed by DTO name. */
+    public static Map<String, Object> samples() {
+        UUID driverId = UUID.fromString("3bfd7de8-3ead-4443-9abd-53dd8cc85ec0");
+        LocationDto here = new LocationDto(33.4484, -112.074);
+        LocationDto there = new LocationDto(33.4152, -111.8315);
+        LoadAssignmentResponse assignment = new LoadAssignmentResponse(
+                UUID.fromString("6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c"), here, there, "RESERVED", "PICKUP");
+        LoadAssignmentResponse next = new LoadAssignmentResponse(
+                UUID.fromString("d6ec4317-25cd-44e0-bc38-4601f804dd03"), there, here, "RESERVED", "PICKUP");
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("LoadAssignmentResponse", assignment);
+        m.put("CompleteStopResult", new CompleteStopResult(assignment, next));
+        m.put("DriverStateResponse", new DriverStateResponse(
+                new DriverDto(driverId, "rama", true, here),
+                new ShiftDto(UUID.fromString("44e2e372-c01f-488c-80e5-4bc6e07f3c48"),
+                        Instant.parse("2025-10-20T01:48:18.287Z"), here),
+                new LoadSummaryDto(next.loadId(), "IN_PROGRESS", "DROPOFF", there, here,
+                        new LoadSummaryDto.DriverLite(driverId, "rama"), 0,
+                        Instant.parse("2025-10-20T01:40:02.113Z"))));
+        return m;
+    }
+}
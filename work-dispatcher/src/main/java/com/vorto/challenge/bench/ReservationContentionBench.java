@@ -0,0 +1,184 @@
+package com.vorto.challenge.bench;
+
+import com.vorto.challenge.config.ContentionBenchProperties;
+import com.vorto.challenge.config.ReservationProperties;
+import com.vorto.challenge.repository.LoadRepository;
+import com.vorto.challenge.repository.ReservedLoad;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the LOCKING and OPTIMISTIC reservation modes under contention ({@code SPRING_PROFILES_ACTIVE=contention}).
+ * Each thread stands in for one on-shift driver and loops: reserve the best-ranked load, release it, commit.
+ * With {@code hotspot} on, every thread ranks from the same point, so they all want the same few loads.
+ * Runs after datagen (when both profiles are active) and logs one line per mode.
+ */
+@Component
+@Profile("contention")
+public class ReservationContentionBench implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ReservationContentionBench.class);
+
+    private static final String IDLE_DRIVERS = """
+        SELECT d.id AS driver_id, s.id AS shift_id,
+               ST_Y(d.current_location) AS lat, ST_X(d.current_location) AS lng
+        FROM drivers d
+        JOIN shifts s ON s.driver_id = d.id AND s.end_time IS NULL
+        WHERE d.on_shift AND d.current_location IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM loads o
+                          WHERE o.assigned_driver_id = d.id AND o.status IN ('RESERVED','IN_PROGRESS'))
+        ORDER BY d.id
+        LIMIT ?
+        """;
+
+    private static final String OLDEST_PICKUP = """
+        SELECT ST_Y(pickup) AS lat, ST_X(pickup) AS lng
+        FROM loads
+        WHERE status = 'AWAITING_DRIVER'
+        ORDER BY created_at
+        LIMIT 1
+        """;
+
+    private static final String RELEASE = """
+        UPDATE loads
+        SET status = 'AWAITING_DRIVER',
+            assigned_driver_id = NULL,
+            assigned_shift_id  = NULL,
+            reservation_expires_at = NULL,
+            version = version + 1
+        WHERE id = ?
+        """;
+
+    private record Reserver(UUID driverId, UUID shiftId, double lat, double lng) {}
+
+    private final LoadRepository loadRepository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final MeterRegistry meterRegistry;
+    private final ContentionBenchProperties props;
+
+    public ReservationContentionBench(LoadRepository loadRepository, JdbcTemplate jdbc, TransactionTemplate tx,
+                                      MeterRegistry meterRegistry, ContentionBenchProperties props) {
+        this.loadRepository = loadRepository;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.meterRegistry = meterRegistry;
+        this.props = props;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        List<Reserver> reservers = reservers();
+        if (reservers.isEmpty()) {
+            log.warn("Contention bench: no idle on-shift drivers or no awaiting loads; nothing to measure");
+            return;
+        }
+        log.info("Contention bench: {} reservers, hotspot={}, {} warmup + {} per mode",
+                reservers.size(), props.hotspot(), props.warmup(), props.duration());
+        for (ReservationProperties.Mode mode : props.modes()) {
+            measure(mode, reservers, props.warmup());
+            Result r = measure(mode, reservers, props.duration());
+            log.info("{} {}", String.format("%-10s", mode), r);
+        }
+    }
+
+    private List<Reserver> reservers() {
+        List<Reserver> drivers = jdbc.query(IDLE_DRIVERS, (rs, i) -> new Reserver(
+                rs.getObject("driver_id", UUID.class), rs.getObject("shift_id", UUID.class),
+                rs.getDouble("lat"), rs.getDouble("lng")), props.threads());
+        if (!props.hotspot()) return drivers;
+        List<double[]> spot = jdbc.query(OLDEST_PICKUP, (rs, i) -> new double[]{rs.getDouble("lat"), rs.getDouble("lng")});
+        if (spot.isEmpty()) return List.of();
+        return drivers.stream().map(d -> new Reserver(d.driverId(), d.shiftId(), spot.get(0)[0], spot.get(0)[1])).toList();
+    }
+
+    private Result measure(ReservationProperties.Mode mode, List<Reserver> reservers, Duration length)
+            throws InterruptedException {
+        SimpleMeterRegistry local = new SimpleMeterRegistry();
+        Timer latency = Timer.builder("bench.reserve").publishPercentiles(0.5, 0.95, 0.99).register(local);
+        LongAdder reserved = new LongAdder(), empty = new LongAdder(), errors = new LongAdder();
+        double missesBefore = casMisses();
+
+        ExecutorService pool = Executors.newFixedThreadPool(reservers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        long[] window = new long[2];
+        try {
+            for (Reserver r : reservers) {
+                pool.submit(() -> {
+                    start.await();
+                    while (System.nanoTime() < window[1]) {
+                        long t0 = System.nanoTime();
+                        try {
+                            boolean got = Boolean.TRUE.equals(tx.execute(s -> reserveAndRelease(mode, r)));
+                            (got ? reserved : empty).increment();
+                        } catch (DataAccessException e) {
+                            errors.increment();
+                        }
+                        latency.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+                    }
+                    return null;
+                });
+            }
+            window[0] = System.nanoTime();
+            window[1] = window[0] + length.toNanos();
+            start.countDown();
+            pool.shutdown();
+            pool.awaitTermination(length.toMillis() + 60_000, TimeUnit.MILLISECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - window[0]) / 1e9;
+        return new Result(reserved.sum(), empty.sum(), errors.sum(), (long) (casMisses() - missesBefore),
+                seconds, latency);
+    }
+
+    private boolean reserveAndRelease(ReservationProperties.Mode mode, Reserver r) {
+        Instant now = Instant.now();
+        Optional<ReservedLoad> got = mode == ReservationProperties.Mode.OPTIMISTIC
+                ? loadRepository.reserveRankedOptimistic(r.driverId(), r.shiftId(), r.lat(), r.lng(), null, now)
+                : loadRepository.reserveRanked(r.driverId(), r.shiftId(), r.lat(), r.lng(), null, now);
+        got.ifPresent(l -> jdbc.update(RELEASE, l.id()));
+        return got.isPresent();
+    }
+
+    private double casMisses() {
+        Counter c = meterRegistry.find("dispatch.reservation.cas_misses").counter();
+        return c == null ? 0 : c.count();
+    }
+
+    private record Result(long reserved, long empty, long errors, long casMisses, double seconds, Timer latency) {
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "ops/s=%8.1f reserved=%d empty=%d errors=%d casMisses=%d mean=%.2fms",
+                    (reserved + empty + errors) / seconds, reserved, empty, errors, casMisses,
+                    latency.mean(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile p : latency.takeSnapshot().percentileValues()) {
+                sb.append(String.format(" p%d=%.2fms", Math.round(p.percentile() * 100), p.value(TimeUnit.MILLISECONDS)));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.vorto.challenge.bench;
+
+import com.vorto.challenge.config.CacheBenchProperties;
+import com.vorto.challenge.model.Driver;
+import com.vorto.challenge.repository.DriverRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Cost of driver reads with and without the second-level cache
+ * ({@code SPRING_PROFILES_ACTIVE=perf,cache-bench}). Every read runs in its own read-only transaction,
+ * like a request, once with the session's cache mode {@code IGNORE} (always the database) and once
+ * {@code NORMAL} (entity and query regions), and the bench logs mean / p95 ms and reads per second.
+ * Read-only; run it on a datagen dataset.
+ */
+@Component
+@Profile("cache-bench")
+public class SecondLevelCacheBench implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheBench.class);
+
+    private static final String SAMPLE = """
+        SELECT id, name FROM drivers
+        ORDER BY md5(id::text)
+        LIMIT :drivers
+        """;
+
+    private record Sample(UUID id, String name) {}
+
+    private record Op(String name, Consumer<Sample> read) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final DriverRepository driverRepository;
+    private final TransactionTemplate readOnly;
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheBenchProperties props;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public SecondLevelCacheBench(NamedParameterJdbcTemplate jdbc, DriverRepository driverRepository,
+                                 PlatformTransactionManager txManager, EntityManagerFactory emf,
+                                 CacheBenchProperties props) {
+        this.jdbc = jdbc;
+        this.driverRepository = driverRepository;
+        this.readOnly = new TransactionTemplate(txManager);
+        this.readOnly.setReadOnly(true);
+        this.sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        this.props = props;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            log.warn("Cache bench: second-level cache is off; run with SPRING_PROFILES_ACTIVE=perf,cache-bench");
+            return;
+        }
+        List<Sample> sample = jdbc.query(SAMPLE, new MapSqlParameterSource("drivers", props.drivers()),
+                (rs, i) -> new Sample(rs.getObject("id", UUID.class), rs.getString("name")));
+        if (sample.isEmpty()) {
+            log.warn("Cache bench: no drivers; nothing to measure");
+            return;
+        }
+        List<Op> ops = List.of(
+                new Op("driver by id", s -> em.find(Driver.class, s.id())),
+                new Op("login lookup", s -> driverRepository.findByNameIgnoreCase(s.name())));
+
+        log.info("Cache bench: {} drivers x {} rounds per read", sample.size(), props.rounds());
+        for (Op op : ops) {
+            for (CacheMode mode : new CacheMode[]{CacheMode.IGNORE, CacheMode.NORMAL}) {
+                time(op, mode, sample);  // warmup: plan cache, shared buffers, and fills the regions
+                long[] nanos = time(op, mode, sample);
+                for (int r = 1; r < props.rounds(); r++) nanos = concat(nanos, time(op, mode, sample));
+                Arrays.sort(nanos);
+                double meanNanos = Arrays.stream(nanos).average().orElse(0);
+                log.info("{} {} mean={} ms p95={} ms ({} reads/s)",
+                        String.format("%-14s", op.name()),
+                        String.format("%-7s", mode == CacheMode.IGNORE ? "db" : "cached"),
+                        String.format("%8.3f", meanNanos / 1e6),
+                        String.format("%8.3f", nanos[(int) Math.min(nanos.length - 1, Math.round(nanos.length * 0.95))] / 1e6),
+                        String.format("%.0f", meanNanos > 0 ? 1e9 / meanNanos : 0));
+            }
+        }
+        log.info("Cache bench: L2 hits={} misses={}, query cache hits={} misses={}",
+                sessionFactory.getStatistics().getSecondLevelCacheHitCount(),
+                sessionFactory.getStatistics().getSecondLevelCacheMissCount(),
+                sessionFactory.getStatistics().getQueryCacheHitCount(),
+                sessionFactory.getStatistics().getQueryCacheMissCount());
+    }
+
+    private long[] time(Op op, CacheMode mode, List<Sample> sample) {
+        long[] nanos = new long[sample.size()];
+        for (int i = 0; i < nanos.length; i++) {
+            Sample s = sample.get(i);
+            long t0 = System.nanoTime();
+            readOnly.executeWithoutResult(tx -> {
+                em.unwrap(Session.class).setCacheMode(mode);
+                op.read().accept(s);
+            });
+            nanos[i] = System.nanoTime() - t0;
+        }
+        return nanos;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+}
@@ -0,0 +1,140 @@
+package com.vorto.challenge.bench;
+
+import com.vorto.challenge.config.ResultBenchProperties;
+import com.vorto.challenge.controller.ServiceResponses;
+import com.vorto.challenge.exception.ErrorCode;
+import com.vorto.challenge.exception.GlobalExceptionHandler;
+import com.vorto.challenge.service.ServiceResult;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cost of an expected failure thrown as {@link ResponseStatusException} and handled by
+ * {@link GlobalExceptionHandler}, against the same failure returned as a {@link ServiceResult.Failure} and
+ * mapped by {@link ServiceResponses} ({@code SPRING_PROFILES_ACTIVE=result-bench}).
+ *
+ * Each call descends {@code depth} frames, like a request through filters, the dispatcher and proxies,
+ * and fails there with the off-shift, location-unknown or reservation-expired error as the services
+ * raised it before and return it now. The thrown error is caught at the top, its handler looked up with
+ * {@link ExceptionHandlerMethodResolver} and invoked reflectively, as {@code @ExceptionHandler} dispatch
+ * does; the returned one goes through {@code ServiceResponses.toResponse}. Both end in the same
+ * {@code ResponseEntity}, so body serialization is left out. Touches no tables.
+ */
+@Component
+@Profile("result-bench")
+public class ServiceResultBench implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ServiceResultBench.class);
+    private static final String PATH = "/api/drivers/3bfd7de8-3ead-4443-9abd-53dd8cc85ec0/assignment";
+
+    private record FailurePath(String name, ErrorCode code, String message) {}
+
+    private static final List<FailurePath> PATHS = List.of(
+            new FailurePath("off-shift", ErrorCode.SHIFT_NOT_ACTIVE, "Driver is off-shift"),
+            new FailurePath("location unknown", ErrorCode.DRIVER_LOCATION_UNKNOWN, "Driver location unknown"),
+            new FailurePath("reservation expired", ErrorCode.RESERVATION_EXPIRED,
+                    "Reservation expired. Fetch assignment again."));
+
+    private final GlobalExceptionHandler handler;
+    private final ResultBenchProperties props;
+    private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+    private final HttpServletRequest request = request(PATH);
+
+    public ServiceResultBench(GlobalExceptionHandler handler, ResultBenchProperties props) {
+        this.handler = handler;
+        this.props = props;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Result bench: {} frames deep, {} warmup + {} timed calls per path and style",
+                props.depth(), props.warmup(), props.iterations());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            for (FailurePath p : PATHS) {
+                long thrown = nanosPerOp(() -> viaException(p));
+                long returned = nanosPerOp(() -> viaResult(p));
+                log.info("{} thrown={} ns/op returned={} ns/op ({}x)",
+                        String.format("%-24s", p.name()), thrown, returned,
+                        String.format("%.1f", returned > 0 ? (double) thrown / returned : 0));
+            }
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /** The pre-ServiceResult shape: the service throws, the dispatcher catches and resolves a handler. */
+    private ResponseEntity<?> viaException(FailurePath p) {
+        try {
+            throwAt(props.depth(), p);
+            throw new IllegalStateException("unreachable");
+        } catch (ResponseStatusException e) {
+            Method method = resolver.resolveMethodByThrowable(e);
+            try {
+                return (ResponseEntity<?>) method.invoke(handler, e, request);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private ResponseEntity<?> viaResult(FailurePath p) {
+        return ServiceResponses.toResponse(returnAt(props.depth(), p));
+    }
+
+    private static void throwAt(int depth, FailurePath p) {
+        if (depth > 0) {
+            throwAt(depth - 1, p);
+            return;
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, p.message());
+    }
+
+    private static ServiceResult<Void> returnAt(int depth, FailurePath p) {
+        if (depth > 0) return returnAt(depth - 1, p);
+        return ServiceResult.conflict(p.code(), p.message());
+    }
+
+    private long nanosPerOp(Supplier<ResponseEntity<?>> call) {
+        long sink = 0;
+        for (int i = 0; i < props.warmup(); i++) sink += call.get().getStatusCode().value();
+        long start = System.nanoTime();
+        for (int i = 0; i < props.iterations(); i++) sink += call.get().getStatusCode().value();
+        long perOp = (System.nanoTime() - start) / Math.max(1, props.iterations());
+        if (sink == 0) log.debug("Result bench: no responses");  // keeps the loops from being optimised away
+        return perOp;
+    }
+
+    /** Just enough of a request for the handlers, which only read the URI (no servlet container in a runner). */
+    private static HttpServletRequest request(String uri) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getRequestURI" -> uri;
+                    case "toString" -> "bench request " + uri;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (method.getReturnType().isPrimitive()) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        yield null;
+                    }
+                });
+    }
+}
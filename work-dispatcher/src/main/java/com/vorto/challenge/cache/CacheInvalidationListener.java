@@ -0,0 +1,223 @@
+package com.vorto.challenge.cache;
+
+import com.vorto.challenge.config.CacheInvalidationProperties;
+import com.vorto.challenge.model.Driver;
+import com.vorto.challenge.model.Shift;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evicts this node's cached drivers and shifts when any node changes them, using the notifications
+ * the V13 triggers send on commit ({@code <table>:<op>:<id>} on {@value #CHANNEL}).
+ *
+ * One thread holds a dedicated connection outside the pools (LISTEN needs a session, so it cannot
+ * go through a transaction-mode pooler). A burst is coalesced: after the first notification it keeps
+ * collecting for {@code coalesce}, then evicts each key once and the query-result regions at most once.
+ * Notifications sent while the listener is disconnected are lost, so every reconnect starts from
+ * empty caches. This node's own writes come back too and evict entries it just cached; the next read
+ * reloads them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "dispatch.cache.invalidation", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class CacheInvalidationListener {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    static final String CHANNEL = "cache_invalidation";
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+    private static final int VALID_TIMEOUT_SECONDS = 2;
+
+    private final DataSourceProperties dataSource;
+    private final SessionFactory sessionFactory;
+    private final DriverNameCache driverNameCache;
+    private final CacheInvalidationProperties props;
+    private final Counter driverNotifications;
+    private final Counter shiftNotifications;
+    private final Counter resets;
+    private Thread listener;
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public CacheInvalidationListener(DataSourceProperties dataSource, EntityManagerFactory emf,
+                                     DriverNameCache driverNameCache, CacheInvalidationProperties props,
+                                     MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.driverNameCache = driverNameCache;
+        this.props = props;
+        this.driverNotifications = notifications(registry, "drivers");
+        this.shiftNotifications = notifications(registry, "shifts");
+        this.resets = Counter.builder("dispatch.cache.invalidation.resets")
+                .description("Full cache clears after the listener (re)connected having missed notifications")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        listener = new Thread(this::run, "cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        Connection conn = connection;
+        if (conn != null) {
+            try {
+                conn.close();  // unblocks getNotifications
+            } catch (SQLException ignored) {
+                // shutting down
+            }
+        }
+        if (listener != null) listener.interrupt();
+    }
+
+    private void run() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        boolean missed = false;
+        while (running) {
+            try (Connection conn = connect()) {
+                connection = conn;
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                if (missed) reset();
+                missed = false;
+                backoff = MIN_BACKOFF_MILLIS;
+                listen(conn, conn.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (!running) return;
+                missed = true;
+                log.warn("Cache invalidation listener disconnected; retrying in {} ms", backoff, e);
+            } finally {
+                connection = null;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, Math.max(MIN_BACKOFF_MILLIS, props.maxBackoff().toMillis()));
+        }
+    }
+
+    private void listen(Connection conn, PGConnection pg) throws SQLException {
+        int idleMillis = (int) Math.max(1, props.idleCheck().toMillis());
+        while (running) {
+            PGNotification[] first = pg.getNotifications(idleMillis);
+            if (first == null || first.length == 0) {
+                // a dead socket would otherwise go unnoticed until the next notification that never comes
+                if (!conn.isValid(VALID_TIMEOUT_SECONDS)) throw new SQLException("Listener connection is no longer valid");
+                continue;
+            }
+            Invalidations batch = new Invalidations();
+            batch.addAll(first);
+            long deadline = System.nanoTime() + props.coalesce().toNanos();
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                // 0 would block indefinitely
+                batch.addAll(pg.getNotifications((int) Math.max(1, remaining / 1_000_000)));
+            }
+            apply(batch);
+        }
+    }
+
+    void apply(Invalidations batch) {
+        try {
+            Cache cache = sessionFactory.getCache();
+            batch.drivers.forEach(id -> cache.evictEntityData(Driver.class, id));
+            batch.shifts.forEach(id -> cache.evictEntityData(Shift.class, id));
+            // cached login lookups carry no entity keys; the local update timestamps never saw the remote write
+            if (!batch.drivers.isEmpty()) cache.evictQueryRegions();
+            if (!batch.deletedDrivers.isEmpty()) driverNameCache.evictDrivers(batch.deletedDrivers);
+            driverNotifications.increment(batch.drivers.size());
+            shiftNotifications.increment(batch.shifts.size());
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation failed; clearing caches instead", e);
+            reset();
+        }
+    }
+
+    private void reset() {
+        sessionFactory.getCache().evictAllRegions();
+        driverNameCache.clear();
+        resets.increment();
+        log.info("Cleared in-process caches after missing invalidation notifications");
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        String user = dataSource.determineUsername();
+        String password = dataSource.determinePassword();
+        if (user != null) info.setProperty("user", user);
+        if (password != null) info.setProperty("password", password);
+        info.setProperty("ApplicationName", "work-dispatcher-cache-invalidation");
+        info.setProperty("tcpKeepAlive", "true");
+        Connection conn = DriverManager.getConnection(dataSource.determineUrl(), info);
+        conn.setAutoCommit(true);
+        return conn;
+    }
+
+    private static Counter notifications(MeterRegistry registry, String table) {
+        return Counter.builder("dispatch.cache.invalidations")
+                .description("Distinct rows evicted after coalescing invalidation notifications")
+                .tag("table", table)
+                .register(registry);
+    }
+
+    /** Distinct keys from one coalesced burst. */
+    static final class Invalidations {
+        final Set<UUID> drivers = new HashSet<>();
+        final Set<UUID> shifts = new HashSet<>();
+        final Set<UUID> deletedDrivers = new HashSet<>();
+
+        void addAll(PGNotification[] notifications) {
+            if (notifications == null) return;
+            for (PGNotification n : notifications) add(n.getParameter());
+        }
+
+        void add(String payload) {
+            String[] parts = payload.split(":", 3);
+            if (parts.length != 3) {
+                log.debug("Ignoring cache invalidation payload {}", payload);
+                return;
+            }
+            UUID id;
+            try {
+                id = UUID.fromString(parts[2]);
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring cache invalidation payload {}", payload);
+                return;
+            }
+            switch (parts[0]) {
+                case "drivers" -> {
+                    drivers.add(id);
+                    if ("DELETE".equals(parts[1])) deletedDrivers.add(id);
+                }
+                case "shifts" -> shifts.add(id);
+                default -> log.debug("Ignoring cache invalidation payload {}", payload);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.vorto.challenge.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * In-memory normalized-name -> driver id map for the login fast path.
+ * Entries are hints only: callers must confirm the id still resolves and evict it if not.
+ * Drivers deleted on any node are dropped via {@link CacheInvalidationListener}.
+ */
+@Component
+public class DriverNameCache {
+    private static final long MAX_ENTRIES = 200_000;
+
+    private final Cache<String, UUID> idsByName = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .build();
+
+    public UUID get(String normalizedName) {
+        return idsByName.getIfPresent(normalizedName);
+    }
+
+    public void put(String normalizedName, UUID driverId) {
+        idsByName.put(normalizedName, driverId);
+    }
+
+    public void evict(String normalizedName) {
+        idsByName.invalidate(normalizedName);
+    }
+
+    /** Scans every entry; meant for rare, batched removals (deleted drivers). */
+    public void evictDrivers(Collection<UUID> driverIds) {
+        idsByName.asMap().values().removeIf(driverIds::contains);
+    }
+
+    public void clear() {
+        idsByName.invalidateAll();
+    }
+}
@@ -0,0 +1,23 @@
+package com.vorto.challenge.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers side effects on in-memory state until the surrounding transaction commits. */
+public final class AfterCommit {
+    private AfterCommit() {}
+
+    /** Runs {@code action} after commit; dropped on rollback. Runs immediately outside a transaction. */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.vorto.challenge.common;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the load change feed: the last (change_xid, id) a client has seen, sorted as Postgres
+ * sorts them. Handed out as 24 url-safe base64 bytes so clients treat it as opaque.
+ * {@link #START} sorts before every row, so a sync without a token returns everything.
+ */
+public record ChangeToken(long xid, UUID id) implements Comparable<ChangeToken> {
+    public static final UUID MIN_ID = new UUID(0, 0);
+    public static final ChangeToken START = new ChangeToken(0, MIN_ID);
+
+    private static final int BYTES = 24;
+
+    public ChangeToken {
+        if (xid < 0) throw new IllegalArgumentException("xid must be >= 0");
+        if (id == null) throw new IllegalArgumentException("id is required");
+    }
+
+    /** @throws IllegalArgumentException if {@code token} was not produced by {@link #encode()} */
+    public static ChangeToken parse(String token) {
+        if (token == null || token.isBlank()) return START;
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid change token");
+        }
+        if (raw.length != BYTES) throw new IllegalArgumentException("Invalid change token");
+        ByteBuffer buf = ByteBuffer.wrap(raw);
+        long xid = buf.getLong();
+        if (xid < 0) throw new IllegalArgumentException("Invalid change token");
+        return new ChangeToken(xid, new UUID(buf.getLong(), buf.getLong()));
+    }
+
+    public String encode() {
+        ByteBuffer buf = ByteBuffer.allocate(BYTES)
+                .putLong(xid)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf.array());
+    }
+
+    /** Unsigned on the id, matching Postgres' byte-wise uuid ordering. */
+    @Override
+    public int compareTo(ChangeToken o) {
+        int c = Long.compare(xid, o.xid);
+        if (c != 0) return c;
+        c = Long.compareUnsigned(id.getMostSignificantBits(), o.id.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(id.getLeastSignificantBits(), o.id.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,28 @@
+package com.vorto.challenge.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+public final class DriverRequests {
+    private DriverRequests() {}
+
+    /**
+     * The driver a driver-API call is about, from the {@code driverId}/{@code id} path variable, or null
+     * (login, malformed id). Only available once the handler is mapped, e.g. in an interceptor.
+     */
+    @SuppressWarnings("unchecked")
+    public static UUID driverId(HttpServletRequest request) {
+        var vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars == null) return null;
+        String raw = vars.getOrDefault("driverId", vars.get("id"));
+        if (raw == null) return null;
+        try {
+            return UUID.fromString(raw);
+        } catch (IllegalArgumentException e) {
+            return null;  // malformed ids are rejected by the controller
+        }
+    }
+}
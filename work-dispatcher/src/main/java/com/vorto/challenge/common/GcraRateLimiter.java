@@ -0,0 +1,38 @@
+package com.vorto.challenge.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in GCRA form: the whole state is one "theoretical arrival time", advanced
+ * with a CAS per admitted call. Allows {@code burst} back-to-back calls, then {@code ratePerSecond}.
+ * Times are {@link System#nanoTime()} values supplied by the caller.
+ */
+public final class GcraRateLimiter {
+    private final long emissionNanos;   // time one call "costs"
+    private final long toleranceNanos;  // how far ahead of now the schedule may run (burst - 1 calls)
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE / 2);  // far past: starts with a full burst
+
+    public GcraRateLimiter(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) throw new IllegalArgumentException("rate must be > 0 and burst >= 1");
+        this.emissionNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = emissionNanos * (burst - 1);
+    }
+
+    /** Admits the call and returns 0, or returns how many nanos until one would be admitted. */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long allowedAt = base - toleranceNanos;
+            if (nowNanos < allowedAt) return allowedAt - nowNanos;
+            if (tat.compareAndSet(current, base + emissionNanos)) return 0;
+        }
+    }
+
+    /** Share of the burst currently used up: 0 when idle, 1 when the next call would be refused. */
+    public double utilization(long nowNanos) {
+        long backlog = tat.get() - nowNanos;
+        if (backlog <= 0) return 0;
+        return Math.min(1.0, (double) backlog / (toleranceNanos + emissionNanos));
+    }
+}
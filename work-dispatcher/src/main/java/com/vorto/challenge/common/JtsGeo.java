@@ -8,6 +8,7 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
 
 public final class JtsGeo {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
     private static final GeometryFactory GF = new GeometryFactory(new PrecisionModel(), 4326);
     private JtsGeo() {}
 
@@ -22,5 +23,14 @@ public final class JtsGeo {
         return (p == null) ? null : new LocationDto(p.getY(), p.getX());
     }
 
+    /** Great-circle (haversine) distance in km; for diagnostics, not for ranking. */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
 
 }
\ No newline at end of file
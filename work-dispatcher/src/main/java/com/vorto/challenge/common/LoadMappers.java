@@ -5,6 +5,8 @@ import com.vorto.challenge.DTO.LoadSummaryDto;
 import com.vorto.challenge.DTO.LocationDto;
 import com.vorto.challenge.model.Driver;
 import com.vorto.challenge.model.Load;
+import com.vorto.challenge.repository.LoadRow;
+import com.vorto.challenge.repository.ReservedLoad;
 import org.locationtech.jts.geom.Point;
 
 import static com.vorto.challenge.common.JtsGeo.toLatLng;
@@ -25,7 +27,7 @@ public final class LoadMappers {
         String next   = l.getCurrentStop() != null ? l.getCurrentStop().name() : null;
 
         return new LoadAssignmentResponse(
-                l.getId().toString(),
+                l.getId(),
                 pickupDto,
                 dropoffDto,
                 status,
@@ -34,6 +36,18 @@ public final class LoadMappers {
     }
 
 
+    /** Maps the row returned by a single-statement reserve; no entity load needed. */
+    public static LoadAssignmentResponse toAssignmentResponse(ReservedLoad r) {
+        if (r == null) return null;
+        return new LoadAssignmentResponse(
+                r.id(),
+                new LocationDto(r.pickupLat(), r.pickupLng()),
+                new LocationDto(r.dropoffLat(), r.dropoffLng()),
+                r.status(),
+                r.currentStop()
+        );
+    }
+
     public static LoadSummaryDto toLoadSummaryDto(Load l) {
     if (l == null) return null;
 
@@ -51,8 +65,27 @@ public final class LoadMappers {
             currentStop,
             toLatLng(l.getPickup()),
             toLatLng(l.getDropoff()),
-            driverLite
+            driverLite,
+            l.getPriority(),
+            l.getCreatedAt()
     );
 }
 
+    /** Same shape as the entity mapping, from a flat projection row. */
+    public static LoadSummaryDto toLoadSummaryDto(LoadRow r) {
+        if (r == null) return null;
+        LoadSummaryDto.DriverLite driverLite = (r.getDriverId() != null)
+                ? new LoadSummaryDto.DriverLite(r.getDriverId(), r.getDriverName())
+                : null;
+        return new LoadSummaryDto(
+                r.getId(),
+                r.getStatus(),
+                r.getCurrentStop(),
+                new LocationDto(r.getPickupLat(), r.getPickupLng()),
+                new LocationDto(r.getDropoffLat(), r.getDropoffLng()),
+                driverLite,
+                r.getPriority(),
+                r.getCreatedAt()
+        );
+    }
 }
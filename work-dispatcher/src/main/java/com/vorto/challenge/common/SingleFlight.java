@@ -0,0 +1,60 @@
+package com.vorto.challenge.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one execution: the first caller runs the
+ * supplier, callers arriving while it is in flight wait for and share its result (or exception).
+ * Nothing is cached once the call completes.
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            shared.increment();
+            return await(leader);
+        }
+
+        executed.increment();
+        try {
+            V value = supplier.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Calls that ran the supplier themselves. */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /** Calls that were collapsed onto another caller's in-flight execution. */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
+    }
+}
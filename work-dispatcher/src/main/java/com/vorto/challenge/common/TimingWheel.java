@@ -0,0 +1,158 @@
+package com.vorto.challenge.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical (cascading) timing wheel keyed by K.
+ *
+ * Level 0 has one slot per tick; every level above it has slots {@code 2^wheelBits} times wider.
+ * Scheduling and cancelling are O(1); each tick touches one level-0 slot, plus one higher-level
+ * slot whenever that level's boundary is crossed, whose entries are re-filed into finer levels.
+ * Deadlines are rounded up to the next tick, so keys never fire early and fire at most one tick late.
+ *
+ * Thread-safe; {@link #advanceTo(long)} returns due keys instead of invoking callbacks under the lock.
+ */
+public final class TimingWheel<K> {
+    private final long originNanos;
+    private final long tickNanos;
+    private final int wheelBits;
+    private final int mask;
+    private final Node<K>[][] slots;              // [level][slot] -> sentinel of a circular list
+    private final Map<K, Node<K>> byKey = new HashMap<>();
+    private long currentTick;                     // ticks elapsed since origin, all processed
+
+    public TimingWheel(Duration tick, int wheelBits, int levels, long originNanos) {
+        if (tick.isZero() || tick.isNegative()) throw new IllegalArgumentException("tick must be positive");
+        if (wheelBits < 1 || levels < 1 || (long) wheelBits * levels > 62) {
+            throw new IllegalArgumentException("unsupported wheel geometry: " + wheelBits + " bits x " + levels);
+        }
+        this.originNanos = originNanos;
+        this.tickNanos = tick.toNanos();
+        this.wheelBits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.slots = newSlots(levels, 1 << wheelBits);
+        for (Node<K>[] level : slots) {
+            for (int i = 0; i < level.length; i++) level[i] = Node.sentinel();
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})  // no generic array creation in Java
+    private static <K> Node<K>[][] newSlots(int levels, int width) {
+        return (Node<K>[][]) new Node[levels][width];
+    }
+
+    /** Schedules (or re-schedules) {@code key} to fire once {@code deadlineNanos} (System.nanoTime scale) has passed. */
+    public synchronized void schedule(K key, long deadlineNanos) {
+        Node<K> existing = byKey.remove(key);
+        if (existing != null) existing.unlink();
+
+        // ceil to a tick; anything already due fires on the next tick
+        long deadlineTick = Math.max(ceilDiv(deadlineNanos - originNanos, tickNanos), currentTick + 1);
+        Node<K> node = new Node<>(key, deadlineTick);
+        byKey.put(key, node);
+        file(node);
+    }
+
+    /** @return true if the key was pending */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = byKey.remove(key);
+        if (node == null) return false;
+        node.unlink();
+        return true;
+    }
+
+    public synchronized int size() {
+        return byKey.size();
+    }
+
+    /** Advances the wheel to {@code nowNanos} and returns every key whose deadline has passed. */
+    public synchronized List<K> advanceTo(long nowNanos) {
+        long targetTick = Math.floorDiv(nowNanos - originNanos, tickNanos);
+        List<K> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade coarse levels top-down so re-filed entries land in slots still to be visited this tick.
+            for (int level = slots.length - 1; level >= 1; level--) {
+                long levelMask = (1L << (wheelBits * level)) - 1;
+                if ((currentTick & levelMask) == 0) {
+                    cascade(slots[level][(int) ((currentTick >>> (wheelBits * level)) & mask)]);
+                }
+            }
+            Node<K> head = slots[0][(int) (currentTick & mask)];
+            for (Node<K> n = head.next; n != head; ) {
+                Node<K> next = n.next;
+                n.unlink();
+                if (n.deadlineTick > currentTick) {
+                    file(n); // parked beyond the horizon of a single-level wheel
+                } else {
+                    byKey.remove(n.key);
+                    due.add(n.key);
+                }
+                n = next;
+            }
+        }
+        return due;
+    }
+
+    private void cascade(Node<K> head) {
+        for (Node<K> n = head.next; n != head; ) {
+            Node<K> next = n.next;
+            n.unlink();
+            file(n);
+            n = next;
+        }
+    }
+
+    /** Files a node into the finest level whose window still contains its deadline. */
+    private void file(Node<K> node) {
+        for (int level = 0; level < slots.length; level++) {
+            int shift = wheelBits * level;
+            long distance = (node.deadlineTick >>> shift) - (currentTick >>> shift);
+            if (distance <= mask) {
+                slots[level][(int) ((node.deadlineTick >>> shift) & mask)].append(node);
+                return;
+            }
+        }
+        // Beyond the top level's horizon: park in its farthest slot and re-file on cascade.
+        int top = slots.length - 1;
+        long parked = (currentTick >>> (wheelBits * top)) + mask;
+        slots[top][(int) (parked & mask)].append(node);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private static final class Node<K> {
+        final K key;
+        final long deadlineTick;
+        Node<K> prev = this;
+        Node<K> next = this;
+
+        Node(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+
+        static <K> Node<K> sentinel() {
+            return new Node<>(null, -1);
+        }
+
+        void append(Node<K> node) {
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = next = this;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.vorto.challenge.common;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/** Plugs {@link UuidV7} into {@code @UuidGenerator(algorithm = ...)} for entity ids. */
+public class UuidV7ValueGenerator implements UuidValueGenerator {
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.next();
+    }
+}
@@ -0,0 +1,28 @@
+package com.vorto.challenge.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vorto.challenge.admission.AdmissionControl;
+import com.vorto.challenge.admission.AdmissionInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Puts {@link AdmissionInterceptor} in front of the driver API (drivers, shifts, assignments). */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "dispatch.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+    private final AdmissionControl admission;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionConfig(AdmissionControl admission, ObjectMapper objectMapper) {
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admission, objectMapper))
+                .addPathPatterns("/api/drivers/**");
+    }
+}
@@ -0,0 +1,34 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Admission control and poll hints for the driver API ({@code dispatch.admission.*}).
+ *
+ * @param enabled           rate-limit {@code /api/drivers/**}
+ * @param driverRate        sustained requests per second per driver
+ * @param driverBurst       requests a driver may make back to back
+ * @param globalRate        sustained requests per second for the whole node
+ * @param globalBurst       node-wide burst
+ * @param maxTrackedDrivers bound on per-driver limiter state (least recently seen are dropped)
+ * @param pollMin           suggested poll interval when loads are waiting nearby
+ * @param pollMax           suggested poll interval for an idle driver in an empty area
+ * @param cellDegrees       grid cell size for "nearby" (the driver's cell and its 8 neighbours)
+ * @param refreshInterval   how often the awaiting-load grid and driver cells are reloaded
+ */
+@ConfigurationProperties(prefix = "dispatch.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2") double driverRate,
+        @DefaultValue("10") int driverBurst,
+        @DefaultValue("2000") double globalRate,
+        @DefaultValue("4000") int globalBurst,
+        @DefaultValue("200000") long maxTrackedDrivers,
+        @DefaultValue("5s") Duration pollMin,
+        @DefaultValue("60s") Duration pollMax,
+        @DefaultValue("0.05") double cellDegrees,
+        @DefaultValue("15s") Duration refreshInterval
+) {}
@@ -0,0 +1,16 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Second-level cache benchmark settings ({@code dispatch.bench.cache.*}), used by the "cache-bench" profile.
+ *
+ * @param drivers drivers read per pass, taken in a fixed pseudo-random order
+ * @param rounds  measured passes per operation and cache mode (after one warmup pass)
+ */
+@ConfigurationProperties(prefix = "dispatch.bench.cache")
+public record CacheBenchProperties(
+        @DefaultValue("1000") int drivers,
+        @DefaultValue("5") int rounds
+) {}
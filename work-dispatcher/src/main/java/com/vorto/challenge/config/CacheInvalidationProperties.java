@@ -0,0 +1,22 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY ({@code dispatch.cache.invalidation.*}).
+ *
+ * @param enabled      run the listener; only safe to turn off on a single node
+ * @param coalesce     after the first notification, how long to keep collecting before evicting once per key
+ * @param idleCheck    how long the listener waits without notifications before checking its connection
+ * @param maxBackoff   upper bound on the reconnect delay (doubling from one second)
+ */
+@ConfigurationProperties(prefix = "dispatch.cache.invalidation")
+public record CacheInvalidationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50ms") Duration coalesce,
+        @DefaultValue("10s") Duration idleCheck,
+        @DefaultValue("30s") Duration maxBackoff
+) {}
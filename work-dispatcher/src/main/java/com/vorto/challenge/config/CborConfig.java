@@ -0,0 +1,44 @@
+package com.vorto.challenge.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.vorto.challenge.DTO.LocationDto;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * {@code application/cbor} alongside JSON, selected by the {@code Accept} / {@code Content-Type} header.
+ *
+ * Built from Boot's Jackson builder so modules and naming match the JSON mapper; on top of that the
+ * binary form writes UUIDs as 16-byte strings (Jackson does so for any binary-capable format),
+ * instants as epoch millis and {@link LocationDto} as a {@code [lat, lng]} array. JSON is unchanged
+ * and stays the default.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .mixIn(LocationDto.class, LocationAsArray.class)
+                .build();
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"lat", "lng"})
+    private abstract static class LocationAsArray {}
+}
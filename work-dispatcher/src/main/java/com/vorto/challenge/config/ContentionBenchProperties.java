@@ -0,0 +1,26 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reservation contention benchmark settings ({@code dispatch.bench.*}), used by the "contention" profile.
+ *
+ * @param modes    reservation modes to measure, in order
+ * @param threads  concurrent reservers, one on-shift driver each (keep within the driver pool size)
+ * @param warmup   unmeasured run before each mode
+ * @param duration measured run per mode
+ * @param hotspot  put every reserver at the same spot (the oldest awaiting pickup) so they chase the
+ *                 same candidates; otherwise each reserves from its driver's own location
+ */
+@ConfigurationProperties(prefix = "dispatch.bench")
+public record ContentionBenchProperties(
+        @DefaultValue({"LOCKING", "OPTIMISTIC"}) List<ReservationProperties.Mode> modes,
+        @DefaultValue("8") int threads,
+        @DefaultValue("5s") Duration warmup,
+        @DefaultValue("20s") Duration duration,
+        @DefaultValue("true") boolean hotspot
+) {}
@@ -1,21 +1,25 @@
 package com.vorto.challenge.config;
 
+import com.vorto.challenge.common.UuidV7;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.*;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.slf4j.MDC;
 
 import java.io.IOException;
-import java.util.UUID;
 
+// ahead of other filters, so anything they log or write carries the id
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
 public class CorrelationIdFilter implements Filter {
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        String id = UUID.randomUUID().toString();
+        String id = UuidV7.next().toString();
         MDC.put("correlationId", id);
         try {
             ((HttpServletResponse) response).setHeader("X-Correlation-Id", id);
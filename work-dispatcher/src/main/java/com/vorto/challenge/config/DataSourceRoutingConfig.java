@@ -0,0 +1,120 @@
+package com.vorto.challenge.config;
+
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.PoolRoutingDataSource;
+import com.vorto.challenge.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Named Hikari pools behind one routing {@link DataSource}: driver (default), admin and background on
+ * the primary when {@code dispatch.datasource.pools.enabled}, plus a replica when
+ * {@code dispatch.datasource.replica.enabled}. With both off, Boot's single pool is used unchanged.
+ *
+ * Every pool is a bean, so Boot binds Hikari metrics per pool ({@code hikaricp.connections.acquire}
+ * is the wait time, tagged {@code pool=driver|admin|background|replica}). Flyway, JPA and JDBC all
+ * get the routing proxy.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("${dispatch.datasource.pools.enabled:true} or ${dispatch.datasource.replica.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource driverPool(DataSourceProperties props) {
+        HikariDataSource ds = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName(DataSourceRole.DRIVER.poolName());
+        return ds;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dispatch.datasource.pools", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HikariDataSource adminPool(DataSourceProperties primary, PoolProperties pools) {
+        return primaryPool(primary, DataSourceRole.ADMIN, pools.adminPoolSize(), pools);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dispatch.datasource.pools", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HikariDataSource backgroundPool(DataSourceProperties primary, PoolProperties pools) {
+        return primaryPool(primary, DataSourceRole.BACKGROUND, pools.backgroundPoolSize(), pools);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dispatch.datasource.replica", name = "enabled", havingValue = "true")
+    public HikariDataSource replicaPool(DataSourceProperties primary, ReplicaProperties replica) {
+        if (replica.url() == null || replica.url().isBlank()) {
+            throw new IllegalStateException("dispatch.datasource.replica.url is required when the replica is enabled");
+        }
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(DataSourceRole.REPLICA.poolName());
+        ds.setJdbcUrl(replica.url());
+        ds.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+        ds.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+        ds.setMaximumPoolSize(replica.maximumPoolSize());
+        ds.setConnectionTimeout(replica.connectionTimeout().toMillis());
+        ds.setReadOnly(true);
+        ds.setInitializationFailTimeout(-1);  // the app must start even if the replica is down
+        return ds;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "dispatch.datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("driverPool") DataSource driverPool,
+                                               @Qualifier("replicaPool") DataSource replicaPool,
+                                               ReplicaProperties props, MeterRegistry registry) {
+        return new ReplicaLagMonitor(driverPool, replicaPool, props.maxLag(), props.checkInterval(), registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("driverPool") DataSource driverPool,
+                                 @Qualifier("adminPool") ObjectProvider<DataSource> adminPool,
+                                 @Qualifier("backgroundPool") ObjectProvider<DataSource> backgroundPool,
+                                 @Qualifier("replicaPool") ObjectProvider<DataSource> replicaPool,
+                                 ObjectProvider<ReplicaLagMonitor> monitor, MeterRegistry registry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRole.DRIVER, driverPool);
+        adminPool.ifAvailable(ds -> targets.put(DataSourceRole.ADMIN, ds));
+        backgroundPool.ifAvailable(ds -> targets.put(DataSourceRole.BACKGROUND, ds));
+        replicaPool.ifAvailable(ds -> targets.put(DataSourceRole.REPLICA, ds));
+
+        PoolRoutingDataSource routing = new PoolRoutingDataSource(monitor.getIfAvailable(), registry);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(driverPool);  // roles without a pool of their own
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setTargetDataSource(routing);
+        // known defaults, so the proxy doesn't open a connection at startup to discover them
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazy.afterPropertiesSet();
+        return lazy;
+    }
+
+    private static HikariDataSource primaryPool(DataSourceProperties primary, DataSourceRole role, int size,
+                                                PoolProperties pools) {
+        HikariDataSource ds = primary.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName(role.poolName());
+        ds.setMaximumPoolSize(size);
+        ds.setMinimumIdle(Math.min(1, size));
+        ds.setConnectionTimeout(pools.connectionTimeout().toMillis());
+        ds.setInitializationFailTimeout(-1);
+        return ds;
+    }
+}
@@ -0,0 +1,35 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Instant;
+
+/**
+ * Synthetic dataset settings ({@code dispatch.datagen.*}), used by the "datagen" profile.
+ * The same seed and sizes always produce the same rows, ids included.
+ *
+ * @param seed               root of every random draw
+ * @param drivers            number of drivers
+ * @param loads              number of loads (COMPLETED history, then AWAITING_DRIVER, then IN_PROGRESS)
+ * @param historyDays        length of the generated history window, ending at {@code asOf}
+ * @param shiftsPerDriver    closed shifts per driver, at most one per day of history
+ * @param onShiftFraction    drivers currently on shift (open shift, known location)
+ * @param inProgressFraction on-shift drivers currently carrying a load
+ * @param awaitingFraction   loads still waiting for a driver
+ * @param asOf               the "now" of the dataset; fixed so timestamps and ids are reproducible
+ * @param truncate           wipe drivers/shifts/loads first; otherwise generation is skipped if any exist
+ */
+@ConfigurationProperties(prefix = "dispatch.datagen")
+public record DatagenProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("20000") int drivers,
+        @DefaultValue("2000000") int loads,
+        @DefaultValue("30") int historyDays,
+        @DefaultValue("12") int shiftsPerDriver,
+        @DefaultValue("0.25") double onShiftFraction,
+        @DefaultValue("0.5") double inProgressFraction,
+        @DefaultValue("0.1") double awaitingFraction,
+        @DefaultValue("2025-01-01T00:00:00Z") Instant asOf,
+        @DefaultValue("false") boolean truncate
+) {}
@@ -0,0 +1,16 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Distance query benchmark settings ({@code dispatch.bench.distance.*}), used by the "distance-bench" profile.
+ *
+ * @param points origins per pass, taken from awaiting pickups in a fixed pseudo-random order
+ * @param rounds measured passes over the points per query (after one warmup pass)
+ */
+@ConfigurationProperties(prefix = "dispatch.bench.distance")
+public record DistanceBenchProperties(
+        @DefaultValue("200") int points,
+        @DefaultValue("5") int rounds
+) {}
@@ -0,0 +1,59 @@
+package com.vorto.challenge.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * Admin executor: streaming admin responses (the NDJSON export) run here rather than on a Tomcat
+ * thread, sized to the admin connection pool so a burst of exports queues, then gets 503s, instead
+ * of tying up request threads drivers need. Scheduled background work has its own pool
+ * ({@code spring.task.scheduling.*}). Both are bound to {@code executor.*} metrics by Boot.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ExecutorConfig implements WebMvcConfigurer {
+    private final AsyncTaskExecutor adminTaskExecutor;
+    private final PoolProperties pools;
+
+    public ExecutorConfig(@Qualifier("adminTaskExecutor") AsyncTaskExecutor adminTaskExecutor, PoolProperties pools) {
+        this.adminTaskExecutor = adminTaskExecutor;
+        this.pools = pools;
+    }
+
+    @Bean
+    public static ThreadPoolTaskExecutor adminTaskExecutor(PoolProperties pools) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("admin-");
+        executor.setCorePoolSize(pools.adminPoolSize());
+        executor.setMaxPoolSize(pools.adminPoolSize());
+        executor.setQueueCapacity(pools.adminQueueCapacity());
+        executor.setTaskDecorator(ExecutorConfig::withMdc);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(adminTaskExecutor);
+        configurer.setDefaultTimeout(pools.adminAsyncTimeout().toMillis());
+    }
+
+    /** Carries the correlation id over to the executing thread. */
+    private static Runnable withMdc(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            if (context != null) MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * UUID v4 vs v7 insert benchmark settings ({@code dispatch.bench.ids.*}), used by the "id-bench" profile.
+ *
+ * @param rows  parent rows per scheme, each with one child row referencing it
+ * @param batch rows per JDBC batch; each batch commits on its own
+ */
+@ConfigurationProperties(prefix = "dispatch.bench.ids")
+public record IdBenchProperties(
+        @DefaultValue("1000000") int rows,
+        @DefaultValue("1000") int batch
+) {}
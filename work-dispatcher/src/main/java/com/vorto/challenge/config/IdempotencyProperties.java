@@ -0,0 +1,30 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency-Key handling ({@code dispatch.idempotency.*}).
+ *
+ * @param paths       POST endpoints (Ant patterns) that honour the {@code Idempotency-Key} header
+ * @param ttl         how long a response is kept for replay
+ * @param maxEntries  bound on responses kept in memory
+ * @param waitTimeout how long a duplicate waits for the in-flight original before getting a 409
+ * @param persistent  also keep responses in the {@code idempotency_keys} table (survives restarts, shared by nodes)
+ */
+@ConfigurationProperties(prefix = "dispatch.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue({
+                "/api/drivers/*/loads/*/stops/complete",
+                "/api/drivers/*/loads/*/reject",
+                "/api/drivers/*/stops/sync",
+                "/api/drivers/*/shift/start"
+        }) List<String> paths,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("100000") long maxEntries,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("false") boolean persistent
+) {}
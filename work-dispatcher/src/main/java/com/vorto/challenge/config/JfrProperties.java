@@ -0,0 +1,26 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Continuous flight recording ({@code dispatch.jfr.*}), off by default.
+ *
+ * @param enabled     start a recording named {@code dispatch} at startup
+ * @param settings    the .jfc to use; the bundled profile covers dispatch events, lock waits and CPU samples
+ * @param destination where the recording is written on shutdown (also {@code jcmd <pid> JFR.dump name=dispatch})
+ * @param maxAge      how much history the on-disk ring buffer keeps
+ * @param maxSize     size cap for that buffer
+ */
+@ConfigurationProperties(prefix = "dispatch.jfr")
+public record JfrProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("classpath:jfr/dispatch.jfc") String settings,
+        @DefaultValue("dispatch.jfr") Path destination,
+        @DefaultValue("30m") Duration maxAge,
+        @DefaultValue("256MB") DataSize maxSize
+) {}
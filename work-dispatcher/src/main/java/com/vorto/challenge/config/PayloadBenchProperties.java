@@ -0,0 +1,16 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Payload serialization benchmark settings ({@code dispatch.bench.payload.*}), used by the "payload-bench" profile.
+ *
+ * @param warmup     untimed serializations per payload and format
+ * @param iterations timed serializations per payload and format
+ */
+@ConfigurationProperties(prefix = "dispatch.bench.payload")
+public record PayloadBenchProperties(
+        @DefaultValue("20000") int warmup,
+        @DefaultValue("100000") int iterations
+) {}
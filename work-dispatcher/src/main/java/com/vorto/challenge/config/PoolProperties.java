@@ -0,0 +1,29 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead pools on the primary database ({@code dispatch.datasource.pools.*}). The driver pool keeps
+ * the {@code spring.datasource.hikari.*} settings; admin and background get their own, smaller pools
+ * so an export or a sweep can only exhaust its own connections.
+ *
+ * @param enabled            separate admin/background pools; off means everything shares the driver pool
+ * @param adminPoolSize      connections for admin and reporting work
+ * @param backgroundPoolSize connections for scheduled and bulk work
+ * @param connectionTimeout  how long admin/background work waits for a connection
+ * @param adminQueueCapacity streaming admin requests (exports) queued for an admin thread before 503
+ * @param adminAsyncTimeout  how long a streaming admin response may run before it is cut off; the
+ *                           servlet container's default (~30s) would truncate large exports
+ */
+@ConfigurationProperties(prefix = "dispatch.datasource.pools")
+public record PoolProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") int adminPoolSize,
+        @DefaultValue("2") int backgroundPoolSize,
+        @DefaultValue("30s") Duration connectionTimeout,
+        @DefaultValue("20") int adminQueueCapacity,
+        @DefaultValue("30m") Duration adminAsyncTimeout
+) {}
@@ -0,0 +1,25 @@
+package com.vorto.challenge.config;
+
+import com.vorto.challenge.presence.DriverHeartbeats;
+import com.vorto.challenge.presence.HeartbeatInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Puts {@link HeartbeatInterceptor} in front of the driver API, ahead of admission control. */
+@Configuration(proxyBeanMethods = false)
+public class PresenceConfig implements WebMvcConfigurer {
+    private final DriverHeartbeats heartbeats;
+
+    public PresenceConfig(DriverHeartbeats heartbeats) {
+        this.heartbeats = heartbeats;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HeartbeatInterceptor(heartbeats))
+                .addPathPatterns("/api/drivers/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
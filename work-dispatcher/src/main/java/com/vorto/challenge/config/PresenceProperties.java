@@ -0,0 +1,21 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Driver heartbeat and stale-driver settings ({@code dispatch.presence.*}).
+ *
+ * @param silence       an on-shift driver not heard from for this long is stale: skipped by load-first
+ *                      assignment and stripped of RESERVED loads. Keep it above the longest poll interval
+ * @param flushInterval how often buffered heartbeats are written to {@code drivers.last_seen_at}
+ * @param checkInterval how often the detector looks for stale drivers
+ */
+@ConfigurationProperties(prefix = "dispatch.presence")
+public record PresenceProperties(
+        @DefaultValue("2m") Duration silence,
+        @DefaultValue("5s") Duration flushInterval,
+        @DefaultValue("15s") Duration checkInterval
+) {}
@@ -0,0 +1,27 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How a driver's next load is ranked ({@code dispatch.ranking.*}). Candidates are the
+ * {@code knnCandidates} nearest awaiting pickups plus the {@code oldestCandidates} longest-waiting
+ * loads; the lowest score wins, in km:
+ * <pre>
+ * distance - priority * priorityWeightKm - min(ageMinutes * ageWeightKmPerMinute, maxAgeBonusKm)
+ * </pre>
+ *
+ * @param knnCandidates        nearest awaiting loads considered (index-ordered KNN scan)
+ * @param oldestCandidates     oldest awaiting loads considered wherever they are, so sparse areas don't starve
+ * @param priorityWeightKm     extra distance a driver is sent per priority level
+ * @param ageWeightKmPerMinute extra distance per minute a load has waited
+ * @param maxAgeBonusKm        cap on the age bonus
+ */
+@ConfigurationProperties(prefix = "dispatch.ranking")
+public record RankingProperties(
+        @DefaultValue("16") int knnCandidates,
+        @DefaultValue("4") int oldestCandidates,
+        @DefaultValue("15") double priorityWeightKm,
+        @DefaultValue("0.5") double ageWeightKmPerMinute,
+        @DefaultValue("60") double maxAgeBonusKm
+) {}
@@ -0,0 +1,31 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read-replica settings ({@code dispatch.datasource.replica.*}).
+ *
+ * @param enabled           route read-only transactions to the replica; off means a single primary pool
+ * @param url               replica JDBC URL
+ * @param username          replica user; defaults to {@code spring.datasource.username}
+ * @param password          replica password; defaults to {@code spring.datasource.password}
+ * @param maxLag            staleness tolerance: above this replay lag, reads fall back to the primary
+ * @param checkInterval     how often the replica's lag is measured
+ * @param maximumPoolSize   replica pool size
+ * @param connectionTimeout how long to wait for a replica connection, kept short so an unreachable replica is
+ *                          detected (and bypassed) quickly
+ */
+@ConfigurationProperties(prefix = "dispatch.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration checkInterval,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("2s") Duration connectionTimeout
+) {}
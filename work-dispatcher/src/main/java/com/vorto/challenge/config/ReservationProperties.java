@@ -0,0 +1,43 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Reservation lifecycle settings ({@code dispatch.reservation.*}).
+ *
+ * @param ttl           how long a RESERVED load is held for its driver
+ * @param ttlByPriority per-priority overrides of {@code ttl} (e.g. {@code ttl-by-priority.3=60s});
+ *                      priorities without an entry use {@code ttl}
+ * @param tick          resolution of the in-memory expiry wheel
+ * @param sweepInterval period of the DB backstop sweep (reservations made by other nodes, missed ticks)
+ * @param mode          how a driver's next load is claimed (see {@link Mode})
+ * @param casCandidates OPTIMISTIC mode: ranked candidates read per round and tried in order
+ */
+@ConfigurationProperties(prefix = "dispatch.reservation")
+public record ReservationProperties(
+        @DefaultValue("120s") Duration ttl,
+        Map<Integer, Duration> ttlByPriority,
+        @DefaultValue("100ms") Duration tick,
+        @DefaultValue("60s") Duration sweepInterval,
+        @DefaultValue("LOCKING") Mode mode,
+        @DefaultValue("4") int casCandidates
+) {
+    public ReservationProperties {
+        ttlByPriority = ttlByPriority == null ? Map.of() : Map.copyOf(ttlByPriority);
+    }
+
+    public Duration ttlFor(int priority) {
+        return ttlByPriority.getOrDefault(priority, ttl);
+    }
+
+    public enum Mode {
+        /** Rank and reserve in one statement, locking the chosen row ({@code FOR UPDATE SKIP LOCKED}). */
+        LOCKING,
+        /** Rank without locks, then claim the best candidate with a compare-and-set on status and version. */
+        OPTIMISTIC
+    }
+}
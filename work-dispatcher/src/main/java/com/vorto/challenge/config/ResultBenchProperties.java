@@ -0,0 +1,18 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Exception vs result benchmark settings ({@code dispatch.bench.result.*}), used by the "result-bench" profile.
+ *
+ * @param depth      stack frames between the request's entry point and the failing service check
+ * @param warmup     untimed calls per failure path and style
+ * @param iterations timed calls per failure path and style
+ */
+@ConfigurationProperties(prefix = "dispatch.bench.result")
+public record ResultBenchProperties(
+        @DefaultValue("80") int depth,
+        @DefaultValue("20000") int warmup,
+        @DefaultValue("100000") int iterations
+) {}
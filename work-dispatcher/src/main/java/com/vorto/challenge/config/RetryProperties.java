@@ -0,0 +1,18 @@
+package com.vorto.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Optimistic-lock retry policy ({@code dispatch.retry.*}) for {@code @RetryOnConflict} methods.
+ *
+ * @param maxAttempts attempts in total, the first included
+ * @param backoff     base pause before a retry; grows linearly per attempt, with jitter
+ */
+@ConfigurationProperties(prefix = "dispatch.retry")
+public record RetryProperties(
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("10ms") Duration backoff
+) {}
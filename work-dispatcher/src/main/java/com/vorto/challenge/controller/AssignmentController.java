@@ -1,8 +1,11 @@
 package com.vorto.challenge.controller;
 
 import com.vorto.challenge.DTO.CompleteStopResult;
+import com.vorto.challenge.admission.PollHints;
 import com.vorto.challenge.DTO.LoadAssignmentResponse;
 import com.vorto.challenge.DTO.RejectOutcome;
+import com.vorto.challenge.DTO.StopSyncRequest;
+import com.vorto.challenge.DTO.StopSyncResult;
 import com.vorto.challenge.exception.ErrorResponse;
 import com.vorto.challenge.service.AssignmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -20,15 +24,19 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
 
+import static com.vorto.challenge.controller.ServiceResponses.toResponse;
+
 @Validated
 @RestController
 @RequestMapping("/api/drivers")
 @Tag(name = "Assignments", description = "Driver assignment lifecycle: view, complete next stop, reject load")
 public class AssignmentController {
     private final AssignmentService assignmentService;
+    private final PollHints pollHints;
 
-    public AssignmentController(AssignmentService assignmentService) {
+    public AssignmentController(AssignmentService assignmentService, PollHints pollHints) {
         this.assignmentService = assignmentService;
+        this.pollHints = pollHints;
     }
 
 
@@ -40,6 +48,8 @@ public class AssignmentController {
             description = """
       Returns the driver's current load assignment if present; if the driver is on shift and unassigned,
       the server may reserve an eligible load and return it. If nothing is available, returns 204 No Content.
+      Both carry X-Poll-Interval: suggested seconds before polling again (longer when no loads wait nearby).
+      Over the per-driver or node budget: 429 RATE_LIMITED with Retry-After.
       """
     )
     @ApiResponses({
@@ -127,9 +137,12 @@ public class AssignmentController {
     })
     @GetMapping("/{driverId}/assignment")
     public ResponseEntity<?> getOrReserve(@PathVariable UUID driverId) {
-            LoadAssignmentResponse resp = assignmentService.getOrReserveLoad(driverId);
-            if (resp == null) return ResponseEntity.noContent().build();
-            return ResponseEntity.ok(resp);
+            return toResponse(assignmentService.getOrReserveLoad(driverId), resp -> {
+                String poll = PollHints.headerValue(pollHints.nextAssignmentPoll(driverId, resp != null));
+                return resp == null
+                        ? ResponseEntity.noContent().header(PollHints.HEADER, poll).build()
+                        : ResponseEntity.ok().header(PollHints.HEADER, poll).body(resp);
+            });
     }
 
 
@@ -314,8 +327,7 @@ public class AssignmentController {
     })
     @PostMapping("/{driverId}/loads/{loadId}/stops/complete")
     public ResponseEntity<?> completeNextStop(@PathVariable UUID driverId, @PathVariable UUID loadId) {
-            CompleteStopResult resp = assignmentService.completeNextStop (driverId, loadId);
-            return ResponseEntity.ok(resp);
+            return toResponse(assignmentService.completeNextStop(driverId, loadId));
     }
 
     /**
@@ -438,7 +450,97 @@ public class AssignmentController {
     })
     @PostMapping("/{driverId}/loads/{loadId}/reject")
     public ResponseEntity<?> reject(@PathVariable UUID driverId, @PathVariable UUID loadId) {
-            RejectOutcome outcome = assignmentService.rejectReservedLoadAndEndShift(driverId, loadId);
-            return ResponseEntity.ok(outcome);
+            return toResponse(assignmentService.rejectReservedLoadAndEndShift(driverId, loadId));
+    }
+
+    /**
+     * POST /api/drivers/{driverId}/stops/sync
+     * Replays stop confirmations a driver queued while offline, in one round trip.
+     */
+    @Operation(
+            summary = "Sync stops completed while offline",
+            description = """
+            Applies up to 100 queued PICKUP/DROPOFF confirmations in order, each with the time it happened.
+            Events already applied are reported as ALREADY_APPLIED; processing stops at the first failure and the
+            remaining events come back SKIPPED (the applied ones stay applied). After the batch the driver's open
+            load, or a newly reserved one, is returned as nextAssignment.
+            """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed (see per-event results)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StopSyncResult.class),
+                            examples = @ExampleObject(
+                                    name = "Pickup and dropoff applied, next load reserved",
+                                    value = """
+                {
+                  "events": [
+                    {
+                      "loadId": "6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c",
+                      "stop": "PICKUP",
+                      "result": "APPLIED",
+                      "load": {
+                        "id": "6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c",
+                        "pickup":  { "lat": 32.7767, "lng": -96.7970 },
+                        "dropoff": { "lat": 29.7604, "lng": -95.3698 },
+                        "status": "IN_PROGRESS",
+                        "nextStop": "DROPOFF"
+                      }
+                    },
+                    {
+                      "loadId": "6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c",
+                      "stop": "DROPOFF",
+                      "result": "APPLIED",
+                      "load": {
+                        "id": "6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c",
+                        "pickup":  { "lat": 32.7767, "lng": -96.7970 },
+                        "dropoff": { "lat": 29.7604, "lng": -95.3698 },
+                        "status": "COMPLETED",
+                        "nextStop": "DROPOFF"
+                      }
+                    }
+                  ],
+                  "nextAssignment": {
+                    "id": "0199f2a4-7c1e-7d3a-9a61-2f0c3b5d8e41",
+                    "pickup":  { "lat": 29.7499, "lng": -95.3584 },
+                    "dropoff": { "lat": 30.2672, "lng": -97.7431 },
+                    "status": "RESERVED",
+                    "nextStop": "PICKUP"
+                  }
+                }
+                """
+                            ))),
+
+            // 400 — VALIDATION_ERROR (empty batch, out-of-order or future timestamps)
+            @ApiResponse(responseCode = "400", description = "Invalid batch",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Events out of order",
+                                    value = """
+                {
+                  "code": "VALIDATION_ERROR",
+                  "message": "events must be in time order and not in the future (event 1)",
+                  "status": 400,
+                  "path": "/api/drivers/39d040a9-e99f-46d2-93c3-72ccd2cfaab2/stops/sync",
+                  "correlationId": "5c1f0e7a-3b2d-4c8e-9f61-0a7d2e4b6c13",
+                  "timestamp": "2025-10-19T18:52:10.118204-07:00"
+                }
+                """
+                            ))),
+
+            // 404 — DRIVER_NOT_FOUND
+            @ApiResponse(responseCode = "404", description = "Driver not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+
+            // 409 — SHIFT_NOT_ACTIVE
+            @ApiResponse(responseCode = "409", description = "Driver is off-shift",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{driverId}/stops/sync")
+    public ResponseEntity<?> syncStops(@PathVariable UUID driverId, @Valid @RequestBody StopSyncRequest request) {
+            return toResponse(assignmentService.syncStops(driverId, request.events()));
     }
 }
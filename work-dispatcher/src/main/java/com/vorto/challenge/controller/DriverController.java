@@ -22,6 +22,8 @@ import java.net.URI;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.vorto.challenge.controller.ServiceResponses.toResponse;
+
 @Validated
 @RestController
 @RequestMapping("/api/drivers")
@@ -235,7 +237,9 @@ public class DriverController {
                                                              "assignedDriver": {
                                                                  "id": "b1b63042-f1ce-4054-b914-40be3662c16f",
                                                                  "name": "surat"
-                                                             }
+                                                             },
+                                                             "priority": 0,
+                                                             "createdAt": "2025-10-20T01:40:02.113Z"
                                                          }
                                                      }
                         """
@@ -322,8 +326,8 @@ public class DriverController {
                             )))
     })
     @GetMapping("/{id}/state")
-    public ResponseEntity<DriverStateResponse> getState(@PathVariable UUID id) {
-        return ResponseEntity.ok(driverService.getDriverState(id));
+    public ResponseEntity<?> getState(@PathVariable UUID id) {
+        return toResponse(driverService.getDriverState(id));
     }
 
 }
@@ -1,6 +1,8 @@
 package com.vorto.challenge.controller;
 
 import com.vorto.challenge.DTO.CreateLoadRequest;
+import com.vorto.challenge.DTO.LoadChangesResponse;
+import com.vorto.challenge.DTO.LoadMapResponse;
 import com.vorto.challenge.DTO.LoadSummaryDto;
 import com.vorto.challenge.exception.ErrorResponse;
 import com.vorto.challenge.model.Load;
@@ -15,9 +17,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import java.util.List;
@@ -29,6 +35,8 @@ import java.util.UUID;
 @Tag(name = "Loads", description = "Admin/General: list, fetch, and create loads")
 public class LoadController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final LoadService loadService;
 
     public LoadController(LoadService loadService) {
@@ -53,7 +61,9 @@ public class LoadController {
                         "currentStop": "DROPOFF",
                         "pickup": { "lat": 39.7392, "lng": -104.9903 },
                         "dropoff": { "lat": 38.8339, "lng": -104.8214 },
-                        "assignedDriver": { "id": "b7f2c2d5-edce-4eea-9da9-3c8f13b13a70", "name": "sam" }
+                        "assignedDriver": { "id": "b7f2c2d5-edce-4eea-9da9-3c8f13b13a70", "name": "sam" },
+                        "priority": 0,
+                        "createdAt": "2025-10-20T01:40:02.113Z"
                       },
                       {
                         "id": "93ea2906-edf3-4d1d-8f84-22849a393a7a",
@@ -61,7 +71,9 @@ public class LoadController {
                         "currentStop": "DROPOFF",
                         "pickup": { "lat": 31.4484, "lng": -110.074 },
                         "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                        "assignedDriver": null
+                        "assignedDriver": null,
+                        "priority": 0,
+                        "createdAt": "2025-10-20T01:40:02.113Z"
                       },
                       {
                         "id": "7bf05341-bc3b-4111-a2f8-afe5ff1cc817",
@@ -69,7 +81,9 @@ public class LoadController {
                         "currentStop": "PICKUP",
                         "pickup": { "lat": 31.4484, "lng": -110.074 },
                         "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                        "assignedDriver": { "id": "55e1c83d-93bb-4b31-b8c2-80fff3333bf3", "name": "sura" }
+                        "assignedDriver": { "id": "55e1c83d-93bb-4b31-b8c2-80fff3333bf3", "name": "sura" },
+                        "priority": 0,
+                        "createdAt": "2025-10-20T01:40:02.113Z"
                       },
                       {
                         "id": "1e8273b3-625b-4ba1-ac73-1e2b972c6d31",
@@ -77,7 +91,9 @@ public class LoadController {
                         "currentStop": "PICKUP",
                         "pickup": { "lat": 31.4484, "lng": -110.074 },
                         "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                        "assignedDriver": null
+                        "assignedDriver": null,
+                        "priority": 0,
+                        "createdAt": "2025-10-20T01:40:02.113Z"
                       },
                       {
                         "id": "d6ec4317-25cd-44e0-bc38-4601f804dd03",
@@ -85,7 +101,9 @@ public class LoadController {
                         "currentStop": "DROPOFF",
                         "pickup": { "lat": 31.4484, "lng": -110.074 },
                         "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                        "assignedDriver": null
+                        "assignedDriver": null,
+                        "priority": 0,
+                        "createdAt": "2025-10-20T01:40:02.113Z"
                       }
                     ]
                     """
@@ -127,6 +145,157 @@ public class LoadController {
         return loadService.getAll(status);
     }
 
+    @Operation(
+            summary = "Export loads as NDJSON (streaming)",
+            description = """
+      Streams every load, optionally filtered by status, as newline-delimited JSON: one object per line
+      with the same shape as the list endpoint. Rows are read through a database cursor and written
+      straight to the response, so memory use is constant regardless of how many loads exist.
+      Exports run on a small admin executor; when it is saturated the request gets 503.
+      """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "NDJSON stream of loads",
+                    content = @Content(mediaType = NDJSON,
+                            examples = @ExampleObject(
+                                    name = "Two rows",
+                                    value = """
+                    {"id":"1e8273b3-625b-4ba1-ac73-1e2b972c6d31","status":"AWAITING_DRIVER","currentStop":"PICKUP","pickup":{"lat":31.4484,"lng":-110.074},"dropoff":{"lat":34.2226,"lng":-115.9747},"assignedDriver":null,"priority":0,"createdAt":"2025-10-20T01:40:02.113Z"}
+                    {"id":"7bf05341-bc3b-4111-a2f8-afe5ff1cc817","status":"RESERVED","currentStop":"PICKUP","pickup":{"lat":31.4484,"lng":-110.074},"dropoff":{"lat":34.2226,"lng":-115.9747},"assignedDriver":{"id":"55e1c83d-93bb-4b31-b8c2-80fff3333bf3","name":"sura"},"priority":0,"createdAt":"2025-10-20T01:40:02.113Z"}
+                    """
+                            )))
+    })
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Optional filter by status")
+            @RequestParam(value = "status", required = false) Load.Status status) {
+        // written on the admin executor, not the request thread
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"loads.ndjson\"")
+                .body(out -> loadService.exportNdjson(status, out));
+    }
+
+    @Operation(
+            summary = "Loads for the admin map (clustered or individual, size-bounded)",
+            description = """
+      Returns load pickups inside a bounding box. Below zoom 13 pickups are aggregated per grid cell
+      (ST_SnapToGrid, ~64px cells) into clusters with a centroid and count; from zoom 13 individual loads
+      are returned. At most 2000 clusters or 1000 loads are returned (truncated=true when cut), however
+      many loads exist.
+      """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Clusters or loads in the box",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoadMapResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Clusters (zoomed out)",
+                                    value = """
+                    {
+                      "mode": "CLUSTERS",
+                      "cellSizeDeg": 0.703125,
+                      "clusters": [
+                        { "lat": 39.7412, "lng": -104.9877, "count": 182 },
+                        { "lat": 33.4519, "lng": -112.0693, "count": 97 }
+                      ],
+                      "loads": [],
+                      "truncated": false
+                    }
+                    """
+                            ))),
+            @ApiResponse(responseCode = "400", description = "Invalid bbox or zoom",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Malformed bbox",
+                                    value = """
+                    {
+                      "code": "VALIDATION_ERROR",
+                      "message": "bbox must be minLng,minLat,maxLng,maxLat",
+                      "status": 400,
+                      "path": "/api/loads/map",
+                      "correlationId": "0a4e3c1d-5b7f-4c2e-9d8a-1f2e3d4c5b6a",
+                      "timestamp": "2025-10-19T19:05:11.102938-07:00"
+                    }
+                    """
+                            )))
+    })
+    @GetMapping("/map")
+    public LoadMapResponse map(
+            @Parameter(description = "Bounding box: minLng,minLat,maxLng,maxLat", example = "-125,24,-66,50")
+            @RequestParam("bbox") String bbox,
+            @Parameter(description = "Map zoom level (0-22)", example = "5")
+            @RequestParam("zoom") int zoom,
+            @Parameter(description = "Optional filter by status")
+            @RequestParam(value = "status", required = false) Load.Status status) {
+        return loadService.getMap(bbox, zoom, status);
+    }
+
+    @Operation(
+            summary = "Loads changed since a token (delta sync)",
+            description = """
+      Returns loads inserted or updated after the 'since' token, in their current state, oldest change
+      first, plus the token for the next call. Omit 'since' for a full sync. While hasMore is true, call
+      again right away; once it is false the client is caught up and can poll with the returned token.
+      A change becomes visible only once every older transaction has finished, so a long-running
+      transaction delays the feed rather than letting a change be skipped. Deletes are not reported.
+      """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changed loads and the next token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoadChangesResponse.class),
+                            examples = @ExampleObject(
+                                    name = "One change",
+                                    value = """
+                    {
+                      "changes": [
+                        {
+                          "load": {
+                            "id": "7bf05341-bc3b-4111-a2f8-afe5ff1cc817",
+                            "status": "RESERVED",
+                            "currentStop": "PICKUP",
+                            "pickup": { "lat": 31.4484, "lng": -110.074 },
+                            "dropoff": { "lat": 34.2226, "lng": -115.9747 },
+                            "assignedDriver": { "id": "55e1c83d-93bb-4b31-b8c2-80fff3333bf3", "name": "sura" },
+                            "priority": 0,
+                            "createdAt": "2025-10-20T01:40:02.113Z"
+                          },
+                          "updatedAt": "2025-10-20T01:42:17.530Z"
+                        }
+                      ],
+                      "next": "AAAAAAAAAvoAAAAAAAAAAAAAAAAAAAAA",
+                      "hasMore": false
+                    }
+                    """
+                            ))),
+            @ApiResponse(responseCode = "400", description = "Malformed token or limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Bad token",
+                                    value = """
+                    {
+                      "code": "VALIDATION_ERROR",
+                      "message": "Invalid change token",
+                      "status": 400,
+                      "path": "/api/loads/changes",
+                      "correlationId": "0a4e3c1d-5b7f-4c2e-9d8a-1f2e3d4c5b6a",
+                      "timestamp": "2025-10-19T19:05:11.102938-07:00"
+                    }
+                    """
+                            )))
+    })
+    @GetMapping("/changes")
+    public LoadChangesResponse changes(
+            @Parameter(description = "Token from the previous call; omit for a full sync")
+            @RequestParam(value = "since", required = false) String since,
+            @Parameter(description = "Maximum loads per call (1-5000)", example = "500")
+            @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        return loadService.getChanges(since, limit);
+    }
+
     @Operation(summary = "Get a single load by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Load",
@@ -141,7 +310,9 @@ public class LoadController {
                       "currentStop": "DROPOFF",
                       "pickup": { "lat": 31.4484, "lng": -110.074 },
                       "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                      "assignedDriver": null
+                      "assignedDriver": null,
+                      "priority": 0,
+                      "createdAt": "2025-10-20T01:40:02.113Z"
                     }
                     """
                             ))),
@@ -201,7 +372,8 @@ public class LoadController {
                             value = """
             {
               "pickup":  { "lat": 33.4484, "lng": -112.0740 },
-              "dropoff": { "lat": 33.6131, "lng": -114.5964 }
+              "dropoff": { "lat": 33.6131, "lng": -114.5964 },
+              "priority": 1
             }
             """
                     )
@@ -221,7 +393,9 @@ public class LoadController {
                           "currentStop": "PICKUP",
                           "pickup": { "lat": 31.4484, "lng": -110.074 },
                           "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                          "assignedDriver": null
+                          "assignedDriver": null,
+                          "priority": 0,
+                          "createdAt": "2025-10-20T01:40:02.113Z"
                         }
                         """
                                     ),
@@ -234,7 +408,9 @@ public class LoadController {
                           "currentStop": "PICKUP",
                           "pickup": { "lat": 31.4484, "lng": -110.074 },
                           "dropoff": { "lat": 34.2226, "lng": -115.9747 },
-                          "assignedDriver": { "id": "55e1c83d-93bb-4b31-b8c2-80fff3333bf3", "name": "sura" }
+                          "assignedDriver": { "id": "55e1c83d-93bb-4b31-b8c2-80fff3333bf3", "name": "sura" },
+                          "priority": 0,
+                          "createdAt": "2025-10-20T01:40:02.113Z"
                         }
                         """
                                     )
@@ -0,0 +1,32 @@
+package com.vorto.challenge.controller;
+
+import com.vorto.challenge.exception.ErrorResponses;
+import com.vorto.challenge.service.ServiceResult;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Function;
+
+/** Maps {@link ServiceResult}s to HTTP responses; failures get the same body the exception handler produces. */
+public final class ServiceResponses {
+    private ServiceResponses() {}
+
+    public static <T> ResponseEntity<?> toResponse(ServiceResult<T> result, Function<T, ResponseEntity<?>> onSuccess) {
+        return switch (result) {
+            case ServiceResult.Success<T> s -> onSuccess.apply(s.value());
+            case ServiceResult.Failure<T> f -> ResponseEntity.status(f.status())
+                    .body(ErrorResponses.of(f.status(), f.code(), f.message(), currentPath(), null));
+        };
+    }
+
+    /** 200 with the value as body. */
+    public static <T> ResponseEntity<?> toResponse(ServiceResult<T> result) {
+        return toResponse(result, ResponseEntity::ok);
+    }
+
+    private static String currentPath() {
+        var attrs = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        return attrs.getRequest().getRequestURI();
+    }
+}
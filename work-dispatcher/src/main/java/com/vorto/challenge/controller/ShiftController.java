@@ -22,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
 
+import static com.vorto.challenge.controller.ServiceResponses.toResponse;
+
 @Validated
 @RestController
 @RequestMapping("/api/drivers")
@@ -118,8 +120,8 @@ public class ShiftController {
     public ResponseEntity<?> startShift(
             @PathVariable("driverId") UUID driverId,
             @Valid @RequestBody StartShiftRequest body){
-        DriverStartShiftDto driverStartShiftDto = shiftService.startShift(driverId,body.currentLocation().lat(),body.currentLocation().lng());
-            return ResponseEntity.status(HttpStatus.CREATED).body(driverStartShiftDto);
+        return toResponse(shiftService.startShift(driverId, body.currentLocation().lat(), body.currentLocation().lng()),
+                started -> ResponseEntity.status(HttpStatus.CREATED).body(started));
     }
     /**
      * POST /api/drivers/{driverId}/shift/end
@@ -219,7 +221,6 @@ public class ShiftController {
     })
     @PostMapping("/{driverId}/shift/end")
     public ResponseEntity<?> endShift(@PathVariable UUID driverId) {
-            DriverEndShiftDto endedShift = shiftService.endShift(driverId);
-            return ResponseEntity.ok(endedShift);
+            return toResponse(shiftService.endShift(driverId));
     }
 }
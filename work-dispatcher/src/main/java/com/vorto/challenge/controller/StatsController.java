@@ -0,0 +1,61 @@
+package com.vorto.challenge.controller;
+
+import com.vorto.challenge.DTO.DispatchStatsDto;
+import com.vorto.challenge.stats.DispatchCounters;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@Tag(name = "Stats", description = "Dashboard counters")
+public class StatsController {
+    private final DispatchCounters counters;
+
+    public StatsController(DispatchCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * GET /api/stats
+     * Served from in-memory counters; no database query per request.
+     */
+    @Operation(
+            summary = "Dispatch dashboard counters",
+            description = "Loads per status and on-shift/idle driver counts, maintained incrementally and "
+                    + "reconciled against the database periodically (see reconciledAt)."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Current counters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DispatchStatsDto.class),
+                            examples = @ExampleObject(
+                                    name = "Counters",
+                                    value = """
+                                            {
+                                              "loadsByStatus": {
+                                                "AWAITING_DRIVER": 42,
+                                                "RESERVED": 3,
+                                                "IN_PROGRESS": 17,
+                                                "COMPLETED": 1280
+                                              },
+                                              "driversOnShift": 25,
+                                              "driversIdle": 5,
+                                              "reconciledAt": "2025-10-01T18:05:00Z"
+                                            }
+                                            """
+                            )
+                    ))
+    })
+    @GetMapping
+    public DispatchStatsDto stats() {
+        return counters.snapshot();
+    }
+}
@@ -0,0 +1,116 @@
+package com.vorto.challenge.datagen;
+
+import com.vorto.challenge.config.DatagenProperties;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk-loads a synthetic dataset at startup ({@code SPRING_PROFILES_ACTIVE=datagen}), streaming
+ * {@link DatasetGenerator} rows straight into {@code COPY ... FROM STDIN} in one transaction.
+ * Runs after Flyway and before the app starts serving, so the expiry wheel and caches see the new data.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.HIGHEST_PRECEDENCE)  // other startup runners (the contention bench) see the generated data
+public class DatagenRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(DatagenRunner.class);
+    private static final int COPY_BUFFER = 1 << 16;
+
+    private final DataSource dataSource;
+    private final DatagenProperties props;
+
+    public DatagenRunner(DataSource dataSource, DatagenProperties props) {
+        this.dataSource = dataSource;
+        this.props = props;
+    }
+
+    @Override
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void run(ApplicationArguments args) throws SQLException, IOException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (props.truncate()) {
+                    execute(conn, "TRUNCATE loads, shifts, drivers");
+                } else if (hasData(conn)) {
+                    log.info("Drivers or loads already present; skipping datagen (set dispatch.datagen.truncate=true)");
+                    return;
+                }
+
+                DatasetGenerator gen = new DatasetGenerator(props);
+                long started = System.nanoTime();
+                long drivers = copy(conn, "COPY drivers (id, name, current_location, on_shift, last_seen_at) FROM STDIN",
+                        gen::writeDrivers);
+                long shifts = copy(conn, "COPY shifts (id, driver_id, start_time, end_time, start_location) FROM STDIN",
+                        gen::writeShifts);
+                long loads = copy(conn, """
+                        COPY loads (id, pickup, dropoff, status, current_stop,
+                                    assigned_driver_id, assigned_shift_id, reservation_expires_at, created_at) FROM STDIN""",
+                        gen::writeLoads);
+                // asOf is fixed for reproducibility and usually in the past; without this every generated
+                // on-shift driver would already be silent (see StaleDriverDetector)
+                execute(conn, "UPDATE drivers SET last_seen_at = now() WHERE on_shift");
+                conn.commit();
+                log.info("Datagen (seed {}) loaded {} drivers, {} shifts, {} loads in {} ms",
+                        props.seed(), drivers, shifts, loads, (System.nanoTime() - started) / 1_000_000);
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+
+            // Fresh statistics so the planner sees production-like row counts right away
+            conn.setAutoCommit(true);
+            execute(conn, "ANALYZE drivers, shifts, loads");
+        }
+    }
+
+    private static long copy(Connection conn, String sql, RowWriter rows) throws SQLException, IOException {
+        PGConnection pg = conn.unwrap(PGConnection.class);
+        // closing the writer ends the COPY; a failure mid-stream surfaces as an IOException
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(new PGCopyOutputStream(pg, sql, COPY_BUFFER), StandardCharsets.UTF_8),
+                COPY_BUFFER)) {
+            return rows.write(out);
+        }
+    }
+
+    private static boolean hasData(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT EXISTS (SELECT 1 FROM drivers) OR EXISTS (SELECT 1 FROM loads)")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        long write(Appendable out) throws IOException;
+    }
+}
@@ -0,0 +1,194 @@
+package com.vorto.challenge.datagen;
+
+import com.vorto.challenge.common.UuidV7;
+import com.vorto.challenge.config.DatagenProperties;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Produces drivers, shifts and loads as Postgres COPY text rows (tab-separated, {@code \N} for NULL,
+ * geometries as EWKT). Output depends only on {@link DatagenProperties}: every table draws from its
+ * own stream split off the seed, and timestamps are anchored to {@code asOf}, never the wall clock.
+ *
+ * Tables must be written in FK order: {@link #writeDrivers}, {@link #writeShifts}, {@link #writeLoads}.
+ * Only per-driver state is kept in memory; loads are streamed.
+ */
+public final class DatasetGenerator {
+    private static final String NULL = "\\N";
+    private static final double SAME_METRO_DROPOFF = 0.75;
+
+    private final DatagenProperties props;
+    private final SplittableRandom driverRnd;
+    private final SplittableRandom shiftRnd;
+    private final SplittableRandom loadRnd;
+    private final List<Metro> metros = Metro.US;
+    private final double[] cumulativeWeight;
+    private final Instant asOf;
+    private final Instant windowStart;
+
+    // per-driver state, filled by writeDrivers/writeShifts
+    private UUID[] driverIds;
+    private int[] driverMetro;
+    private double[][] driverLocation;  // null for off-shift drivers
+    private UUID[] openShiftIds;        // null for off-shift drivers
+
+    public DatasetGenerator(DatagenProperties props) {
+        if (props.historyDays() < 2) throw new IllegalArgumentException("historyDays must be >= 2");
+        this.props = props;
+        SplittableRandom root = new SplittableRandom(props.seed());
+        this.driverRnd = root.split();
+        this.shiftRnd = root.split();
+        this.loadRnd = root.split();
+        this.cumulativeWeight = new double[metros.size()];
+        double sum = 0;
+        for (int i = 0; i < metros.size(); i++) cumulativeWeight[i] = (sum += metros.get(i).weight());
+        this.asOf = props.asOf();
+        this.windowStart = asOf.minus(Duration.ofDays(props.historyDays()));
+    }
+
+    /** Columns: id, name, current_location, on_shift, last_seen_at (asOf for on-shift drivers, so none start out silent). */
+    public long writeDrivers(Appendable out) throws IOException {
+        int n = props.drivers();
+        driverIds = new UUID[n];
+        driverMetro = new int[n];
+        driverLocation = new double[n][];
+        long base = windowStart.toEpochMilli() - n;  // drivers predate the history window
+        for (int i = 0; i < n; i++) {
+            driverIds[i] = UuidV7.of(base + i, i, driverRnd.nextLong());
+            driverMetro[i] = pickMetro(driverRnd);
+            boolean onShift = driverRnd.nextDouble() < props.onShiftFraction();
+            if (onShift) driverLocation[i] = metros.get(driverMetro[i]).sample(driverRnd);
+
+            out.append(driverIds[i].toString()).append('\t')
+                    .append("driver-").append(pad(i + 1)).append('\t')
+                    .append(onShift ? ewkt(driverLocation[i]) : NULL).append('\t')
+                    .append(onShift ? "t" : "f").append('\t')
+                    .append(onShift ? asOf.toString() : NULL).append('\n');
+        }
+        return n;
+    }
+
+    /**
+     * Columns: id, driver_id, start_time, end_time, start_location.
+     * Closed shifts on distinct days before the last one; on-shift drivers also get an open shift started today.
+     */
+    public long writeShifts(Appendable out) throws IOException {
+        requireState(driverIds, "writeDrivers");
+        int perDriver = Math.min(props.shiftsPerDriver(), props.historyDays() - 1);
+        openShiftIds = new UUID[driverIds.length];
+        long rows = 0;
+        for (int d = 0; d < driverIds.length; d++) {
+            Metro home = metros.get(driverMetro[d]);
+            for (int j = 0; j < perDriver; j++) {
+                long day = (long) j * (props.historyDays() - 1) / perDriver;
+                Instant start = windowStart.plus(Duration.ofDays(day))
+                        .plus(Duration.ofMinutes(4 * 60 + shiftRnd.nextInt(8 * 60)));
+                Instant end = start.plus(Duration.ofMinutes(4 * 60 + shiftRnd.nextInt(6 * 60)));
+                writeShift(out, UuidV7.of(start.toEpochMilli(), j, shiftRnd.nextLong()),
+                        driverIds[d], start, end, home.sample(shiftRnd));
+                rows++;
+            }
+            if (driverLocation[d] != null) {
+                Instant start = asOf.minus(Duration.ofMinutes(30 + shiftRnd.nextInt(8 * 60)));
+                openShiftIds[d] = UuidV7.of(start.toEpochMilli(), perDriver, shiftRnd.nextLong());
+                writeShift(out, openShiftIds[d], driverIds[d], start, null, driverLocation[d]);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Columns: id, pickup, dropoff, status, current_stop, assigned_driver_id, assigned_shift_id,
+     * reservation_expires_at, created_at. Written oldest first (COMPLETED history, then AWAITING_DRIVER from the
+     * last hour, then IN_PROGRESS), so ids arrive in time order.
+     */
+    public long writeLoads(Appendable out) throws IOException {
+        requireState(openShiftIds, "writeShifts");
+        List<Integer> carrying = new ArrayList<>();
+        for (int d = 0; d < driverIds.length; d++) {
+            if (openShiftIds[d] != null && loadRnd.nextDouble() < props.inProgressFraction()) carrying.add(d);
+        }
+        int inProgress = Math.min(carrying.size(), props.loads());
+        int awaiting = (int) Math.min(Math.round(props.loads() * props.awaitingFraction()), props.loads() - inProgress);
+        int completed = props.loads() - inProgress - awaiting;
+
+        long historySpan = Duration.between(windowStart, asOf).minusHours(1).toMillis();
+        for (int i = 0; i < completed; i++) {
+            long t = windowStart.toEpochMilli() + historySpan * i / Math.max(1, completed);
+            int metro = pickMetro(loadRnd);
+            writeLoad(out, UuidV7.of(t, i, loadRnd.nextLong()), metros.get(metro).sample(loadRnd),
+                    dropoff(metro), "COMPLETED", "DROPOFF", null, null, t);
+        }
+        long lastHour = asOf.minus(Duration.ofHours(1)).toEpochMilli();
+        for (int i = 0; i < awaiting; i++) {
+            long t = lastHour + Duration.ofHours(1).toMillis() * i / Math.max(1, awaiting);
+            int metro = pickMetro(loadRnd);
+            writeLoad(out, UuidV7.of(t, i, loadRnd.nextLong()), metros.get(metro).sample(loadRnd),
+                    dropoff(metro), "AWAITING_DRIVER", "PICKUP", null, null, t);
+        }
+        for (int i = 0; i < inProgress; i++) {
+            int d = carrying.get(i);
+            // picked up where the driver now stands: pickup snaps the driver's location
+            long t = asOf.toEpochMilli() - inProgress + i;
+            writeLoad(out, UuidV7.of(t, i, loadRnd.nextLong()),
+                    driverLocation[d], dropoff(driverMetro[d]), "IN_PROGRESS", "DROPOFF",
+                    driverIds[d], openShiftIds[d], t);
+        }
+        return props.loads();
+    }
+
+    private void writeShift(Appendable out, UUID id, UUID driverId, Instant start, Instant end,
+                            double[] location) throws IOException {
+        out.append(id.toString()).append('\t')
+                .append(driverId.toString()).append('\t')
+                .append(start.toString()).append('\t')
+                .append(end == null ? NULL : end.toString()).append('\t')
+                .append(ewkt(location)).append('\n');
+    }
+
+    private static void writeLoad(Appendable out, UUID id, double[] pickup, double[] dropoff, String status,
+                                  String stop, UUID driverId, UUID shiftId, long createdAtMillis) throws IOException {
+        out.append(id.toString()).append('\t')
+                .append(ewkt(pickup)).append('\t')
+                .append(ewkt(dropoff)).append('\t')
+                .append(status).append('\t')
+                .append(stop).append('\t')
+                .append(driverId == null ? NULL : driverId.toString()).append('\t')
+                .append(shiftId == null ? NULL : shiftId.toString()).append('\t')
+                .append(NULL).append('\t')
+                .append(Instant.ofEpochMilli(createdAtMillis).toString()).append('\n');
+    }
+
+    /** Mostly local hauls; the rest go to another metro by weight. */
+    private double[] dropoff(int pickupMetro) {
+        int metro = loadRnd.nextDouble() < SAME_METRO_DROPOFF ? pickupMetro : pickMetro(loadRnd);
+        return metros.get(metro).sample(loadRnd);
+    }
+
+    private int pickMetro(SplittableRandom rnd) {
+        double x = rnd.nextDouble() * cumulativeWeight[cumulativeWeight.length - 1];
+        int i = Arrays.binarySearch(cumulativeWeight, x);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static String ewkt(double[] latLng) {
+        return "SRID=4326;POINT(" + latLng[1] + " " + latLng[0] + ")";
+    }
+
+    private static String pad(int n) {
+        String s = Integer.toString(n);
+        return s.length() >= 6 ? s : "000000".substring(s.length()) + s;
+    }
+
+    private static void requireState(Object state, String step) {
+        if (state == null) throw new IllegalStateException(step + " must run first");
+    }
+}
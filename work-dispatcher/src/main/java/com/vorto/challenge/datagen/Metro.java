@@ -0,0 +1,45 @@
+package com.vorto.challenge.datagen;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A demand cluster: points are drawn from a 2-D Gaussian around the centre.
+ *
+ * @param weight  relative share of drivers and loads
+ * @param sigmaKm standard deviation of the cluster, in kilometres
+ */
+record Metro(String name, double lat, double lng, double weight, double sigmaKm) {
+    private static final double KM_PER_DEGREE = 111.32;
+
+    static final List<Metro> US = List.of(
+            new Metro("New York",       40.7128,  -74.0060, 19.8, 35),
+            new Metro("Los Angeles",    34.0522, -118.2437, 13.2, 40),
+            new Metro("Chicago",        41.8781,  -87.6298,  9.5, 30),
+            new Metro("Dallas",         32.7767,  -96.7970,  7.6, 35),
+            new Metro("Houston",        29.7604,  -95.3698,  7.1, 35),
+            new Metro("Atlanta",        33.7490,  -84.3880,  6.1, 30),
+            new Metro("Washington",     38.9072,  -77.0369,  6.3, 25),
+            new Metro("Philadelphia",   39.9526,  -75.1652,  6.2, 25),
+            new Metro("Miami",          25.7617,  -80.1918,  6.1, 25),
+            new Metro("Phoenix",        33.4484, -112.0740,  4.9, 30),
+            new Metro("Seattle",        47.6062, -122.3321,  4.0, 25),
+            new Metro("San Francisco",  37.7749, -122.4194,  4.7, 25),
+            new Metro("Denver",         39.7392, -104.9903,  3.0, 20),
+            new Metro("Minneapolis",    44.9778,  -93.2650,  3.7, 20),
+            new Metro("St. Louis",      38.6270,  -90.1994,  2.8, 20),
+            new Metro("Salt Lake City", 40.7608, -111.8910,  1.3, 15),
+            new Metro("Tucson",         32.2226, -110.9747,  1.0, 15),
+            new Metro("Colorado Springs", 38.8339, -104.8214, 0.8, 12)
+    );
+
+    /** Draws a point from this cluster as {lat, lng}. */
+    double[] sample(RandomGenerator rnd) {
+        double dLat = rnd.nextGaussian() * sigmaKm / KM_PER_DEGREE;
+        double dLng = rnd.nextGaussian() * sigmaKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(lat)));
+        return new double[] {
+                Math.max(-90, Math.min(90, lat + dLat)),
+                Math.max(-180, Math.min(180, lng + dLng))
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.vorto.challenge.datasource;
+
+/**
+ * Connection pools behind {@link PoolRoutingDataSource}; the lower-case name is also the Hikari pool name.
+ * Services pick one with {@link UsePool}; {@link #REPLICA} is chosen by the router for read-only
+ * transactions, never by annotation.
+ */
+public enum DataSourceRole {
+    /** Latency-critical driver traffic, and anything not annotated. */
+    DRIVER,
+    /** Admin screens, exports and reporting. */
+    ADMIN,
+    /** Schedulers, reapers, bulk jobs. */
+    BACKGROUND,
+    REPLICA;
+
+    public String poolName() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,49 @@
+package com.vorto.challenge.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * The pool the current thread's next connection should come from. Set by {@link UsePoolAspect}, or
+ * directly for work that doesn't go through a proxy (e.g. a bean's own executor thread).
+ */
+public final class PoolContext {
+    private static final ThreadLocal<DataSourceRole> CURRENT = new ThreadLocal<>();
+
+    private PoolContext() {}
+
+    public static DataSourceRole current() {
+        DataSourceRole role = CURRENT.get();
+        return role != null ? role : DataSourceRole.DRIVER;
+    }
+
+    public static <T> T callWith(DataSourceRole role, Supplier<T> work) {
+        DataSourceRole previous = enter(role);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runWith(DataSourceRole role, Runnable work) {
+        callWith(role, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Sets the pool and returns the one it replaces, for {@link #restore}. */
+    static DataSourceRole enter(DataSourceRole role) {
+        if (role == DataSourceRole.REPLICA) {
+            throw new IllegalArgumentException("The replica is chosen by readOnly transactions, not by pool");
+        }
+        DataSourceRole previous = CURRENT.get();
+        CURRENT.set(role);
+        return previous;
+    }
+
+    static void restore(DataSourceRole previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+}
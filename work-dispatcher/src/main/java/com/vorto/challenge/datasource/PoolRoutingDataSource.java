@@ -0,0 +1,43 @@
+package com.vorto.challenge.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Picks the pool for each new connection: the replica for read-only transactions while
+ * {@link ReplicaLagMonitor} reports it within tolerance, otherwise the pool from {@link PoolContext}
+ * (driver by default). Roles without a pool of their own fall back to the driver pool.
+ *
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}: the transaction manager opens the
+ * connection before the read-only flag is exposed to {@link TransactionSynchronizationManager},
+ * so the routing decision has to wait for the first statement.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor monitor;  // null when no replica is configured
+    private final Map<DataSourceRole, Counter> readsByPool = new EnumMap<>(DataSourceRole.class);
+
+    public PoolRoutingDataSource(ReplicaLagMonitor monitor, MeterRegistry registry) {
+        this.monitor = monitor;
+        for (DataSourceRole role : DataSourceRole.values()) {
+            readsByPool.put(role, Counter.builder("dispatch.datasource.reads")
+                    .description("Read-only transactions by the pool they were routed to")
+                    .tag("pool", role.poolName())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRole role = PoolContext.current();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return role;
+        DataSourceRole target = monitor != null && monitor.isReplicaUsable() ? DataSourceRole.REPLICA : role;
+        readsByPool.get(target).increment();
+        return target;
+    }
+}
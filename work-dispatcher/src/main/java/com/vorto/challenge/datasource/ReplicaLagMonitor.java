@@ -0,0 +1,127 @@
+package com.vorto.challenge.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the replica's replay lag on its own thread and decides whether reads may use it.
+ *
+ * Each check first reads the primary's current WAL position through the driver pool. A replica that has
+ * replayed up to it reports zero lag, even if the primary has been idle for a while; otherwise lag is the
+ * age of the last replayed transaction. Comparing against the primary, not against what the replica
+ * itself has received, keeps a standby whose WAL receiver stalled or disconnected from reporting zero.
+ * An instance that is not in recovery (e.g. a second standalone Postgres in local testing) counts as
+ * fully caught up. Until the first successful check, and after any failed one, the replica is treated
+ * as unusable.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+    private static final String LAG_SQL = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, -1)
+                   END::bigint
+            """;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final Duration checkInterval;
+    private final MeterRegistry registry;
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-lag");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile long lagMillis = -1;   // -1: unknown
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration checkInterval,
+                             MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkInterval = checkInterval;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("dispatch.datasource.replica.lag", this, m -> m.lagMillis)
+                .baseUnit("milliseconds")
+                .description("Replica replay lag (-1 when unknown)")
+                .register(registry);
+        Gauge.builder("dispatch.datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+        long period = checkInterval.toMillis();
+        checker.scheduleWithFixedDelay(this::check, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        checker.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    void check() {
+        long lag;
+        try {
+            String primaryLsn = primaryLsn();
+            try (Connection conn = replica.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(LAG_SQL)) {
+                ps.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+                ps.setString(1, primaryLsn);
+                try (ResultSet rs = ps.executeQuery()) {
+                    lag = rs.next() ? rs.getLong(1) : -1;
+                }
+            }
+        } catch (Exception e) {
+            if (usable) log.warn("Replica lag check failed; routing reads to the primary", e);
+            lagMillis = -1;
+            usable = false;
+            return;
+        }
+        boolean nowUsable = lag >= 0 && lag <= maxLagMillis;
+        if (nowUsable != usable) {
+            log.info("Replica {} (lag {} ms, tolerance {} ms)",
+                    nowUsable ? "back within tolerance; routing reads to it" : "lagging; routing reads to the primary",
+                    lag, maxLagMillis);
+        }
+        lagMillis = lag;
+        usable = nowUsable;
+    }
+
+    /** Read before the replica, so a replica that has replayed up to it had every commit made by then. */
+    private String primaryLsn() throws SQLException {
+        try (Connection conn = primary.getConnection();
+             Statement st = conn.createStatement()) {
+            st.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = st.executeQuery(PRIMARY_LSN_SQL)) {
+                if (!rs.next()) throw new SQLException("pg_current_wal_lsn() returned no row");
+                return rs.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vorto.challenge.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method (or every method of the annotated class) on the given connection pool.
+ * Method-level wins over class-level. Takes effect on calls through the Spring proxy only; a
+ * transaction that already holds a connection keeps it.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePool {
+    DataSourceRole value();
+}
@@ -0,0 +1,37 @@
+package com.vorto.challenge.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link UsePool}. Ordered outside the transaction interceptor; the connection itself is only
+ * taken at the first statement (lazy proxy), by which time the pool is set.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UsePoolAspect {
+
+    @Around("@annotation(usePool)")
+    public Object onMethod(ProceedingJoinPoint pjp, UsePool usePool) throws Throwable {
+        return proceedWith(pjp, usePool.value());
+    }
+
+    @Around("@within(usePool) && !@annotation(com.vorto.challenge.datasource.UsePool)")
+    public Object onClass(ProceedingJoinPoint pjp, UsePool usePool) throws Throwable {
+        return proceedWith(pjp, usePool.value());
+    }
+
+    private static Object proceedWith(ProceedingJoinPoint pjp, DataSourceRole role) throws Throwable {
+        DataSourceRole previous = PoolContext.enter(role);
+        try {
+            return pjp.proceed();
+        } finally {
+            PoolContext.restore(previous);
+        }
+    }
+}
@@ -12,5 +12,10 @@ public enum ErrorCode {
     LOAD_STATE_CONFLICT,
     DATA_INTEGRITY_VIOLATION,
     ACCESS_DENIED,
+    IDEMPOTENCY_KEY_REUSED,
+    IDEMPOTENCY_KEY_IN_PROGRESS,
+    RATE_LIMITED,
+    SERVICE_BUSY,
+    CONCURRENT_MODIFICATION,
     INTERNAL_ERROR
 }
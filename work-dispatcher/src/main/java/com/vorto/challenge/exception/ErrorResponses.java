@@ -0,0 +1,25 @@
+package com.vorto.challenge.exception;
+
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/** Builds the standard {@link ErrorResponse} body, for exception handlers and result-mapping controllers alike. */
+public final class ErrorResponses {
+    private ErrorResponses() {}
+
+    public static ErrorResponse of(HttpStatus status, ErrorCode code, String message, String path,
+                                   Map<String, Object> details) {
+        return new ErrorResponse(
+                code.name(),
+                (message == null || message.isBlank()) ? status.getReasonPhrase() : message,
+                status.value(),
+                path,
+                MDC.get("correlationId"),
+                OffsetDateTime.now(),
+                (details == null || details.isEmpty()) ? null : details
+        );
+    }
+}
@@ -3,18 +3,19 @@ package com.vorto.challenge.exception;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
-import org.slf4j.MDC;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,15 +23,7 @@ import java.util.Map;
 public class GlobalExceptionHandler {
     private ResponseEntity<ErrorResponse> build(HttpStatus status, ErrorCode code, String message,
                                                 HttpServletRequest req, Map<String, Object> details) {
-        var body = new ErrorResponse(
-                code.name(),
-                (message == null || message.isBlank()) ? status.getReasonPhrase() : message,
-                status.value(),
-                req.getRequestURI(),
-                MDC.get("correlationId"),
-                OffsetDateTime.now(),
-                (details == null || details.isEmpty()) ? null : details
-        );
+        var body = ErrorResponses.of(status, code, message, req.getRequestURI(), details);
         return ResponseEntity.status(status).body(body);
     }
 
@@ -107,12 +100,39 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, ErrorCode.VALIDATION_ERROR, "Invalid request parameter", req, details);
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameter(MissingServletRequestParameterException ex,
+                                                                HttpServletRequest req) {
+        return build(HttpStatus.BAD_REQUEST, ErrorCode.VALIDATION_ERROR, "Missing request parameter", req,
+                Map.of("parameter", ex.getParameterName()));
+    }
+
     @ExceptionHandler(ErrorResponseException.class)
     public ResponseEntity<ErrorResponse> handleErrorResponseException(ErrorResponseException ex, HttpServletRequest req) {
         return build(HttpStatus.valueOf(ex.getStatusCode().value()),
                 ErrorCode.INTERNAL_ERROR, ex.getMessage(), req, null);
     }
 
+    /** The admin executor (streaming exports) is full. */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejected(TaskRejectedException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ErrorCode.SERVICE_BUSY,
+                "Too many concurrent admin requests; retry shortly", req, null);
+    }
+
+    /**
+     * Still losing optimistic-lock races after the service-level retries. Nothing was applied, so this is
+     * a 503 rather than a 409: the Idempotency-Key filter doesn't keep it and the client's retry runs again.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex,
+                                                              HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(ErrorResponses.of(HttpStatus.SERVICE_UNAVAILABLE, ErrorCode.CONCURRENT_MODIFICATION,
+                        "Concurrent update; retry the request", req.getRequestURI(), null));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, HttpServletRequest req) {
         return build(HttpStatus.INTERNAL_SERVER_ERROR, ErrorCode.INTERNAL_ERROR,
@@ -0,0 +1,234 @@
+package com.vorto.challenge.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vorto.challenge.config.IdempotencyProperties;
+import com.vorto.challenge.exception.ErrorCode;
+import com.vorto.challenge.exception.ErrorResponses;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the original response for retried mutating requests carrying an {@code Idempotency-Key}.
+ *
+ * A retry of a finished request is answered from {@link IdempotencyStore} without reaching the
+ * controller; a duplicate arriving while the original is still running waits for it. Responses
+ * below 500 are kept (a 409 is as much "the answer" as a 200); server errors, 429s from admission
+ * control and exceptions release the key so the next attempt runs again. Reusing a key for a
+ * different request is a 422.
+ *
+ * Keys are scoped to the driver in the path ({@code /api/drivers/{driverId}/...}), so two drivers' apps
+ * that happen to generate the same key never see each other's responses.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String DRIVER_SCOPE = "/api/drivers/{driverId}/**";
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties props;
+    private final ObjectMapper objectMapper;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties props, ObjectMapper objectMapper,
+                             MeterRegistry registry) {
+        this.store = store;
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.executed = outcome(registry, "executed");
+        this.replayed = outcome(registry, "replayed");
+        this.rejected = outcome(registry, "rejected");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) return true;
+        String path = path(request);
+        return props.paths().stream().noneMatch(p -> MATCHER.match(p, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            rejected.increment();
+            writeError(request, response, HttpStatus.BAD_REQUEST, ErrorCode.VALIDATION_ERROR,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        key = scopedKey(path(request), key);
+        CachedBodyRequest req = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(req);
+
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = store.claim(key, mine);
+            if (existing == null) {
+                executed.increment();
+                execute(req, response, chain, key, mine, fingerprint);
+                return;
+            }
+
+            StoredResponse prior;
+            try {
+                prior = existing.get(props.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                rejected.increment();
+                writeError(req, response, HttpStatus.CONFLICT, ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS,
+                        "A request with this " + HEADER + " is still being processed. Retry later.");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            if (prior == null) continue;  // original failed and released the key: run it ourselves
+
+            if (!prior.fingerprint().equals(fingerprint)) {
+                rejected.increment();
+                writeError(req, response, HttpStatus.UNPROCESSABLE_ENTITY, ErrorCode.IDEMPOTENCY_KEY_REUSED,
+                        HEADER + " was already used for a different request");
+                return;
+            }
+            replayed.increment();
+            replay(prior, response);
+            return;
+        }
+    }
+
+    private void execute(HttpServletRequest req, HttpServletResponse response, FilterChain chain, String key,
+                         CompletableFuture<StoredResponse> mine, String fingerprint)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper res = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(req, res);
+        } catch (ServletException | IOException | RuntimeException | Error e) {
+            store.abandon(key, mine);
+            throw e;
+        }
+        if (isFinal(res.getStatus())) {
+            store.complete(key, mine,
+                    new StoredResponse(fingerprint, res.getStatus(), res.getContentType(), res.getContentAsByteArray()));
+        } else {
+            store.abandon(key, mine);
+        }
+        res.copyBodyToResponse();
+    }
+
+    /**
+     * The store key: the client's key prefixed with the driver id from the path (handler mapping hasn't run
+     * yet, so the id comes from the URI rather than {@code DriverRequests}). Paths outside the driver API
+     * share one unscoped namespace.
+     */
+    static String scopedKey(String path, String key) {
+        if (!MATCHER.match(DRIVER_SCOPE, path)) return "-:" + key;
+        String raw = MATCHER.extractUriTemplateVariables(DRIVER_SCOPE, path).get("driverId");
+        try {
+            return UUID.fromString(raw) + ":" + key;
+        } catch (IllegalArgumentException e) {
+            return raw + ":" + key;  // malformed ids are rejected by the controller
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /** Whether a response is the request's answer, or it never ran (429) or may have failed midway (5xx). */
+    static boolean isFinal(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static void replay(StoredResponse prior, HttpServletResponse response) throws IOException {
+        response.setStatus(prior.status());
+        if (prior.contentType() != null) response.setContentType(prior.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(prior.body().length);
+        response.getOutputStream().write(prior.body());
+    }
+
+    private void writeError(HttpServletRequest req, HttpServletResponse response, HttpStatus status,
+                            ErrorCode code, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponses.of(status, code, message, req.getRequestURI(), null));
+    }
+
+    private static String fingerprint(CachedBodyRequest req) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return req.getMethod() + " " + req.getRequestURI() + " " + HexFormat.of().formatHex(sha.digest(req.body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("dispatch.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /** Buffers the (small, JSON) request body so it can be hashed and still be read by the controller. */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // the whole body is already in memory: it is available now and then done
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        if (isFinished()) listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+            };
+        }
+    }
+}
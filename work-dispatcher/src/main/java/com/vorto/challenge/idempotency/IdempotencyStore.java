@@ -0,0 +1,100 @@
+package com.vorto.challenge.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vorto.challenge.config.IdempotencyProperties;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Responses by idempotency key: a bounded in-memory map of futures, optionally backed by the
+ * {@code idempotency_keys} table.
+ *
+ * The first request for a key {@link #claim claims} it with an incomplete future and either
+ * {@link #complete completes} it with its response or {@link #abandon abandons} it (server error),
+ * in which case waiting duplicates are released to run themselves. In-flight coordination is
+ * per node; the table only serves keys whose original already finished.
+ */
+@Component
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    private final JdbcTemplate jdbc;
+    private final IdempotencyProperties props;
+
+    public IdempotencyStore(JdbcTemplate jdbc, IdempotencyProperties props) {
+        this.jdbc = jdbc;
+        this.props = props;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(props.maxEntries())
+                .expireAfterWrite(props.ttl())
+                .build();
+    }
+
+    /**
+     * Claims {@code key} for the caller with {@code mine}. Returns null if the claim succeeded,
+     * otherwise the existing (possibly still running) entry.
+     */
+    public CompletableFuture<StoredResponse> claim(String key, CompletableFuture<StoredResponse> mine) {
+        CompletableFuture<StoredResponse> existing = responses.asMap().putIfAbsent(key, mine);
+        if (existing != null || !props.persistent()) return existing;
+
+        StoredResponse persisted = findPersisted(key);
+        if (persisted == null) return null;
+        mine.complete(persisted);
+        return mine;
+    }
+
+    public void complete(String key, CompletableFuture<StoredResponse> mine, StoredResponse response) {
+        mine.complete(response);
+        if (props.persistent()) persist(key, response);
+    }
+
+    /** Releases the key; waiters see null and run the request themselves. */
+    public void abandon(String key, CompletableFuture<StoredResponse> mine) {
+        responses.asMap().remove(key, mine);
+        mine.complete(null);
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.idempotency.purge-interval:1h}")
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void purgeExpired() {
+        if (!props.persistent()) return;
+        int purged = jdbc.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+                Timestamp.from(Instant.now().minus(props.ttl())));
+        if (purged > 0) log.debug("Purged {} expired idempotency keys", purged);
+    }
+
+    private StoredResponse findPersisted(String key) {
+        List<StoredResponse> rows = jdbc.query(
+                "SELECT fingerprint, status, content_type, body FROM idempotency_keys "
+                        + "WHERE idem_key = ? AND created_at >= ?",
+                (rs, i) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getBytes(4)),
+                key, Timestamp.from(Instant.now().minus(props.ttl())));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void persist(String key, StoredResponse r) {
+        try {
+            jdbc.update("""
+                    INSERT INTO idempotency_keys (idem_key, fingerprint, status, content_type, body)
+                    VALUES (?, ?, ?, ?, ?)
+                    ON CONFLICT (idem_key) DO NOTHING""",
+                    key, r.fingerprint(), r.status(), r.contentType(), r.body());
+        } catch (RuntimeException e) {
+            // the in-memory entry still covers retries to this node
+            log.warn("Could not persist idempotency key {}", key, e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.vorto.challenge.idempotency;
+
+/**
+ * A completed response kept for replay.
+ *
+ * @param fingerprint method, path and body hash of the original request; a retry must match it
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {}
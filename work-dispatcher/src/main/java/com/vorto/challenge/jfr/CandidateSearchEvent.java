@@ -0,0 +1,58 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/** A whole reserve: every attempt until a load is reserved, none is left, or retries run out. */
+@Name(DispatchEvents.CANDIDATE_SEARCH)
+@Label("Candidate Search")
+@Category({DispatchEvents.CATEGORY, "Assignment"})
+@Description("Finding and reserving a load for a driver (DRIVER_FIRST) or a driver for a new load (LOAD_FIRST)")
+@StackTrace(false)
+public class CandidateSearchEvent extends Event {
+    public static final String DRIVER_FIRST = "DRIVER_FIRST";
+    public static final String LOAD_FIRST = "LOAD_FIRST";
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Driver Id")
+    public String driverId;
+
+    @Label("Load Id")
+    public String loadId;
+
+    @Label("Attempts")
+    public int attempts;
+
+    @Label("Reserved")
+    public boolean reserved;
+
+    @Label("Distance (km)")
+    @Description("Driver to pickup, great-circle; NaN when nothing was reserved or the driver position is not known here")
+    public double distanceKm = Double.NaN;
+
+    public static CandidateSearchEvent start(String mode) {
+        CandidateSearchEvent event = new CandidateSearchEvent();
+        event.mode = mode;
+        event.begin();
+        return event;
+    }
+
+    public void finish(UUID driverId, UUID loadId, int attempts, boolean reserved, double distanceKm) {
+        end();
+        if (!shouldCommit()) return;
+        this.driverId = driverId == null ? null : driverId.toString();
+        this.loadId = loadId == null ? null : loadId.toString();
+        this.attempts = attempts;
+        this.reserved = reserved;
+        this.distanceKm = distanceKm;
+        commit();
+    }
+}
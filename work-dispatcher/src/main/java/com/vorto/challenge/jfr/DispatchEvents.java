@@ -0,0 +1,18 @@
+package com.vorto.challenge.jfr;
+
+/**
+ * Names shared by the dispatch JFR events, so recordings, the bundled {@code dispatch.jfc} and
+ * {@link JfrSummary} agree. Events cost a field check while no recording has them enabled.
+ */
+public final class DispatchEvents {
+    public static final String PREFIX = "com.vorto.dispatch.";
+    public static final String CATEGORY = "Dispatch";
+
+    public static final String CANDIDATE_SEARCH = PREFIX + "CandidateSearch";
+    public static final String RESERVATION_ATTEMPT = PREFIX + "ReservationAttempt";
+    public static final String EXPIRED_RELEASE = PREFIX + "ExpiredRelease";
+    public static final String LOAD_CREATE = PREFIX + "LoadCreate";
+    public static final String SHIFT_CHANGE = PREFIX + "ShiftChange";
+
+    private DispatchEvents() {}
+}
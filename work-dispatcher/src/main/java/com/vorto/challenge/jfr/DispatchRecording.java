@@ -0,0 +1,64 @@
+package com.vorto.challenge.jfr;
+
+import com.vorto.challenge.config.JfrProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+/**
+ * Runs the bundled flight recording for the life of the process when {@code dispatch.jfr.enabled=true}.
+ * The recording keeps a rolling window on disk and is written to {@code destination} on shutdown.
+ */
+@Component
+@ConditionalOnProperty(prefix = "dispatch.jfr", name = "enabled", havingValue = "true")
+public class DispatchRecording {
+    private static final Logger log = LoggerFactory.getLogger(DispatchRecording.class);
+    public static final String NAME = "dispatch";
+
+    private final JfrProperties props;
+    private final ResourceLoader resources;
+    private Recording recording;
+
+    public DispatchRecording(JfrProperties props, ResourceLoader resources) {
+        this.props = props;
+        this.resources = resources;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        Configuration config;
+        try (Reader in = new InputStreamReader(resources.getResource(props.settings()).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            config = Configuration.create(in);
+        }
+        recording = new Recording(config);
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(props.maxAge());
+        recording.setMaxSize(props.maxSize().toBytes());
+        recording.setDestination(props.destination());
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info("Flight recording '{}' started ({}; dumps to {})", NAME, config.getLabel(),
+                props.destination().toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording == null) return;
+        recording.stop();  // writes the destination file
+        recording.close();
+    }
+}
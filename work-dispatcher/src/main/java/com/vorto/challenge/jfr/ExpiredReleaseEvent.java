@@ -0,0 +1,41 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Lapsed (or abandoned) reservations returned to AWAITING_DRIVER, by whoever noticed first. */
+@Name(DispatchEvents.EXPIRED_RELEASE)
+@Label("Expired Reservations Released")
+@Category({DispatchEvents.CATEGORY, "Assignment"})
+@StackTrace(false)
+public class ExpiredReleaseEvent extends Event {
+    /** A driver request found its own reservation expired. */
+    public static final String REQUEST = "REQUEST";
+    public static final String WHEEL = "WHEEL";
+    public static final String SWEEP = "SWEEP";
+    /** Held by a driver the stale-driver detector found silent; released before the TTL. */
+    public static final String STALE_DRIVER = "STALE_DRIVER";
+
+    @Label("Source")
+    public String source;
+
+    @Label("Released")
+    public int released;
+
+    public static ExpiredReleaseEvent start() {
+        ExpiredReleaseEvent event = new ExpiredReleaseEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String source, int released) {
+        end();
+        if (released == 0 || !shouldCommit()) return;
+        this.source = source;
+        this.released = released;
+        commit();
+    }
+}
@@ -0,0 +1,200 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarises a {@code .jfr} file recorded with {@code dispatch.jfc}: latency of each dispatch event,
+ * reservation race outcomes, expired releases, CPU hot spots and the longest lock/park/socket waits,
+ * each attributed to the first application frame so they map back to dispatch code.
+ * Needs only the compiled classes:
+ * <pre>
+ * java -cp target/classes com.vorto.challenge.jfr.JfrSummary dispatch.jfr [--top=15]
+ * </pre>
+ */
+public final class JfrSummary {
+    private static final String APP_PACKAGE = "com.vorto.";
+
+    private final Map<String, Samples> dispatchLatency = new TreeMap<>();
+    private final Map<String, Long> attemptOutcomes = new TreeMap<>();
+    private final Map<String, Long> expiredBySource = new TreeMap<>();
+    private final Map<String, Samples> searchDistance = new TreeMap<>();
+    private final Map<String, Long> hotFrames = new HashMap<>();
+    private final Map<String, Long> hotAppFrames = new HashMap<>();
+    private final Map<String, Samples> waits = new HashMap<>();
+    private long executionSamples;
+
+    public static JfrSummary read(Path file) throws IOException {
+        JfrSummary summary = new JfrSummary();
+        try (RecordingFile in = new RecordingFile(file)) {
+            while (in.hasMoreEvents()) summary.accept(in.readEvent());
+        }
+        return summary;
+    }
+
+    void accept(RecordedEvent e) {
+        String type = e.getEventType().getName();
+        if (type.startsWith(DispatchEvents.PREFIX)) {
+            acceptDispatch(type.substring(DispatchEvents.PREFIX.length()), e);
+            return;
+        }
+        switch (type) {
+            case "jdk.ExecutionSample" -> {
+                executionSamples++;
+                RecordedStackTrace st = e.getStackTrace();
+                if (st == null || st.getFrames().isEmpty()) return;
+                hotFrames.merge(frameName(st.getFrames().get(0)), 1L, Long::sum);
+                String app = firstAppFrame(st);
+                if (app != null) hotAppFrames.merge(app, 1L, Long::sum);
+            }
+            case "jdk.JavaMonitorEnter" -> waited("monitor " + className(e.getClass("monitorClass")), e);
+            case "jdk.JavaMonitorWait" -> waited("wait " + className(e.getClass("monitorClass")), e);
+            case "jdk.ThreadPark" -> waited("park " + className(e.getClass("parkedClass")), e);
+            case "jdk.SocketRead" -> waited("socket-read " + e.getString("host") + ":" + e.getInt("port"), e);
+            case "jdk.SocketWrite" -> waited("socket-write " + e.getString("host") + ":" + e.getInt("port"), e);
+            default -> { }
+        }
+    }
+
+    private void acceptDispatch(String name, RecordedEvent e) {
+        dispatchLatency.computeIfAbsent(name, k -> new Samples()).add(millis(e));
+        switch (name) {
+            case "ReservationAttempt" -> attemptOutcomes.merge(e.getString("mode") + " " + e.getString("outcome"), 1L, Long::sum);
+            case "ExpiredRelease" -> expiredBySource.merge(e.getString("source"), (long) e.getInt("released"), Long::sum);
+            case "CandidateSearch" -> {
+                double km = e.getDouble("distanceKm");
+                if (!Double.isNaN(km)) searchDistance.computeIfAbsent(e.getString("mode"), k -> new Samples()).add(km);
+            }
+            default -> { }
+        }
+    }
+
+    private void waited(String what, RecordedEvent e) {
+        String app = e.getStackTrace() == null ? null : firstAppFrame(e.getStackTrace());
+        waits.computeIfAbsent(app == null ? what : what + " <- " + app, k -> new Samples()).add(millis(e));
+    }
+
+    public long dispatchEvents(String name) {
+        Samples s = dispatchLatency.get(name);
+        return s == null ? 0 : s.size;
+    }
+
+    public Map<String, Long> attemptOutcomes() {
+        return attemptOutcomes;
+    }
+
+    public Map<String, Long> expiredBySource() {
+        return expiredBySource;
+    }
+
+    public void print(PrintStream out, int top) {
+        out.println("== Dispatch events (ms) ==");
+        out.printf(Locale.ROOT, "%-22s %8s %9s %9s %9s %9s%n", "event", "count", "p50", "p95", "p99", "max");
+        dispatchLatency.forEach((name, s) -> out.printf(Locale.ROOT, "%-22s %8d %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.size, s.quantile(0.50), s.quantile(0.95), s.quantile(0.99), s.max()));
+
+        out.println();
+        out.println("== Reservation attempts ==");
+        long attempts = attemptOutcomes.values().stream().mapToLong(Long::longValue).sum();
+        attemptOutcomes.forEach((k, n) -> out.printf(Locale.ROOT, "%-28s %8d  %5.1f%%%n", k, n, 100.0 * n / attempts));
+        searchDistance.forEach((mode, s) -> out.printf(Locale.ROOT, "%s pickup distance km: p50 %.2f  p95 %.2f  max %.2f%n",
+                mode, s.quantile(0.50), s.quantile(0.95), s.max()));
+        expiredBySource.forEach((src, n) -> out.printf(Locale.ROOT, "expired released by %-12s %8d%n", src, n));
+
+        out.println();
+        out.printf(Locale.ROOT, "== CPU: top frames (%d samples) ==%n", executionSamples);
+        printCounts(out, hotFrames, top);
+        out.println("-- first application frame --");
+        printCounts(out, hotAppFrames, top);
+
+        out.println();
+        out.println("== Waits over threshold, by total time (ms) ==");
+        out.printf(Locale.ROOT, "%9s %7s %9s  %s%n", "total", "count", "max", "what <- where");
+        waits.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Samples> en) -> en.getValue().total).reversed())
+                .limit(top)
+                .forEach(en -> out.printf(Locale.ROOT, "%9.1f %7d %9.1f  %s%n",
+                        en.getValue().total, en.getValue().size, en.getValue().max(), en.getKey()));
+    }
+
+    private void printCounts(PrintStream out, Map<String, Long> counts, int top) {
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(top)
+                .forEach(en -> out.printf(Locale.ROOT, "%7d  %5.1f%%  %s%n", en.getValue(),
+                        executionSamples == 0 ? 0 : 100.0 * en.getValue() / executionSamples, en.getKey()));
+    }
+
+    private static String firstAppFrame(RecordedStackTrace st) {
+        for (RecordedFrame f : st.getFrames()) {
+            if (f.isJavaFrame() && f.getMethod().getType().getName().startsWith(APP_PACKAGE)) return frameName(f);
+        }
+        return null;
+    }
+
+    private static String frameName(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName();
+    }
+
+    private static String className(RecordedClass c) {
+        return c == null ? "?" : c.getName();
+    }
+
+    private static double millis(RecordedEvent e) {
+        return e.getDuration().toNanos() / 1e6;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = Arrays.stream(args).filter(a -> !a.startsWith("--")).toList();
+        if (files.size() != 1) {
+            System.err.println("Usage: JfrSummary <recording.jfr> [--top=15]");
+            System.exit(2);
+        }
+        int top = Arrays.stream(args).filter(a -> a.startsWith("--top="))
+                .mapToInt(a -> Integer.parseInt(a.substring("--top=".length()))).findFirst().orElse(15);
+        read(Path.of(files.get(0))).print(System.out, top);
+    }
+
+    /** Growable list of values; quantiles sort on demand. */
+    private static final class Samples {
+        private double[] values = new double[16];
+        private int size;
+        private boolean sorted = true;
+        private double total;
+
+        void add(double v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+            total += v;
+            sorted = false;
+        }
+
+        double quantile(double q) {
+            if (size == 0) return Double.NaN;
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+            int i = (int) Math.ceil(q * size) - 1;  // nearest rank
+            return values[Math.max(0, Math.min(size - 1, i))];
+        }
+
+        double max() {
+            return quantile(1.0);
+        }
+    }
+}
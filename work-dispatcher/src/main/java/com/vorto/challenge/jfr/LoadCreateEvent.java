@@ -0,0 +1,38 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/** Creating a load, including the immediate try to reserve it for the closest idle driver. */
+@Name(DispatchEvents.LOAD_CREATE)
+@Label("Load Create")
+@Category({DispatchEvents.CATEGORY, "Loads"})
+@StackTrace(false)
+public class LoadCreateEvent extends Event {
+    @Label("Load Id")
+    public String loadId;
+
+    @Label("Status")
+    @Description("Status after auto-assignment: RESERVED when a driver was found")
+    public String status;
+
+    public static LoadCreateEvent start() {
+        LoadCreateEvent event = new LoadCreateEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(UUID loadId, String status) {
+        end();
+        if (!shouldCommit()) return;
+        this.loadId = loadId.toString();
+        this.status = status;
+        commit();
+    }
+}
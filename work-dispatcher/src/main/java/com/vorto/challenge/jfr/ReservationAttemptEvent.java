@@ -0,0 +1,45 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One single-statement reserve (nearest-candidate lookup, row lock and update) and how the race went. */
+@Name(DispatchEvents.RESERVATION_ATTEMPT)
+@Label("Reservation Attempt")
+@Category({DispatchEvents.CATEGORY, "Assignment"})
+@StackTrace(false)
+public class ReservationAttemptEvent extends Event {
+    public static final String RESERVED = "RESERVED";
+    public static final String NO_CANDIDATE = "NO_CANDIDATE";
+    /** The one-open-load-per-driver index tripped: a concurrent request won. */
+    public static final String LOST_RACE = "LOST_RACE";
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Outcome")
+    @Description("RESERVED, NO_CANDIDATE or LOST_RACE")
+    public String outcome;
+
+    public static ReservationAttemptEvent start() {
+        ReservationAttemptEvent event = new ReservationAttemptEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String mode, int attempt, String outcome) {
+        end();
+        if (!shouldCommit()) return;
+        this.mode = mode;
+        this.attempt = attempt;
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,43 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/** A shift start or end request and its result. */
+@Name(DispatchEvents.SHIFT_CHANGE)
+@Label("Shift Change")
+@Category({DispatchEvents.CATEGORY, "Shifts"})
+@StackTrace(false)
+public class ShiftChangeEvent extends Event {
+    public static final String START = "START";
+    public static final String END = "END";
+
+    @Label("Action")
+    public String action;
+
+    @Label("Driver Id")
+    public String driverId;
+
+    @Label("Outcome")
+    public String outcome;
+
+    public static ShiftChangeEvent start(String action) {
+        ShiftChangeEvent event = new ShiftChangeEvent();
+        event.action = action;
+        event.begin();
+        return event;
+    }
+
+    public void finish(UUID driverId, String outcome) {
+        end();
+        if (!shouldCommit()) return;
+        this.driverId = driverId.toString();
+        this.outcome = outcome;
+        commit();
+    }
+}
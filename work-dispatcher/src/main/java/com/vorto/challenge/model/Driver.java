@@ -1,8 +1,12 @@
 package com.vorto.challenge.model;
 
+import com.vorto.challenge.common.UuidV7ValueGenerator;
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 import org.locationtech.jts.geom.Point;
 
@@ -12,9 +16,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "drivers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // inert unless the "perf" profile enables the L2 cache
 public class Driver {
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7ValueGenerator.class) // time-ordered: appends to the pk/fk indexes
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -27,6 +34,10 @@ public class Driver {
     @Column(nullable = false)
     private boolean onShift = false;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "driver", cascade = CascadeType.ALL, orphanRemoval = false)
     private List<Shift> shifts = new ArrayList<>();
 
@@ -61,4 +72,8 @@ public class Driver {
     public void setOnShift(boolean onShift) {
         this.onShift = onShift;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
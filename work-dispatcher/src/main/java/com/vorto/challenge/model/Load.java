@@ -1,8 +1,10 @@
 package com.vorto.challenge.model;
 
 
+import com.vorto.challenge.common.UuidV7ValueGenerator;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 import org.locationtech.jts.geom.Point;
 
@@ -18,6 +20,7 @@ public class Load {
 
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7ValueGenerator.class) // time-ordered: appends to the pk/fk indexes
     private UUID id;
 
     @JdbcTypeCode(SqlTypes.GEOMETRY)
@@ -51,6 +54,23 @@ public class Load {
     @Column(name = "reservation_expires_at")
     private Instant reservationExpiresAt;
 
+    // Set on dropoff, when assignedDriver is cleared; lets a replayed stop recognise its own driver
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "completed_by_driver_id", foreignKey = @ForeignKey(name = "fk_loads_completed_by"))
+    private Driver completedBy;
+
+    // 0 = normal ... 3 = most urgent; weighs against distance when ranking reservations
+    @Column(name = "priority", nullable = false)
+    private short priority;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Bumped on every write, by Hibernate and by the native reserve/release statements
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // ---- getters/setters ----
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -73,6 +93,17 @@ public class Load {
     public Shift getAssignedShift() { return assignedShift; }
     public void setAssignedShift(Shift assignedShift) { this.assignedShift = assignedShift; }
 
+    public Driver getCompletedBy() { return completedBy; }
+    public void setCompletedBy(Driver completedBy) { this.completedBy = completedBy; }
+
     public Instant getReservationExpiresAt() { return reservationExpiresAt; }
     public void setReservationExpiresAt(Instant reservationExpiresAt) { this.reservationExpiresAt = reservationExpiresAt; }
+
+    public short getPriority() { return priority; }
+    public void setPriority(short priority) { this.priority = priority; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public long getVersion() { return version; }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.vorto.challenge.model;
 
+import com.vorto.challenge.common.UuidV7ValueGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.locationtech.jts.geom.Point;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
@@ -10,10 +14,13 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "shifts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // inert unless the "perf" profile enables the L2 cache
 public class Shift {
 
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7ValueGenerator.class) // time-ordered: appends to the pk/fk indexes
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -31,6 +38,9 @@ public class Shift {
     @Column(nullable = false, columnDefinition = "geometry(Point,4326)")
     private Point startLocation;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
 
     public UUID getId() {
         return id;
@@ -71,4 +81,8 @@ public class Shift {
     public void setStartLocation(Point startLocation) {
         this.startLocation = startLocation;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
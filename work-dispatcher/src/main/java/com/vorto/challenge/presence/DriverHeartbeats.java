@@ -0,0 +1,89 @@
+package com.vorto.challenge.presence;
+
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last-seen times of drivers, buffered in memory and written to {@code drivers.last_seen_at} in batches.
+ *
+ * A request only overwrites its driver's map entry, so a driver polling every few seconds costs one
+ * row update per flush, not one per request. The flush never moves a timestamp backwards (another
+ * node may have written a newer one) and leaves the entity version alone: a heartbeat must not make
+ * a concurrent shift or stop change fail its optimistic check.
+ */
+@Component
+public class DriverHeartbeats {
+    private static final Logger log = LoggerFactory.getLogger(DriverHeartbeats.class);
+    private static final int FLUSH_BATCH = 1000;
+
+    private static final String FLUSH = """
+        UPDATE drivers d
+        SET last_seen_at = to_timestamp(v.seen_ms / 1000.0)
+        FROM unnest(?::uuid[], ?::bigint[]) AS v(id, seen_ms)
+        WHERE d.id = v.id
+          AND (d.last_seen_at IS NULL OR d.last_seen_at < to_timestamp(v.seen_ms / 1000.0))
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final ConcurrentHashMap<UUID, Long> pending = new ConcurrentHashMap<>();
+
+    public DriverHeartbeats(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void touch(UUID driverId) {
+        pending.put(driverId, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.presence.flush-interval:5s}")
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void flush() {
+        if (pending.isEmpty()) return;
+        List<Map.Entry<UUID, Long>> drained = new ArrayList<>(pending.size());
+        for (UUID id : pending.keySet()) {
+            Long seen = pending.remove(id);
+            if (seen != null) drained.add(Map.entry(id, seen));
+        }
+        // Same row order on every node, so concurrent flushes can't deadlock each other
+        drained.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+        for (int from = 0; from < drained.size(); from += FLUSH_BATCH) {
+            List<Map.Entry<UUID, Long>> batch = drained.subList(from, Math.min(drained.size(), from + FLUSH_BATCH));
+            try {
+                jdbc.update(con -> statement(con, batch));
+            } catch (DataAccessException e) {
+                // Put them back unless the driver has been seen again since; the next flush retries
+                batch.forEach(en -> pending.merge(en.getKey(), en.getValue(), Math::max));
+                log.warn("Heartbeat flush of {} drivers failed; will retry", batch.size(), e);
+            }
+        }
+    }
+
+    private static PreparedStatement statement(Connection con, List<Map.Entry<UUID, Long>> batch)
+            throws java.sql.SQLException {
+        UUID[] ids = new UUID[batch.size()];
+        Long[] seen = new Long[batch.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = batch.get(i).getKey();
+            seen[i] = batch.get(i).getValue();
+        }
+        PreparedStatement ps = con.prepareStatement(FLUSH);
+        ps.setArray(1, con.createArrayOf("uuid", ids));
+        ps.setArray(2, con.createArrayOf("int8", seen));
+        return ps;
+    }
+}
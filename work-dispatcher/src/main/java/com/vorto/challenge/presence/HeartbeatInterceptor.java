@@ -0,0 +1,27 @@
+package com.vorto.challenge.presence;
+
+import com.vorto.challenge.common.DriverRequests;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.UUID;
+
+/**
+ * Records a heartbeat for the driver named in the path of every driver API call, rate-limited ones
+ * included (the device is alive either way). Costs a map write; see {@link DriverHeartbeats}.
+ */
+public class HeartbeatInterceptor implements HandlerInterceptor {
+    private final DriverHeartbeats heartbeats;
+
+    public HeartbeatInterceptor(DriverHeartbeats heartbeats) {
+        this.heartbeats = heartbeats;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UUID driverId = DriverRequests.driverId(request);
+        if (driverId != null) heartbeats.touch(driverId);
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.vorto.challenge.presence;
+
+import com.vorto.challenge.config.PresenceProperties;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.jfr.ExpiredReleaseEvent;
+import com.vorto.challenge.repository.DriverRepository;
+import com.vorto.challenge.repository.LoadRepository;
+import com.vorto.challenge.scheduling.ReservationExpiryWheel;
+import com.vorto.challenge.scheduling.ReservationsExpiredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds on-shift drivers whose app has gone quiet and frees the loads reserved for them.
+ *
+ * A driver is stale once neither a heartbeat nor their shift start is newer than
+ * {@code dispatch.presence.silence}. Staleness is derived from {@code last_seen_at} rather than
+ * stored: load-first assignment skips stale drivers with the same rule, and a driver who comes back
+ * is available again with their next request. Their shift stays open; IN_PROGRESS loads stay with
+ * them, since the freight is physically on their truck.
+ */
+@Component
+public class StaleDriverDetector {
+    private static final Logger log = LoggerFactory.getLogger(StaleDriverDetector.class);
+
+    private final LoadRepository loadRepository;
+    private final DriverRepository driverRepository;
+    private final ReservationExpiryWheel expiryWheel;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final Duration silence;
+    private final AtomicLong stale = new AtomicLong();
+    private final Counter released;
+
+    public StaleDriverDetector(LoadRepository loadRepository, DriverRepository driverRepository,
+                               ReservationExpiryWheel expiryWheel, ApplicationEventPublisher events,
+                               PlatformTransactionManager txManager, PresenceProperties props,
+                               MeterRegistry meterRegistry) {
+        this.loadRepository = loadRepository;
+        this.driverRepository = driverRepository;
+        this.expiryWheel = expiryWheel;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.silence = props.silence();
+        Gauge.builder("dispatch.drivers.stale", stale, AtomicLong::get)
+                .description("On-shift drivers silent for longer than dispatch.presence.silence (last check)")
+                .register(meterRegistry);
+        this.released = Counter.builder("dispatch.drivers.stale.released")
+                .description("Reservations taken back from silent drivers before their TTL")
+                .register(meterRegistry);
+    }
+
+    // First check waits a full silence period, so every live driver has had time to check in
+    @Scheduled(fixedDelayString = "${dispatch.presence.check-interval:15s}",
+            initialDelayString = "${dispatch.presence.silence:2m}")
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void check() {
+        Instant cutoff = Instant.now().minus(silence);
+        stale.set(driverRepository.countSilentOnShift(cutoff));
+
+        ExpiredReleaseEvent event = ExpiredReleaseEvent.start();
+        List<UUID> freed = tx.execute(s -> loadRepository.releaseHeldBySilentDrivers(cutoff));
+        event.finish(ExpiredReleaseEvent.STALE_DRIVER, freed == null ? 0 : freed.size());
+        if (freed == null || freed.isEmpty()) return;
+        freed.forEach(expiryWheel::cancel);
+        released.increment(freed.size());
+        log.info("Released {} reservations held by {} silent drivers", freed.size(), stale.get());
+        events.publishEvent(new ReservationsExpiredEvent(freed));
+    }
+}
@@ -1,42 +1,84 @@
 package com.vorto.challenge.repository;
 
 import com.vorto.challenge.model.Driver;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DriverRepository extends JpaRepository<Driver, UUID> {
-    Optional<Driver> findByNameIgnoreCase(String username);
-    boolean existsByNameIgnoreCase(String username);
+    // Login lookup; lower(name) matches uq_drivers_name_lower (a derived IgnoreCase query emits upper()).
+    // Served from the query cache when the "perf" profile is active.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select d from Driver d where lower(d.name) = lower(:username)")
+    Optional<Driver> findByNameIgnoreCase(@Param("username") String username);
+
+    interface ShiftCounts {
+        long getOnShift();
+        long getIdle();
+    }
+
+    // Reconciliation source for the dashboard counters; idle = on shift with no RESERVED/IN_PROGRESS load
+    @Query(value = """
+        SELECT count(*) AS "onShift",
+               count(*) FILTER (WHERE NOT EXISTS (
+                   SELECT 1 FROM loads l
+                   WHERE l.assigned_driver_id = d.id
+                     AND l.status IN ('RESERVED','IN_PROGRESS'))) AS "idle"
+        FROM drivers d
+        WHERE d.on_shift = TRUE
+        """, nativeQuery = true)
+    ShiftCounts countOnShiftAndIdle();
+
+    // On-shift drivers not heard from since :cutoff; same staleness rule as LoadRepository.releaseHeldBySilentDrivers
+    @Query(value = """
+        SELECT count(*)
+        FROM drivers d
+        JOIN shifts s ON s.driver_id = d.id AND s.end_time IS NULL
+        WHERE d.on_shift = TRUE
+          AND GREATEST(d.last_seen_at, s.start_time) < :cutoff
+        """, nativeQuery = true)
+    long countSilentOnShift(@Param("cutoff") Instant cutoff);
+
+    interface DriverCell {
+        UUID getId();
+        int getCx();
+        int getCy();
+    }
+
+    // Grid cell of every on-shift driver (same cells as LoadRepository.countAwaitingByCell)
+    @Query(value = """
+        SELECT d.id                                         AS "id",
+               floor(ST_X(d.current_location) / :cell)::int AS "cx",
+               floor(ST_Y(d.current_location) / :cell)::int AS "cy"
+        FROM drivers d
+        WHERE d.on_shift = TRUE AND d.current_location IS NOT NULL
+        """, nativeQuery = true)
+    List<DriverCell> findOnShiftCells(@Param("cell") double cell);
+
+    @Query(value = "SELECT d.id FROM drivers d WHERE lower(d.name) = lower(:name)", nativeQuery = true)
+    Optional<UUID> findIdByName(@Param("name") String name);
+
+    /**
+     * Race-free create for login: concurrent inserts of the same name block on the unique index
+     * and all but one become no-ops. Returns 1 if this call created the row, 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "drivers"))
     @Query(value = """
-    SELECT d.*
-    FROM drivers d
-    WHERE d.on_shift = TRUE
-      AND d.current_location IS NOT NULL
-      -- has an active shift
-      AND EXISTS (
-          SELECT 1 FROM shifts s
-          WHERE s.driver_id = d.id
-            AND s.end_time IS NULL
-      )
-      -- no open load (RESERVED/IN_PROGRESS)
-      AND NOT EXISTS (
-          SELECT 1 FROM loads l
-          WHERE l.assigned_driver_id = d.id
-            AND l.status IN ('RESERVED','IN_PROGRESS')
-      )
-    ORDER BY ST_Distance(
-              d.current_location::geography,
-              ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
-    )
-    LIMIT 1
-    FOR UPDATE SKIP LOCKED
-    """, nativeQuery = true)
-    Optional<Driver> findClosestAvailableDriver(@Param("lat") double lat,
-                                                @Param("lng") double lng);
+        INSERT INTO drivers (id, name, on_shift)
+        VALUES (:id, :name, FALSE)
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("name") String name);
 }
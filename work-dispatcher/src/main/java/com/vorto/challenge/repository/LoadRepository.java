@@ -1,18 +1,22 @@
 package com.vorto.challenge.repository;
 
 import com.vorto.challenge.model.Load;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface LoadRepository extends JpaRepository<Load, UUID> {
+public interface LoadRepository extends JpaRepository<Load, UUID>, LoadRepositoryCustom {
 
 
     @Query("""
@@ -23,22 +27,68 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
     Optional<Load> findOpenByDriverId(UUID driverId,
                                       java.util.Collection<com.vorto.challenge.model.Load.Status> statuses);
 
-    // Inline cleanup for expired reservations
-    @Modifying
+    // Backstop sweep for expired reservations; returns the released ids
     @Query(value = """
         UPDATE loads
         SET status = 'AWAITING_DRIVER',
             assigned_driver_id = NULL,
             assigned_shift_id  = NULL,
-            reservation_expires_at = NULL
+            reservation_expires_at = NULL,
+            version = version + 1
         WHERE status = 'RESERVED'
           AND reservation_expires_at <= :now
+        RETURNING id
         """, nativeQuery = true)
-    int releaseExpiredReservations(Instant now);
+    List<UUID> releaseExpiredReservations(@Param("now") Instant now);
+
+    // Targeted release of reservations the expiry wheel reports as due; ignores loads picked up or re-reserved since
+    @Query(value = """
+        UPDATE loads
+        SET status = 'AWAITING_DRIVER',
+            assigned_driver_id = NULL,
+            assigned_shift_id  = NULL,
+            reservation_expires_at = NULL,
+            version = version + 1
+        WHERE id IN (:ids)
+          AND status = 'RESERVED'
+          AND reservation_expires_at <= :now
+        RETURNING id
+        """, nativeQuery = true)
+    List<UUID> releaseExpiredByIds(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
+    // Reservations held by on-shift drivers not heard from since :cutoff (a shift start counts as a heartbeat)
+    @Query(value = """
+        UPDATE loads l
+        SET status = 'AWAITING_DRIVER',
+            assigned_driver_id = NULL,
+            assigned_shift_id  = NULL,
+            reservation_expires_at = NULL,
+            version = l.version + 1
+        FROM drivers d
+        JOIN shifts s ON s.driver_id = d.id AND s.end_time IS NULL
+        WHERE l.assigned_driver_id = d.id
+          AND l.status = 'RESERVED'
+          AND GREATEST(d.last_seen_at, s.start_time) < :cutoff
+        RETURNING l.id
+        """, nativeQuery = true)
+    List<UUID> releaseHeldBySilentDrivers(@Param("cutoff") Instant cutoff);
+
+    interface ReservationDeadline {
+        UUID getId();
+        Instant getExpiresAt();
+    }
+
+    @Query(value = """
+        SELECT id AS "id", reservation_expires_at AS "expiresAt"
+        FROM loads
+        WHERE status = 'RESERVED'
+          AND reservation_expires_at IS NOT NULL
+        """, nativeQuery = true)
+    List<ReservationDeadline> findReservationDeadlines();
 
     /**
      * Select the closest available AWAITING_DRIVER load (excludeId optional),
-     * order by sphere distance (meters), and lock row to avoid races.
+     * order by sphere distance (KNN on the stored pickup_geog), and lock row to avoid races.
      */
     @Query(value = """
     WITH candidate AS (
@@ -46,10 +96,7 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
       FROM loads
       WHERE status = 'AWAITING_DRIVER'
         AND (:excludeId IS NULL OR id <> :excludeId)
-      ORDER BY ST_Distance(
-               pickup::geography,
-               ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
-      )
+      ORDER BY pickup_geog <-> ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
       LIMIT 1
       FOR UPDATE SKIP LOCKED
     )
@@ -61,6 +108,149 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
     @EntityGraph(attributePaths = {"assignedDriver"})
     List<Load> findAll();
 
+    /**
+     * Server-side cursor over every load (optionally one status) as flat rows.
+     * Must be consumed inside a transaction; pgjdbc only honors the fetch size with autocommit off.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+        SELECT l.id                  AS "id",
+               l.status::text        AS "status",
+               l.current_stop::text  AS "currentStop",
+               ST_Y(l.pickup)        AS "pickupLat",
+               ST_X(l.pickup)        AS "pickupLng",
+               ST_Y(l.dropoff)       AS "dropoffLat",
+               ST_X(l.dropoff)       AS "dropoffLng",
+               d.id                  AS "driverId",
+               d.name                AS "driverName",
+               l.priority            AS "priority",
+               l.created_at          AS "createdAt"
+        FROM loads l
+        LEFT JOIN drivers d ON d.id = l.assigned_driver_id
+        WHERE CAST(:status AS text) IS NULL
+           OR l.status = CAST(CAST(:status AS text) AS load_status)
+        """, nativeQuery = true)
+    Stream<LoadRow> streamRows(@Param("status") String status);
+
+    interface ChangeRow extends LoadRow {
+        Instant getUpdatedAt();
+        long getChangeXid();
+    }
+
+    // Oldest transaction still running when this snapshot was taken; every change_xid below it is final
+    @Query(value = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long snapshotXmin();
+
+    /**
+     * Keyset page of the change feed: rows after (afterXid, afterId) written by transactions older than
+     * {@code belowXid}, in (change_xid, id) order. Run in the same snapshot as {@link #snapshotXmin()}.
+     */
+    @Query(value = """
+        SELECT l.id                   AS "id",
+               l.status::text         AS "status",
+               l.current_stop::text   AS "currentStop",
+               ST_Y(l.pickup)         AS "pickupLat",
+               ST_X(l.pickup)         AS "pickupLng",
+               ST_Y(l.dropoff)        AS "dropoffLat",
+               ST_X(l.dropoff)        AS "dropoffLng",
+               d.id                   AS "driverId",
+               d.name                 AS "driverName",
+               l.priority             AS "priority",
+               l.created_at           AS "createdAt",
+               l.updated_at           AS "updatedAt",
+               l.change_xid::text::bigint AS "changeXid"
+        FROM loads l
+        LEFT JOIN drivers d ON d.id = l.assigned_driver_id
+        WHERE (l.change_xid, l.id) > (CAST(CAST(:afterXid AS text) AS xid8), CAST(:afterId AS uuid))
+          AND l.change_xid < CAST(CAST(:belowXid AS text) AS xid8)
+        ORDER BY l.change_xid, l.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ChangeRow> findChangesAfter(@Param("afterXid") long afterXid, @Param("afterId") UUID afterId,
+                                     @Param("belowXid") long belowXid, @Param("limit") int limit);
+
+    interface StatusCount {
+        String getStatus();
+        long getCount();
+    }
+
+    // Reconciliation source for the dashboard counters
+    @Query(value = """
+        SELECT status::text AS "status", count(*) AS "count"
+        FROM loads
+        GROUP BY status
+        """, nativeQuery = true)
+    List<StatusCount> countByStatus();
+
+    interface GridCount {
+        int getCx();
+        int getCy();
+        int getCount();
+    }
+
+    // Awaiting pickups per grid cell (cell = floor(coord / cell)), for poll-interval hints
+    @Query(value = """
+        SELECT floor(ST_X(l.pickup) / :cell)::int AS "cx",
+               floor(ST_Y(l.pickup) / :cell)::int AS "cy",
+               count(*)::int                      AS "count"
+        FROM loads l
+        WHERE l.status = 'AWAITING_DRIVER'
+        GROUP BY 1, 2
+        """, nativeQuery = true)
+    List<GridCount> countAwaitingByCell(@Param("cell") double cell);
+
+    interface MapCluster {
+        double getLat();
+        double getLng();
+        long getCount();
+    }
+
+    /**
+     * Pickups inside the box aggregated per grid cell (centroid + count), densest cells first.
+     * The bbox filter uses the pickup GIST index; {@code limit} bounds the result.
+     */
+    @Query(value = """
+        SELECT avg(ST_Y(l.pickup)) AS "lat",
+               avg(ST_X(l.pickup)) AS "lng",
+               count(*)            AS "count"
+        FROM loads l
+        WHERE l.pickup && ST_MakeEnvelope(:minLng, :minLat, :maxLng, :maxLat, 4326)
+          AND (CAST(:status AS text) IS NULL
+               OR l.status = CAST(CAST(:status AS text) AS load_status))
+        GROUP BY ST_SnapToGrid(l.pickup, :cell)
+        ORDER BY count(*) DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<MapCluster> clusterPickups(@Param("minLng") double minLng, @Param("minLat") double minLat,
+                                    @Param("maxLng") double maxLng, @Param("maxLat") double maxLat,
+                                    @Param("cell") double cell, @Param("status") String status,
+                                    @Param("limit") int limit);
+
+    interface MapPoint {
+        UUID getId();
+        String getStatus();
+        double getLat();
+        double getLng();
+    }
+
+    @Query(value = """
+        SELECT l.id            AS "id",
+               l.status::text  AS "status",
+               ST_Y(l.pickup)  AS "lat",
+               ST_X(l.pickup)  AS "lng"
+        FROM loads l
+        WHERE l.pickup && ST_MakeEnvelope(:minLng, :minLat, :maxLng, :maxLat, 4326)
+          AND (CAST(:status AS text) IS NULL
+               OR l.status = CAST(CAST(:status AS text) AS load_status))
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<MapPoint> findPickupsInBox(@Param("minLng") double minLng, @Param("minLat") double minLat,
+                                    @Param("maxLng") double maxLng, @Param("maxLat") double maxLat,
+                                    @Param("status") String status, @Param("limit") int limit);
+
     @EntityGraph(attributePaths = {"assignedDriver"})
     List<Load> findAllByStatus(Load.Status status);
 
@@ -73,35 +263,4 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
         )
         """, nativeQuery = true)
     boolean existsActiveByDriverId(@Param("driverId") UUID driverId);
-
-    // 1) Lock and pick the closest candidate ID
-    @Query(value = """
-    WITH candidate AS (
-      SELECT id
-      FROM loads
-      WHERE status = 'AWAITING_DRIVER'
-        AND (:excludeId IS NULL OR id <> :excludeId)
-      ORDER BY ST_Distance(
-               pickup::geography,
-               ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
-      ), id
-      LIMIT 1
-      FOR UPDATE SKIP LOCKED
-    )
-    SELECT id FROM candidate
-  """, nativeQuery = true)
-    Optional<UUID> lockClosestAvailableId(double lat, double lng, UUID excludeId);
-
-    // 2) Reserve that id (no return of row; JPA requires int/void)
-    @Modifying
-    @Query(value = """
-    UPDATE loads
-    SET status = 'RESERVED',
-        assigned_driver_id = :driverId,
-        assigned_shift_id  = :shiftId,
-        reservation_expires_at = NOW() + (INTERVAL '1 second' * :reservationSeconds)
-    WHERE id = :loadId
-  """, nativeQuery = true)
-    int reserveById(UUID loadId, UUID driverId, UUID shiftId, int reservationSeconds);
 }
-
@@ -0,0 +1,42 @@
+package com.vorto.challenge.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reservation statements that lock, update and return in one round trip.
+ * Each sets the expiry to {@code reservedAt} plus the TTL for the reserved load's priority
+ * ({@code ReservationProperties#ttlFor}); the returned row carries it.
+ * All must run inside a transaction; each executes under its own savepoint, so a
+ * {@link DataIntegrityViolationException} (ux_loads_one_open_per_driver) leaves the
+ * surrounding transaction usable for a retry.
+ */
+public interface LoadRepositoryCustom {
+
+    /**
+     * Reserves the best-ranked AWAITING_DRIVER load (optionally excluding one id) for a driver at
+     * (lat, lng): nearest first, adjusted for priority and age (see {@code RankingProperties}).
+     * @return the reserved row, or empty if no load is available
+     */
+    Optional<ReservedLoad> reserveRanked(UUID driverId, UUID shiftId, double lat, double lng,
+                                          UUID excludeId, Instant reservedAt);
+
+    /**
+     * Same ranking as {@link #reserveRanked}, without holding row locks while candidates are scored:
+     * the ranked candidates are read with their versions and claimed in order with a compare-and-set
+     * on status and version. A candidate changed in the meantime is passed over.
+     * @return the reserved row, or empty if no load is available or every candidate was lost
+     */
+    Optional<ReservedLoad> reserveRankedOptimistic(UUID driverId, UUID shiftId, double lat, double lng,
+                                                    UUID excludeId, Instant reservedAt);
+
+    /**
+     * Reserves the given AWAITING_DRIVER load for the closest on-shift driver without an open load,
+     * among drivers heard from (heartbeat or shift start) since {@code seenSince}.
+     * @return the reserved row, or empty if the load is gone/taken or no driver is eligible
+     */
+    Optional<ReservedLoad> reserveForClosestDriver(UUID loadId, Instant reservedAt, Instant seenSince);
+}
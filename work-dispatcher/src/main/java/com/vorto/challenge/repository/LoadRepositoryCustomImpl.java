@@ -0,0 +1,320 @@
+package com.vorto.challenge.repository;
+
+import com.vorto.challenge.config.RankingProperties;
+import com.vorto.challenge.config.ReservationProperties;
+import com.vorto.challenge.model.Load;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * JDBC implementation of the single-statement reserves. Runs on the JPA transaction's connection;
+ * the persistence context is flushed first and the reserved load evicted afterwards, so entity
+ * reads on either side of the statement stay consistent with it.
+ *
+ * A {@code @Query} native UPDATE ... RETURNING would return the rows just as well (see
+ * {@link LoadRepository#releaseExpiredReservations}); this fragment exists for what surrounds the
+ * statement. Each one runs under its own savepoint, so a {@code ux_loads_one_open_per_driver}
+ * violation doesn't abort the caller's transaction, and the flush and detach above happen around it.
+ */
+class LoadRepositoryCustomImpl implements LoadRepositoryCustom {
+
+    private static final String RETURNING = """
+        RETURNING l.id,
+                  l.status::text       AS status,
+                  l.current_stop::text AS current_stop,
+                  ST_Y(l.pickup)       AS pickup_lat,
+                  ST_X(l.pickup)       AS pickup_lng,
+                  ST_Y(l.dropoff)      AS dropoff_lat,
+                  ST_X(l.dropoff)      AS dropoff_lng,
+                  l.assigned_driver_id,
+                  l.reservation_expires_at,
+                  l.created_at
+        """;
+
+    // loads.priority is 0..3 (ck_loads_priority); :ttlMillis holds one reservation TTL per priority
+    private static final int MAX_PRIORITY = 3;
+
+    // Spliced in with formatted(): a text block drops the trailing space of a "WHERE " + ... line
+    private static final String AWAITING = """
+        l.status = 'AWAITING_DRIVER'
+            AND (CAST(:excludeId AS uuid) IS NULL OR l.id <> :excludeId)""";
+
+    /*
+     * Candidates: the :knn nearest awaiting pickups (KNN scan of the partial GIST index on the stored
+     * pickup_geog, ordered by sphere distance) plus the :oldest longest-waiting loads (created_at index).
+     * Only those few rows are scored.
+     */
+    private static final String CANDIDATE_SETS = """
+        WITH nearest AS (
+          SELECT l.id
+          FROM loads l
+          WHERE %1$s
+          ORDER BY l.pickup_geog <-> ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
+          LIMIT :knn
+        ),
+        oldest AS (
+          SELECT l.id
+          FROM loads l
+          WHERE %1$s
+          ORDER BY l.created_at
+          LIMIT :oldest
+        )
+        """.formatted(AWAITING);
+
+    // Candidates best first; the score is in km: distance less the priority and age bonuses
+    private static final String RANKED = """
+          FROM loads l
+          WHERE l.id IN (SELECT id FROM nearest UNION SELECT id FROM oldest)
+            AND l.status = 'AWAITING_DRIVER'
+          ORDER BY ST_Distance(l.pickup_geog, ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography) / 1000.0
+                   - l.priority * :priorityKm
+                   - LEAST(EXTRACT(EPOCH FROM now() - l.created_at) / 60.0 * :agePerMinuteKm, :maxAgeKm),
+                   l.id
+        """;
+
+    // LOCKING: the best candidate not held by another reserver is locked and reserved
+    private static final String RESERVE_RANKED = CANDIDATE_SETS + """
+        , candidate AS (
+          SELECT l.id
+        """ + RANKED + """
+          LIMIT 1
+          FOR UPDATE OF l SKIP LOCKED
+        )
+        UPDATE loads l
+        SET status = 'RESERVED',
+            assigned_driver_id = :driverId,
+            assigned_shift_id  = :shiftId,
+            reservation_expires_at = CAST(:reservedAt AS timestamptz)
+                                     + (ARRAY[:ttlMillis])[l.priority + 1] * interval '1 millisecond',
+            version = l.version + 1
+        FROM candidate c
+        WHERE l.id = c.id
+        """ + RETURNING;
+
+    // OPTIMISTIC: the ranked candidates with the versions they were read at; no row locks
+    private static final String RANKED_CANDIDATES = CANDIDATE_SETS + """
+        SELECT l.id, l.version
+        """ + RANKED + """
+          LIMIT :casCandidates
+        """;
+
+    // Compare-and-set: claims the load only if nobody changed it since it was ranked
+    private static final String RESERVE_IF_UNCHANGED = """
+        UPDATE loads l
+        SET status = 'RESERVED',
+            assigned_driver_id = :driverId,
+            assigned_shift_id  = :shiftId,
+            reservation_expires_at = CAST(:reservedAt AS timestamptz)
+                                     + (ARRAY[:ttlMillis])[l.priority + 1] * interval '1 millisecond',
+            version = l.version + 1
+        WHERE l.id = :loadId
+          AND l.status = 'AWAITING_DRIVER'
+          AND l.version = :version
+        """ + RETURNING;
+
+    // Rank-then-claim rounds before OPTIMISTIC gives up; each round re-ranks without the loads just lost
+    private static final int CAS_ROUNDS = 2;
+
+    // Fallback when every ranked candidate is held by concurrent reservers: the KNN scan carries on past locked rows
+    private static final String RESERVE_CLOSEST = """
+        WITH candidate AS (
+          SELECT id
+          FROM loads
+          WHERE status = 'AWAITING_DRIVER'
+            AND (CAST(:excludeId AS uuid) IS NULL OR id <> :excludeId)
+          ORDER BY pickup_geog <-> ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
+          LIMIT 1
+          FOR UPDATE SKIP LOCKED
+        )
+        UPDATE loads l
+        SET status = 'RESERVED',
+            assigned_driver_id = :driverId,
+            assigned_shift_id  = :shiftId,
+            reservation_expires_at = CAST(:reservedAt AS timestamptz)
+                                     + (ARRAY[:ttlMillis])[l.priority + 1] * interval '1 millisecond',
+            version = l.version + 1
+        FROM candidate c
+        WHERE l.id = c.id
+        """ + RETURNING;
+
+    // Lock the load, pick and lock the closest live (not silent) driver with their open shift, and reserve
+    private static final String RESERVE_FOR_CLOSEST_DRIVER = """
+        WITH target AS (
+          SELECT id, pickup_geog
+          FROM loads
+          WHERE id = :loadId
+            AND status = 'AWAITING_DRIVER'
+          FOR UPDATE SKIP LOCKED
+        ),
+        chosen AS (
+          SELECT d.id AS driver_id, s.id AS shift_id
+          FROM target t
+          JOIN drivers d ON d.on_shift = TRUE AND d.current_location IS NOT NULL
+          JOIN shifts s  ON s.driver_id = d.id AND s.end_time IS NULL
+          WHERE GREATEST(d.last_seen_at, s.start_time) >= :seenSince
+            AND NOT EXISTS (
+              SELECT 1 FROM loads o
+              WHERE o.assigned_driver_id = d.id
+                AND o.status IN ('RESERVED','IN_PROGRESS')
+          )
+          ORDER BY d.location_geog <-> t.pickup_geog, d.id
+          LIMIT 1
+          FOR UPDATE OF d SKIP LOCKED
+        )
+        UPDATE loads l
+        SET status = 'RESERVED',
+            assigned_driver_id = c.driver_id,
+            assigned_shift_id  = c.shift_id,
+            reservation_expires_at = CAST(:reservedAt AS timestamptz)
+                                     + (ARRAY[:ttlMillis])[l.priority + 1] * interval '1 millisecond',
+            version = l.version + 1
+        FROM chosen c
+        WHERE l.id = :loadId
+        """ + RETURNING;
+
+    private static final RowMapper<ReservedLoad> ROW_MAPPER = (rs, i) -> new ReservedLoad(
+            rs.getObject("id", UUID.class),
+            rs.getString("status"),
+            rs.getString("current_stop"),
+            rs.getDouble("pickup_lat"),
+            rs.getDouble("pickup_lng"),
+            rs.getDouble("dropoff_lat"),
+            rs.getDouble("dropoff_lng"),
+            rs.getObject("assigned_driver_id", UUID.class),
+            rs.getTimestamp("reservation_expires_at").toInstant(),
+            rs.getTimestamp("created_at").toInstant()
+    );
+
+    private static final RowMapper<Candidate> CANDIDATE_MAPPER = (rs, i) -> new Candidate(
+            rs.getObject("id", UUID.class), rs.getLong("version"));
+
+    private record Candidate(UUID id, long version) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final RankingProperties ranking;
+    private final int casCandidates;
+    private final List<Long> ttlMillis;
+    private final Counter casMisses;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    LoadRepositoryCustomImpl(NamedParameterJdbcTemplate jdbc, RankingProperties ranking,
+                             ReservationProperties reservation, MeterRegistry meterRegistry) {
+        this.jdbc = jdbc;
+        this.ranking = ranking;
+        this.casCandidates = Math.max(1, reservation.casCandidates());
+        this.ttlMillis = IntStream.rangeClosed(0, MAX_PRIORITY)
+                .mapToObj(p -> reservation.ttlFor(p).toMillis())
+                .toList();
+        this.casMisses = Counter.builder("dispatch.reservation.cas_misses")
+                .description("Optimistic reserves that found the candidate changed since it was ranked")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<ReservedLoad> reserveRanked(UUID driverId, UUID shiftId, double lat, double lng,
+                                                UUID excludeId, Instant reservedAt) {
+        MapSqlParameterSource params = rankedParams(driverId, shiftId, lat, lng, excludeId, reservedAt);
+        Optional<ReservedLoad> reserved = reserve(RESERVE_RANKED, params);
+        return reserved.isPresent() ? reserved : reserve(RESERVE_CLOSEST, params);
+    }
+
+    @Override
+    public Optional<ReservedLoad> reserveRankedOptimistic(UUID driverId, UUID shiftId, double lat, double lng,
+                                                          UUID excludeId, Instant reservedAt) {
+        MapSqlParameterSource params = rankedParams(driverId, shiftId, lat, lng, excludeId, reservedAt)
+                .addValue("casCandidates", casCandidates);
+        beforeStatement();
+        for (int round = 0; round < CAS_ROUNDS; round++) {
+            List<Candidate> candidates = jdbc.query(RANKED_CANDIDATES, params, CANDIDATE_MAPPER);
+            if (candidates.isEmpty()) return Optional.empty();
+            for (Candidate c : candidates) {
+                params.addValue("loadId", c.id()).addValue("version", c.version());
+                Optional<ReservedLoad> reserved = withSavepoint(() ->
+                        jdbc.query(RESERVE_IF_UNCHANGED, params, ROW_MAPPER).stream().findFirst());
+                if (reserved.isPresent()) return afterReserve(reserved);
+                casMisses.increment();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private MapSqlParameterSource rankedParams(UUID driverId, UUID shiftId, double lat, double lng,
+                                               UUID excludeId, Instant reservedAt) {
+        return new MapSqlParameterSource()
+                .addValue("driverId", driverId)
+                .addValue("shiftId", shiftId)
+                .addValue("lat", lat)
+                .addValue("lng", lng)
+                .addValue("excludeId", excludeId, Types.OTHER)
+                .addValue("reservedAt", Timestamp.from(reservedAt))
+                .addValue("ttlMillis", ttlMillis)
+                .addValue("knn", ranking.knnCandidates())
+                .addValue("oldest", ranking.oldestCandidates())
+                .addValue("priorityKm", ranking.priorityWeightKm())
+                .addValue("agePerMinuteKm", ranking.ageWeightKmPerMinute())
+                .addValue("maxAgeKm", ranking.maxAgeBonusKm());
+    }
+
+    @Override
+    public Optional<ReservedLoad> reserveForClosestDriver(UUID loadId, Instant reservedAt, Instant seenSince) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("loadId", loadId)
+                .addValue("reservedAt", Timestamp.from(reservedAt))
+                .addValue("ttlMillis", ttlMillis)
+                .addValue("seenSince", Timestamp.from(seenSince));
+        return reserve(RESERVE_FOR_CLOSEST_DRIVER, params);
+    }
+
+    private Optional<ReservedLoad> reserve(String sql, MapSqlParameterSource params) {
+        beforeStatement();
+        return afterReserve(withSavepoint(() -> jdbc.query(sql, params, ROW_MAPPER).stream().findFirst()));
+    }
+
+    private void beforeStatement() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Reservation statements require an active transaction");
+        }
+        em.flush();
+    }
+
+    private Optional<ReservedLoad> afterReserve(Optional<ReservedLoad> reserved) {
+        // The row changed underneath Hibernate; drop any managed copy so later finds re-read it
+        reserved.ifPresent(r -> em.detach(em.getReference(Load.class, r.id())));
+        return reserved;
+    }
+
+    /**
+     * Postgres aborts the whole transaction on an error; rolling back to a savepoint instead lets the
+     * caller handle a unique violation and carry on in the same transaction.
+     */
+    private <T> T withSavepoint(Supplier<T> statement) {
+        var ops = jdbc.getJdbcOperations();
+        ops.execute("SAVEPOINT load_reserve");
+        try {
+            T result = statement.get();
+            ops.execute("RELEASE SAVEPOINT load_reserve");
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            ops.execute("ROLLBACK TO SAVEPOINT load_reserve");
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.vorto.challenge.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat, entity-free view of a load (plus its assigned driver) for bulk reads.
+ * Rows never enter the persistence context, so streaming them runs in constant memory.
+ */
+public interface LoadRow {
+    UUID getId();
+    String getStatus();
+    String getCurrentStop();
+    double getPickupLat();
+    double getPickupLng();
+    double getDropoffLat();
+    double getDropoffLng();
+    UUID getDriverId();      // null if unassigned
+    String getDriverName();  // null if unassigned
+    int getPriority();
+    Instant getCreatedAt();
+}
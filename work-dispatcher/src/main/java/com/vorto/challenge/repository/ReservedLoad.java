@@ -0,0 +1,18 @@
+package com.vorto.challenge.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Row returned by the single-statement reserve: everything an assignment response needs. */
+public record ReservedLoad(
+        UUID id,
+        String status,
+        String currentStop,
+        double pickupLat,
+        double pickupLng,
+        double dropoffLat,
+        double dropoffLng,
+        UUID driverId,
+        Instant expiresAt,
+        Instant createdAt
+) {}
@@ -0,0 +1,20 @@
+package com.vorto.challenge.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated transactional method when it loses an optimistic-lock race (a {@code @Version}
+ * check failed at flush or commit), up to {@code dispatch.retry.max-attempts} times in total. Each
+ * attempt is a fresh transaction that re-reads current state, so the method must have no side effects
+ * outside it that a rollback doesn't undo. Calls made inside an existing transaction run once: only
+ * the outermost transaction can be retried.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
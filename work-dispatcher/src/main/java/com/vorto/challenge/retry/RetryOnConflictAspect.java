@@ -0,0 +1,77 @@
+package com.vorto.challenge.retry;
+
+import com.vorto.challenge.config.RetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies {@link RetryOnConflict}. Ordered inside {@code UsePoolAspect} and outside the transaction
+ * interceptor, so every attempt opens (and commits or rolls back) its own transaction on the same pool.
+ * Exhausted retries rethrow; the exception handler answers {@code 503 CONCURRENT_MODIFICATION} with
+ * {@code Retry-After}, which the Idempotency-Key filter does not store.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RetryOnConflictAspect {
+    private static final Logger log = LoggerFactory.getLogger(RetryOnConflictAspect.class);
+
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final Counter retried;
+    private final Counter exhausted;
+
+    public RetryOnConflictAspect(RetryProperties props, MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(1, props.maxAttempts());
+        this.backoffNanos = props.backoff().toNanos();
+        this.retried = conflicts(meterRegistry, "retried");
+        this.exhausted = conflicts(meterRegistry, "exhausted");
+    }
+
+    @Around("@annotation(com.vorto.challenge.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint pjp) throws Throwable {
+        // Inside a caller's transaction the stale state is the caller's; let it fail there
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return pjp.proceed();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retried.increment();
+                log.debug("{} lost an optimistic-lock race (attempt {}); retrying",
+                        pjp.getSignature().toShortString(), attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) throws InterruptedException {
+        if (backoffNanos <= 0) return;
+        // Jitter keeps two requests that collided from colliding again on the retry
+        long nanos = (long) (backoffNanos * attempt * ThreadLocalRandom.current().nextDouble(0.5, 1.5));
+        Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+    }
+
+    private static Counter conflicts(MeterRegistry registry, String outcome) {
+        return Counter.builder("dispatch.retry.conflicts")
+                .description("Transactions that lost an optimistic-lock race, by what happened next")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,127 @@
+package com.vorto.challenge.scheduling;
+
+import com.vorto.challenge.common.TimingWheel;
+import com.vorto.challenge.config.ReservationProperties;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.PoolContext;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.jfr.ExpiredReleaseEvent;
+import com.vorto.challenge.repository.LoadRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires reservations on time instead of scanning for them on every request.
+ *
+ * Each reservation made on this node is filed in a {@link TimingWheel}; when its deadline passes,
+ * the load is released with a targeted update guarded by status and expiry, so loads picked up or
+ * re-reserved in the meantime are left alone. The wheel is rebuilt from the DB at startup, and a
+ * low-frequency sweep covers reservations made by other nodes or lost to a crash.
+ */
+@Component
+public class ReservationExpiryWheel {
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpiryWheel.class);
+    private static final int WHEEL_BITS = 8;    // 256 slots per level
+    private static final int WHEEL_LEVELS = 3;  // 2^24 ticks: ~19 days at 100ms
+    private static final int RELEASE_BATCH = 500;
+
+    private final LoadRepository loadRepository;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final Duration tick;
+    private final TimingWheel<UUID> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "reservation-expiry");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ReservationExpiryWheel(LoadRepository loadRepository, PlatformTransactionManager txManager,
+                                  ApplicationEventPublisher events, ReservationProperties props) {
+        this.loadRepository = loadRepository;
+        this.tx = new TransactionTemplate(txManager);
+        this.events = events;
+        this.tick = props.tick();
+        this.wheel = new TimingWheel<>(props.tick(), WHEEL_BITS, WHEEL_LEVELS, System.nanoTime());
+    }
+
+    /** Files (or re-files) a reservation deadline. Safe to call before commit: release is guarded in SQL. */
+    public void track(UUID loadId, Instant expiresAt) {
+        long remaining = Duration.between(Instant.now(), expiresAt).toNanos();
+        wheel.schedule(loadId, System.nanoTime() + remaining);
+    }
+
+    /** Drops a deadline once the reservation has been picked up or released. */
+    public void cancel(UUID loadId) {
+        wheel.cancel(loadId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void start() {
+        List<LoadRepository.ReservationDeadline> pending = loadRepository.findReservationDeadlines();
+        pending.forEach(d -> track(d.getId(), d.getExpiresAt()));
+        log.info("Reservation expiry wheel started with {} pending reservations", pending.size());
+
+        long tickMillis = Math.max(1, tick.toMillis());
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /** Backstop: releases anything the wheel doesn't know about (other nodes, crashes, missed ticks). */
+    @Scheduled(fixedDelayString = "${dispatch.reservation.sweep-interval:60s}",
+            initialDelayString = "${dispatch.reservation.sweep-interval:60s}")
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void sweep() {
+        ExpiredReleaseEvent event = ExpiredReleaseEvent.start();
+        List<UUID> released = tx.execute(s -> loadRepository.releaseExpiredReservations(Instant.now()));
+        event.finish(ExpiredReleaseEvent.SWEEP, released == null ? 0 : released.size());
+        if (released == null || released.isEmpty()) return;
+        released.forEach(wheel::cancel);
+        log.info("Expiry sweep released {} reservations", released.size());
+        events.publishEvent(new ReservationsExpiredEvent(released));
+    }
+
+    private void tick() {
+        // Never let an exception escape: it would cancel the fixed-rate schedule
+        try {
+            List<UUID> due = wheel.advanceTo(System.nanoTime());
+            for (int from = 0; from < due.size(); from += RELEASE_BATCH) {
+                List<UUID> batch = due.subList(from, Math.min(due.size(), from + RELEASE_BATCH));
+                PoolContext.runWith(DataSourceRole.BACKGROUND, () -> release(batch));  // own thread, no proxy
+            }
+        } catch (RuntimeException e) {
+            log.warn("Reservation expiry tick failed; the sweep will retry", e);
+        }
+    }
+
+    private void release(List<UUID> due) {
+        Instant now = Instant.now();
+        ExpiredReleaseEvent event = ExpiredReleaseEvent.start();
+        List<UUID> released = tx.execute(s -> loadRepository.releaseExpiredByIds(due, now));
+        event.finish(ExpiredReleaseEvent.WHEEL, released == null ? 0 : released.size());
+        if (released != null && !released.isEmpty()) {
+            events.publishEvent(new ReservationsExpiredEvent(released));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.vorto.challenge.scheduling;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Published after expired RESERVED loads have been returned to AWAITING_DRIVER (committed). */
+public record ReservationsExpiredEvent(List<UUID> loadIds) {}
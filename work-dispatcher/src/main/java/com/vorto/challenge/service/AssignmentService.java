@@ -3,13 +3,23 @@ package com.vorto.challenge.service;
 import com.vorto.challenge.DTO.CompleteStopResult;
 import com.vorto.challenge.DTO.LoadAssignmentResponse;
 import com.vorto.challenge.DTO.RejectOutcome;
+import com.vorto.challenge.DTO.StopSyncRequest;
+import com.vorto.challenge.DTO.StopSyncResult;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface AssignmentService {
-    LoadAssignmentResponse getOrReserveLoad(UUID driverId);
-    CompleteStopResult completeNextStop(UUID driverId, UUID loadId);
-    RejectOutcome rejectReservedLoadAndEndShift(UUID driverId, UUID loadId);
+    /** Success value is null when the driver is unassigned and nothing is available. */
+    ServiceResult<LoadAssignmentResponse> getOrReserveLoad(UUID driverId);
+    ServiceResult<CompleteStopResult> completeNextStop(UUID driverId, UUID loadId);
+    /**
+     * Replays stops confirmed offline, in order and in one transaction, through the same state machine
+     * as {@link #completeNextStop}. Stops at the first event that can't be applied; the next load is
+     * reserved once, after the last event.
+     */
+    ServiceResult<StopSyncResult> syncStops(UUID driverId, List<StopSyncRequest.StopEvent> events);
+    ServiceResult<RejectOutcome> rejectReservedLoadAndEndShift(UUID driverId, UUID loadId);
     /**
      * Called after a load is created.
      * Attempts to assign/reserve this load to the closest on-shift driver
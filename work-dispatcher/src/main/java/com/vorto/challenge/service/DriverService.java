@@ -18,6 +18,6 @@ public interface DriverService {
      */
     LoginOutcome loginOrCreate(LoginRequest request);
     Optional<DriverDto> get(UUID id);
-    DriverStateResponse getDriverState(UUID driverId);
+    ServiceResult<DriverStateResponse> getDriverState(UUID driverId);
 
 }
@@ -1,9 +1,13 @@
 package com.vorto.challenge.service;
 
+import com.vorto.challenge.DTO.LoadChangesResponse;
+import com.vorto.challenge.DTO.LoadMapResponse;
 import com.vorto.challenge.DTO.LoadSummaryDto;
 import com.vorto.challenge.DTO.CreateLoadRequest;
 import com.vorto.challenge.model.Load;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,4 +23,25 @@ public interface LoadService {
      */
     LoadSummaryDto getOne(UUID id);
     LoadSummaryDto create(CreateLoadRequest req);
+
+    /**
+     * Streams every load (optionally filtered by status) to {@code out} as NDJSON,
+     * one {@link LoadSummaryDto}-shaped object per line, without buffering the result set.
+     * @return number of rows written
+     */
+    long exportNdjson(Load.Status statusOpt, OutputStream out) throws IOException;
+
+    /**
+     * Load pickups inside {@code bbox} ("minLng,minLat,maxLng,maxLat") for a map at {@code zoom}:
+     * grid clusters below the detail zoom, individual loads at or above it. Size is capped either way.
+     * @throws IllegalArgumentException on a malformed bbox or zoom
+     */
+    LoadMapResponse getMap(String bbox, int zoom, Load.Status statusOpt);
+
+    /**
+     * Loads inserted or updated after {@code since} (null for a full sync), oldest change first,
+     * at most {@code limit} per call, plus the token to resume from.
+     * @throws IllegalArgumentException on a malformed token or limit
+     */
+    LoadChangesResponse getChanges(String since, int limit);
 }
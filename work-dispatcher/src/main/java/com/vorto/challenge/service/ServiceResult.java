@@ -0,0 +1,35 @@
+package com.vorto.challenge.service;
+
+import com.vorto.challenge.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of a service call whose failures are expected business states (off-shift, location
+ * unknown, reservation expired, ...). Returning them instead of throwing avoids stack-trace capture
+ * and exception-handler dispatch on paths drivers poll continuously. Exceptions remain for
+ * genuinely exceptional failures (DB errors, broken invariants).
+ */
+public sealed interface ServiceResult<T> {
+
+    /** Completed normally. {@code value} may be null where the method documents it (e.g. nothing to assign). */
+    record Success<T>(T value) implements ServiceResult<T> {}
+
+    /** Expected failure, carrying everything needed to render an {@code ErrorResponse}. */
+    record Failure<T>(HttpStatus status, ErrorCode code, String message) implements ServiceResult<T> {}
+
+    static <T> ServiceResult<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> ServiceResult<T> failure(HttpStatus status, ErrorCode code, String message) {
+        return new Failure<>(status, code, message);
+    }
+
+    static <T> ServiceResult<T> notFound(ErrorCode code, String message) {
+        return new Failure<>(HttpStatus.NOT_FOUND, code, message);
+    }
+
+    static <T> ServiceResult<T> conflict(ErrorCode code, String message) {
+        return new Failure<>(HttpStatus.CONFLICT, code, message);
+    }
+}
@@ -2,26 +2,21 @@ package com.vorto.challenge.service;
 
 import com.vorto.challenge.DTO.DriverEndShiftDto;
 import com.vorto.challenge.DTO.DriverStartShiftDto;
-import jakarta.persistence.EntityNotFoundException;
 
 import java.util.UUID;
 
 public interface ShiftService {
     /**
      * Start a shift for the given driver at (lat, lon).
-     *
-     * @throws EntityNotFoundException if driver doesn't exist.
-     * @throws IllegalStateException                       if driver is already on shift or has a shift row.
+     * Fails with DRIVER_NOT_FOUND if the driver doesn't exist, SHIFT_ALREADY_ACTIVE if already on shift.
      */
-    DriverStartShiftDto startShift(UUID driverId, double latitude, double longitude);
+    ServiceResult<DriverStartShiftDto> startShift(UUID driverId, double latitude, double longitude);
 
     /**
      * Ends a shift for the given driver.
-     *
-     * @throws EntityNotFoundException if driver doesn't exist.
-     * @throws IllegalStateException   if driver currently on an active load
+     * Fails with DRIVER_NOT_FOUND, SHIFT_NOT_ACTIVE, or ACTIVE_LOAD_PRESENT if the driver is on an active load.
      */
-    DriverEndShiftDto endShift(UUID driverId);
+    ServiceResult<DriverEndShiftDto> endShift(UUID driverId);
 
 
 }
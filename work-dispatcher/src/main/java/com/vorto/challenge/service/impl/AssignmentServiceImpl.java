@@ -3,40 +3,79 @@ package com.vorto.challenge.service.impl;
 import com.vorto.challenge.DTO.CompleteStopResult;
 import com.vorto.challenge.DTO.LoadAssignmentResponse;
 import com.vorto.challenge.DTO.RejectOutcome;
+import com.vorto.challenge.DTO.StopSyncRequest;
+import com.vorto.challenge.DTO.StopSyncResult;
+import com.vorto.challenge.common.AfterCommit;
+import com.vorto.challenge.config.PresenceProperties;
+import com.vorto.challenge.config.ReservationProperties;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.exception.ErrorCode;
+import com.vorto.challenge.jfr.CandidateSearchEvent;
+import com.vorto.challenge.jfr.ExpiredReleaseEvent;
+import com.vorto.challenge.jfr.ReservationAttemptEvent;
 import com.vorto.challenge.model.Driver;
 import com.vorto.challenge.model.Load;
 import com.vorto.challenge.model.Shift;
 import com.vorto.challenge.repository.DriverRepository;
 import com.vorto.challenge.repository.LoadRepository;
+import com.vorto.challenge.repository.ReservedLoad;
 import com.vorto.challenge.repository.ShiftRepository;
+import com.vorto.challenge.retry.RetryOnConflict;
+import com.vorto.challenge.scheduling.ReservationExpiryWheel;
 import com.vorto.challenge.service.AssignmentService;
+import com.vorto.challenge.service.ServiceResult;
+import com.vorto.challenge.stats.DispatchCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
-import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static com.vorto.challenge.common.JtsGeo.distanceKm;
 import static com.vorto.challenge.common.LoadMappers.toAssignmentResponse;
 
 @Service
+@UsePool(DataSourceRole.DRIVER)
 public class AssignmentServiceImpl implements AssignmentService {
-    private static final int RESERVATION_SECONDS = 120;
+    // Bound on retries after losing the one-open-load-per-driver race
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+    // How far ahead of the server clock an offline event's timestamp may be
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(2);
 
     private final DriverRepository driverRepo;
     private final ShiftRepository shiftRepo;
     private final LoadRepository loadRepo;
-
-    public AssignmentServiceImpl(DriverRepository driverRepo, ShiftRepository shiftRepo, LoadRepository loadRepo) {
+    private final ReservationExpiryWheel expiryWheel;
+    private final DispatchCounters counters;
+    private final ReservationProperties.Mode reservationMode;
+    private final Duration driverSilence;
+    private final Timer timeToReserve;
+
+    public AssignmentServiceImpl(DriverRepository driverRepo, ShiftRepository shiftRepo, LoadRepository loadRepo,
+                                 ReservationExpiryWheel expiryWheel, DispatchCounters counters,
+                                 ReservationProperties reservationProps, PresenceProperties presenceProps,
+                                 MeterRegistry meterRegistry) {
         this.driverRepo = driverRepo;
         this.shiftRepo = shiftRepo;
         this.loadRepo = loadRepo;
+        this.expiryWheel = expiryWheel;
+        this.counters = counters;
+        this.reservationMode = reservationProps.mode();
+        this.driverSilence = presenceProps.silence();
+        this.timeToReserve = Timer.builder("dispatch.load.time_to_reserve")
+                .description("Age of a load when it is reserved (creation to each committed reservation)")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
     }
 
     /**
@@ -45,32 +84,35 @@ public class AssignmentServiceImpl implements AssignmentService {
      * Requires the driver to be on an active shift. Idempotent fetch if already assigned.
      */
     @Override
+    @RetryOnConflict
     @Transactional
-    public LoadAssignmentResponse getOrReserveLoad(UUID driverId){
+    public ServiceResult<LoadAssignmentResponse> getOrReserveLoad(UUID driverId){
         //check if driver exists
-        Driver driver = driverRepo.findById(driverId)
-                .orElseThrow(() -> new EntityNotFoundException("Driver not found: " + driverId));
+        Driver driver = driverRepo.findById(driverId).orElse(null);
+        if (driver == null) return driverNotFound(driverId);
 
         // driver must be on an active shift
-        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Driver is off-shift"));
-
-        // release any expired reservations before selecting
-        loadRepo.releaseExpiredReservations(Instant.now());
+        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId).orElse(null);
+        if (activeShift == null) return offShift();
 
         // check if driver already has RESERVED/IN_PROGRESS loads. Idempotent check
         Load openLoad = loadRepo.findOpenByDriverId(
                 driverId,
                 List.of(Load.Status.RESERVED, Load.Status.IN_PROGRESS)
         ).orElse(null);
+        // Reservation lapsed but the expiry wheel hasn't fired yet: release it here and pick again
+        if (openLoad != null && isExpiredReservation(openLoad)) {
+            releaseExpired(openLoad);
+            openLoad = null;
+        }
         // If driver already has an open load return it (idempotent fetch).
-        if (openLoad != null) return toAssignmentResponse(openLoad);
+        if (openLoad != null) return ServiceResult.success(toAssignmentResponse(openLoad));
 
         if (driver.getCurrentLocation() == null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Driver location unknown");
+            return ServiceResult.conflict(ErrorCode.DRIVER_LOCATION_UNKNOWN, "Driver location unknown");
         }
         // Reserve the closest available load from driver's current location
-        return reserveClosestFrom(driver, activeShift, null);
+        return ServiceResult.success(reserveClosestFrom(driver, activeShift, null));
 
     }
 
@@ -81,20 +123,101 @@ public class AssignmentServiceImpl implements AssignmentService {
      * attempts to reserve the next closest load. Idempotent if the load is already completed.
      */
     @Override
+    @RetryOnConflict
     @Transactional
-    public CompleteStopResult completeNextStop(UUID driverId, UUID loadId) {
+    public ServiceResult<CompleteStopResult> completeNextStop(UUID driverId, UUID loadId) {
         // driver must exist and be on an active shift
-        Driver driver = driverRepo.findById(driverId)
-                .orElseThrow(() -> new EntityNotFoundException("Driver not found: " + driverId));
-        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Driver is off-shift"));
+        Driver driver = driverRepo.findById(driverId).orElse(null);
+        if (driver == null) return driverNotFound(driverId);
+        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId).orElse(null);
+        if (activeShift == null) return offShift();
         // Load must exist
-        Load load = loadRepo.findById(loadId)
-                .orElseThrow(() -> new EntityNotFoundException("Load not found: " + loadId));
+        Load load = loadRepo.findById(loadId).orElse(null);
+        if (load == null) return loadNotFound(loadId);
+
+        return advanceStop(driver, activeShift, load, Instant.now(), true);
+    }
+
+    /**
+     * Applies queued stop confirmations in order. Each event must name the load's current stop;
+     * one that was already applied (by an earlier sync or a direct call) is reported and skipped over.
+     * Pickup expiry is judged at the event's time, so a pickup confirmed in a dead zone before the
+     * reservation lapsed still counts if the reservation hasn't been released meanwhile.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public ServiceResult<StopSyncResult> syncStops(UUID driverId, List<StopSyncRequest.StopEvent> events) {
+        Driver driver = driverRepo.findById(driverId).orElse(null);
+        if (driver == null) return driverNotFound(driverId);
+        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId).orElse(null);
+        if (activeShift == null) return offShift();
+
+        Instant latest = Instant.now().plus(MAX_CLOCK_SKEW);
+        for (int i = 0; i < events.size(); i++) {
+            Instant at = events.get(i).occurredAt();
+            if (at.isAfter(latest) || (i > 0 && at.isBefore(events.get(i - 1).occurredAt()))) {
+                return ServiceResult.failure(HttpStatus.BAD_REQUEST, ErrorCode.VALIDATION_ERROR,
+                        "events must be in time order and not in the future (event " + i + ")");
+            }
+        }
+
+        List<StopSyncResult.EventOutcome> outcomes = new ArrayList<>(events.size());
+        UUID lastCompleted = null;
+        boolean failed = false;
+        for (StopSyncRequest.StopEvent e : events) {
+            if (failed) {
+                outcomes.add(outcome(e, StopSyncResult.EventOutcome.SKIPPED, null, null, null));
+                continue;
+            }
+            Load load = loadRepo.findById(e.loadId()).orElse(null);
+            if (load == null) {
+                outcomes.add(outcome(e, StopSyncResult.EventOutcome.FAILED, null, ErrorCode.LOAD_NOT_FOUND,
+                        "Load not found: " + e.loadId()));
+                failed = true;
+            } else if (isAlreadyApplied(load, e.stop(), driverId)) {
+                outcomes.add(outcome(e, StopSyncResult.EventOutcome.ALREADY_APPLIED, null, null, null));
+            } else if (load.getCurrentStop() != e.stop()) {
+                outcomes.add(outcome(e, StopSyncResult.EventOutcome.FAILED, null, ErrorCode.LOAD_STATE_CONFLICT,
+                        "Load's next stop is " + load.getCurrentStop()));
+                failed = true;
+            } else {
+                switch (advanceStop(driver, activeShift, load, e.occurredAt(), false)) {
+                    case ServiceResult.Success<CompleteStopResult> ok -> {
+                        outcomes.add(outcome(e, StopSyncResult.EventOutcome.APPLIED, ok.value().completed(), null, null));
+                        if (load.getStatus() == Load.Status.COMPLETED) lastCompleted = load.getId();
+                    }
+                    case ServiceResult.Failure<CompleteStopResult> f -> {
+                        outcomes.add(outcome(e, StopSyncResult.EventOutcome.FAILED, null, f.code(), f.message()));
+                        failed = true;
+                    }
+                }
+            }
+        }
+
+        // One reservation for the whole batch, from wherever the last applied stop left the driver
+        Load openLoad = loadRepo.findOpenByDriverId(
+                driverId, List.of(Load.Status.RESERVED, Load.Status.IN_PROGRESS)
+        ).orElse(null);
+        LoadAssignmentResponse next = openLoad != null ? toAssignmentResponse(openLoad)
+                : driver.getCurrentLocation() != null ? reserveClosestFrom(driver, activeShift, lastCompleted)
+                : null;
+        return ServiceResult.success(new StopSyncResult(outcomes, next));
+    }
+
+    /**
+     * The stop state machine shared by {@link #completeNextStop} and {@link #syncStops}. {@code at} is
+     * when the stop happened (reservation expiry is checked against it); {@code reserveNext} controls
+     * the auto-reserve after a dropoff or an idempotent repeat.
+     */
+    private ServiceResult<CompleteStopResult> advanceStop(Driver driver, Shift activeShift, Load load,
+                                                          Instant at, boolean reserveNext) {
+        UUID driverId = driver.getId();
 
         /* Idempotency: if load already completed, return completed load + driver's next assignment (if any)
             or try to reserve one now (based on driver's current location)*/
         if (load.getStatus() == Load.Status.COMPLETED) {
+            if (!reserveNext) return ServiceResult.success(new CompleteStopResult(toAssignmentResponse(load), null));
             Load openLoad = loadRepo.findOpenByDriverId(
                     driverId, List.of(Load.Status.RESERVED, Load.Status.IN_PROGRESS)
             ).orElse(null);
@@ -105,48 +228,53 @@ public class AssignmentServiceImpl implements AssignmentService {
                             ? reserveClosestFrom(driver, activeShift, load.getId())
                             : null);
 
-            return new CompleteStopResult(
+            return ServiceResult.success(new CompleteStopResult(
                     toAssignmentResponse(load),
                     nextLoadAssignment
-            );
+            ));
         }
 
         // Ownership check for non-completed loads: requestor must be the assigned driver
         if (load.getAssignedDriver() == null || !driverId.equals(load.getAssignedDriver().getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Load not assigned to this driver");
+            return notAssigned();
         }
 
         // STATE MACHINE
         // RESERVED + PICKUP -> IN_PROGRESS + DROPOFF
         if (load.getStatus() == Load.Status.RESERVED && load.getCurrentStop() == Load.StopKind.PICKUP) {
             // pickup step: ensure reservation not expired
-            if (load.getReservationExpiresAt() != null && load.getReservationExpiresAt().isBefore(Instant.now())) {
-                // release and ask client to fetch again
-                releaseReservation(load);
-                throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation expired. Fetch assignment again.");
+            if (isExpiredReservation(load, at)) {
+                // release (committed with this result) and ask client to fetch again
+                releaseExpired(load);
+                return ServiceResult.conflict(ErrorCode.RESERVATION_EXPIRED,
+                        "Reservation expired. Fetch assignment again.");
             }
             load.setStatus(Load.Status.IN_PROGRESS);
             load.setCurrentStop(Load.StopKind.DROPOFF);
             load.setReservationExpiresAt(null);
+            expiryWheel.cancel(load.getId());
+            counters.loadMoved(Load.Status.RESERVED, Load.Status.IN_PROGRESS);
 
             // snap driver location to pickup
             driver.setCurrentLocation(load.getPickup());
             driverRepo.save(driver);
             loadRepo.save(load);
 
-            return new CompleteStopResult(
+            return ServiceResult.success(new CompleteStopResult(
                     toAssignmentResponse(load),   // same load, now IN_PROGRESS
                     null        // we don't search for a new load at pickup
-            );
+            ));
         }
 
         // IN_PROGRESS + DROPOFF -> COMPLETED and auto-assign next
         if (load.getStatus() == Load.Status.IN_PROGRESS && load.getCurrentStop() == Load.StopKind.DROPOFF) {
             load.setStatus(Load.Status.COMPLETED);
             load.setReservationExpiresAt(null);
+            counters.loadMoved(Load.Status.IN_PROGRESS, Load.Status.COMPLETED);
 
             // snap driver to dropoff; clear assignment, so they’re idle but on-shift
             driver.setCurrentLocation(load.getDropoff());
+            load.setCompletedBy(driver);
             load.setAssignedDriver(null);
             load.setAssignedShift(null);
 
@@ -154,15 +282,16 @@ public class AssignmentServiceImpl implements AssignmentService {
             loadRepo.save(load);
 
             // Immediately try to reserve the next closest based on new location
-            LoadAssignmentResponse nextLoadAssignment = reserveClosestFrom(driver, activeShift, load.getId());
+            LoadAssignmentResponse nextLoadAssignment =
+                    reserveNext ? reserveClosestFrom(driver, activeShift, load.getId()) : null;
 
-            return new CompleteStopResult(
+            return ServiceResult.success(new CompleteStopResult(
                     toAssignmentResponse(load),  // completed load
                     nextLoadAssignment       // next assignment (maybe null)
-            );
+            ));
         }
         //Any other combination of status/stop is invalid for "complete next stop"
-        throw new ResponseStatusException(HttpStatus.CONFLICT, "Invalid state for completing next stop");
+        return ServiceResult.conflict(ErrorCode.LOAD_STATE_CONFLICT, "Invalid state for completing next stop");
     }
 
     /**
@@ -171,15 +300,16 @@ public class AssignmentServiceImpl implements AssignmentService {
      * and the driver is already off shift.
      */
     @Override
+    @RetryOnConflict
     @Transactional
-    public RejectOutcome rejectReservedLoadAndEndShift(UUID driverId, UUID loadId) {
+    public ServiceResult<RejectOutcome> rejectReservedLoadAndEndShift(UUID driverId, UUID loadId) {
         // Load must exist and be RESERVED by this driver
-        Load load = loadRepo.findById(loadId)
-                .orElseThrow(() -> new EntityNotFoundException("Load not found: " + loadId));
+        Load load = loadRepo.findById(loadId).orElse(null);
+        if (load == null) return loadNotFound(loadId);
 
         // Ownership required for reject
         if (load.getAssignedDriver() == null || !driverId.equals(load.getAssignedDriver().getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Load not assigned to this driver");
+            return notAssigned();
         }
 
         //check if load has already been released or doesn't belong to driver
@@ -188,25 +318,25 @@ public class AssignmentServiceImpl implements AssignmentService {
                                 || !driverId.equals(load.getAssignedDriver().getId());
 
         // also check driver is already off-shift
-        boolean offShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId).isEmpty();
+        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId).orElse(null);
 
         // Idempotency/NO-OP: if the reservation is already released AND the driver is already off shift
-        if (alreadyReleased && offShift) {
-            return new RejectOutcome(driverId, null, loadId,
-                    "NO_OP_ALREADY_REJECTED_AND_SHIFT_ENDED", Instant.now());
+        if (alreadyReleased && activeShift == null) {
+            return ServiceResult.success(new RejectOutcome(driverId, null, loadId,
+                    "NO_OP_ALREADY_REJECTED_AND_SHIFT_ENDED", Instant.now()));
         }
 
 
         if (load.getStatus() != Load.Status.RESERVED) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only reserved loads can be rejected");
+            return ServiceResult.conflict(ErrorCode.LOAD_STATE_CONFLICT, "Only reserved loads can be rejected");
         }
+        // The active shift is ended below; check it before releasing anything
+        if (activeShift == null) return offShift();
 
         // Release the reservation back to the pool
         releaseReservation(load);
 
         // End the active shift
-        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driverId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Driver is off-shift"));
 
         Instant endedAt = Instant.now();
         activeShift.setEndTime(endedAt);
@@ -216,65 +346,67 @@ public class AssignmentServiceImpl implements AssignmentService {
         driver.setCurrentLocation(null);
         shiftRepo.save(activeShift);
         driverRepo.save(driver);
+        counters.shiftEnded();
 
-        return new RejectOutcome(
+        return ServiceResult.success(new RejectOutcome(
                 driverId,
                 activeShift.getId(),
                 loadId,
                 "REJECTED_AND_SHIFT_ENDED",
                 endedAt
-        );
+        ));
     }
 
     /**
      * After a load is created: tries to immediately reserve it for the closest eligible
-     * on-shift driver with no open load. No-op if none found or state changed concurrently.
+     * on-shift driver with no open load who has been heard from recently. No-op if none found or state changed concurrently.
      */
     @Override
     @Transactional
     public void tryAssignNewlyCreatedLoad(UUID loadId) {
-        // Load must exist and still be unassigned & awaiting driver
-        Load load = loadRepo.findById(loadId)
-                .orElseThrow(() -> new EntityNotFoundException("Load not found: " + loadId));
-
-        if (load.getStatus() != Load.Status.AWAITING_DRIVER || load.getPickup() == null) {
-            return; // nothing to do (might have been reserved by some other flow)
+        // Load must exist; the statement itself re-checks that it is still AWAITING_DRIVER
+        if (!loadRepo.existsById(loadId)) {
+            throw new EntityNotFoundException("Load not found: " + loadId);
         }
 
-        // Clean pool first (consistent with other flows)
-        loadRepo.releaseExpiredReservations(Instant.now());
-
-        // Find the closest on-shift driver with no open (RESERVED/IN_PROGRESS) load
-        double lat = load.getPickup().getY();
-        double lng = load.getPickup().getX();
-
-        Driver driver = driverRepo.findClosestAvailableDriver(lat, lng).orElse(null);
-        if (driver == null) return;
-
-        // Need the active shift to attach the reservation
-        Shift activeShift = shiftRepo.findByDriverIdAndEndTimeIsNull(driver.getId())
-                .orElse(null);
-        if (activeShift == null) return; // race: driver went off-shift
-
-        // Reserve this specific load for the chosen driver
+        // Pick the closest on-shift driver with no open load, attach their shift and reserve, in one statement
+        CandidateSearchEvent search = CandidateSearchEvent.start(CandidateSearchEvent.LOAD_FIRST);
+        UUID reservedFor = null;
+        int attempt = 0;
         try {
-            int updated = loadRepo.reserveById(loadId, driver.getId(), activeShift.getId(), RESERVATION_SECONDS);
-            // If updated == 0, someone else reserved or state changed; no-op.
-        } catch (DataIntegrityViolationException ignored) {
-            // Another request gave this driver an open load concurrently—ignore.
+            for (; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+                Instant now = Instant.now();  // the statement adds the TTL for the reserved load's priority
+                ReservationAttemptEvent tryEvent = ReservationAttemptEvent.start();
+                try {
+                    // Empty: load already taken/changed, or no eligible driver; no-op
+                    ReservedLoad r = loadRepo.reserveForClosestDriver(
+                            loadId, now, now.minus(driverSilence)).orElse(null);
+                    tryEvent.finish(CandidateSearchEvent.LOAD_FIRST, attempt + 1,
+                            r == null ? ReservationAttemptEvent.NO_CANDIDATE : ReservationAttemptEvent.RESERVED);
+                    if (r != null) {
+                        reservedFor = r.driverId();
+                        onReserved(r);
+                    }
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    // The chosen driver got an open load concurrently; pick again among the rest
+                    tryEvent.finish(CandidateSearchEvent.LOAD_FIRST, attempt + 1, ReservationAttemptEvent.LOST_RACE);
+                }
+            }
+        } finally {
+            search.finish(reservedFor, loadId, Math.min(attempt + 1, MAX_RESERVE_ATTEMPTS), reservedFor != null,
+                    Double.NaN);
         }
     }
 
 
     // ===================== Helpers =====================
     /**
-     * Internal: reserves the nearest AWAITING_DRIVER load for the given on-shift driver,
-     * excluding a specific load ID (e.g., the one just completed). Returns the assignment
+     * Internal: reserves the best-ranked AWAITING_DRIVER load (distance, priority, age) for the
+     * given on-shift driver, excluding a specific load ID (e.g., the one just completed). Returns the assignment
      * DTO if reserved, or null if none available.
      */
     private LoadAssignmentResponse reserveClosestFrom(Driver driver, Shift activeShift, UUID excludeId) {
-        loadRepo.releaseExpiredReservations(Instant.now());
-
         if (driver.getCurrentLocation() == null) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Driver location unknown; cannot assign");
         }
@@ -282,36 +414,112 @@ public class AssignmentServiceImpl implements AssignmentService {
         final double lat = driver.getCurrentLocation().getY();
         final double lng = driver.getCurrentLocation().getX();
 
-        // 1) Lock the nearest candidate (respect excludeId)
-        UUID candId = loadRepo.lockClosestAvailableId(lat, lng, excludeId).orElse(null);
-        if (candId == null) return null;
-
-        // 2) Reserve it atomically
+        // Lock the best-ranked candidate (respect excludeId), reserve it and read it back in one statement
+        CandidateSearchEvent search = CandidateSearchEvent.start(CandidateSearchEvent.DRIVER_FIRST);
+        ReservedLoad reserved = null;
+        int attempt = 0;
         try {
-            int updated = loadRepo.reserveById(candId, driver.getId(), activeShift.getId(), RESERVATION_SECONDS);
-            if (updated == 0) {
-                // Lost a race in the tiny window — just report no assignment
-                return null;
+            for (; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+                Instant now = Instant.now();  // the statement adds the TTL for the reserved load's priority
+                ReservationAttemptEvent tryEvent = ReservationAttemptEvent.start();
+                try {
+                    reserved = (reservationMode == ReservationProperties.Mode.OPTIMISTIC
+                            ? loadRepo.reserveRankedOptimistic(driver.getId(), activeShift.getId(), lat, lng, excludeId, now)
+                            : loadRepo.reserveRanked(driver.getId(), activeShift.getId(), lat, lng, excludeId, now))
+                            .orElse(null);
+                    tryEvent.finish(CandidateSearchEvent.DRIVER_FIRST, attempt + 1,
+                            reserved == null ? ReservationAttemptEvent.NO_CANDIDATE : ReservationAttemptEvent.RESERVED);
+                    if (reserved == null) return null;
+                    onReserved(reserved);
+                    return toAssignmentResponse(reserved);
+                } catch (DataIntegrityViolationException e) {
+                    tryEvent.finish(CandidateSearchEvent.DRIVER_FIRST, attempt + 1, ReservationAttemptEvent.LOST_RACE);
+                    // Unique index "one open per driver" tripped: a concurrent request reserved for this
+                    // driver and committed. Return that load; if it is already gone again, retry.
+                    Load stillOpen = loadRepo.findOpenByDriverId(
+                            driver.getId(), List.of(Load.Status.RESERVED, Load.Status.IN_PROGRESS)
+                    ).orElse(null);
+                    if (stillOpen != null) return toAssignmentResponse(stillOpen);
+                }
             }
-        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
-            // Unique index "one open per driver" may have tripped; return the already-open load if present
-            Load stillOpen = loadRepo.findOpenByDriverId(
-                    driver.getId(), List.of(Load.Status.RESERVED, Load.Status.IN_PROGRESS)
-            ).orElse(null);
-            if (stillOpen != null) return toAssignmentResponse(stillOpen);
-            throw e;
+            return null;
+        } finally {
+            search.finish(driver.getId(), reserved == null ? null : reserved.id(),
+                    Math.min(attempt + 1, MAX_RESERVE_ATTEMPTS), reserved != null,
+                    reserved == null ? Double.NaN : distanceKm(lat, lng, reserved.pickupLat(), reserved.pickupLng()));
         }
+    }
+
+
+    private void onReserved(ReservedLoad r) {
+        expiryWheel.track(r.id(), r.expiresAt());
+        counters.loadMoved(Load.Status.AWAITING_DRIVER, Load.Status.RESERVED);
+        Duration waited = Duration.between(r.createdAt(), Instant.now());
+        AfterCommit.run(() -> timeToReserve.record(waited));
+    }
+
+    private static <T> ServiceResult<T> driverNotFound(UUID driverId) {
+        return ServiceResult.notFound(ErrorCode.DRIVER_NOT_FOUND, "Driver not found: " + driverId);
+    }
+
+    private static <T> ServiceResult<T> loadNotFound(UUID loadId) {
+        return ServiceResult.notFound(ErrorCode.LOAD_NOT_FOUND, "Load not found: " + loadId);
+    }
+
+    private static <T> ServiceResult<T> offShift() {
+        return ServiceResult.conflict(ErrorCode.SHIFT_NOT_ACTIVE, "Driver is off-shift");
+    }
+
+    private static <T> ServiceResult<T> notAssigned() {
+        return ServiceResult.failure(HttpStatus.FORBIDDEN, ErrorCode.ACCESS_DENIED, "Load not assigned to this driver");
+    }
+
+    private static boolean isExpiredReservation(Load l) {
+        return isExpiredReservation(l, Instant.now());
+    }
+
+    private static boolean isExpiredReservation(Load l, Instant at) {
+        return l.getStatus() == Load.Status.RESERVED
+                && l.getReservationExpiresAt() != null
+                && !l.getReservationExpiresAt().isAfter(at);
+    }
 
-        // 3) Load and return DTO
-        Load reserved = loadRepo.findById(candId).orElseThrow();
-        return toAssignmentResponse(reserved);
+    /**
+     * A replayed stop this driver already got past: the load is completed by this driver, or picked up by
+     * this driver when the event is the pickup. Loads completed before V14 have no recorded completer and
+     * never match.
+     */
+    private static boolean isAlreadyApplied(Load l, Load.StopKind stop, UUID driverId) {
+        return switch (l.getStatus()) {
+            case COMPLETED -> isDriver(l.getCompletedBy(), driverId);
+            case IN_PROGRESS -> stop == Load.StopKind.PICKUP && isDriver(l.getAssignedDriver(), driverId);
+            default -> false;
+        };
+    }
+
+    private static boolean isDriver(Driver d, UUID driverId) {
+        return d != null && driverId.equals(d.getId());
     }
 
+    private static StopSyncResult.EventOutcome outcome(StopSyncRequest.StopEvent e, String result,
+                                                       LoadAssignmentResponse load, ErrorCode code, String message) {
+        return new StopSyncResult.EventOutcome(e.loadId(), e.stop().name(), result, load,
+                code == null ? null : code.name(), message);
+    }
+
+    /** Releases a reservation this request found lapsed before the expiry wheel got to it. */
+    private void releaseExpired(Load l) {
+        ExpiredReleaseEvent event = ExpiredReleaseEvent.start();
+        releaseReservation(l);
+        event.finish(ExpiredReleaseEvent.REQUEST, 1);
+    }
 
     /**
      * Internal: returns the load to AWAITING_DRIVER by clearing assignment and reservation metadata.
      */
     private void releaseReservation(Load l) {
+        expiryWheel.cancel(l.getId());
+        counters.loadMoved(l.getStatus(), Load.Status.AWAITING_DRIVER);
         l.setStatus(Load.Status.AWAITING_DRIVER);
         l.setAssignedDriver(null);
         l.setAssignedShift(null);
@@ -0,0 +1,72 @@
+package com.vorto.challenge.service.impl;
+
+import com.vorto.challenge.DTO.CompleteStopResult;
+import com.vorto.challenge.DTO.LoadAssignmentResponse;
+import com.vorto.challenge.DTO.RejectOutcome;
+import com.vorto.challenge.DTO.StopSyncRequest;
+import com.vorto.challenge.DTO.StopSyncResult;
+import com.vorto.challenge.common.SingleFlight;
+import com.vorto.challenge.service.AssignmentService;
+import com.vorto.challenge.service.ServiceResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Front door for {@link AssignmentService}: concurrent {@code getOrReserveLoad} calls for the same
+ * driver (retries, duplicate tabs, overlapping poll timers) share a single in-flight transaction.
+ * All other operations pass straight through to {@link AssignmentServiceImpl}.
+ *
+ * Callers must not already be inside a transaction, since a shared result is produced by
+ * another caller's transaction.
+ */
+@Service
+@Primary
+public class CoalescingAssignmentService implements AssignmentService {
+    private final AssignmentService delegate;
+    private final SingleFlight<UUID, ServiceResult<LoadAssignmentResponse>> polls = new SingleFlight<>();
+
+    public CoalescingAssignmentService(@Qualifier("assignmentServiceImpl") AssignmentService delegate,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        FunctionCounter.builder("dispatch.assignment.polls", polls, SingleFlight::executedCount)
+                .description("Assignment polls that ran getOrReserveLoad")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("dispatch.assignment.polls", polls, SingleFlight::sharedCount)
+                .description("Assignment polls collapsed onto an identical in-flight poll")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ServiceResult<LoadAssignmentResponse> getOrReserveLoad(UUID driverId) {
+        return polls.execute(driverId, () -> delegate.getOrReserveLoad(driverId));
+    }
+
+    @Override
+    public ServiceResult<CompleteStopResult> completeNextStop(UUID driverId, UUID loadId) {
+        return delegate.completeNextStop(driverId, loadId);
+    }
+
+    @Override
+    public ServiceResult<StopSyncResult> syncStops(UUID driverId, List<StopSyncRequest.StopEvent> events) {
+        return delegate.syncStops(driverId, events);
+    }
+
+    @Override
+    public ServiceResult<RejectOutcome> rejectReservedLoadAndEndShift(UUID driverId, UUID loadId) {
+        return delegate.rejectReservedLoadAndEndShift(driverId, loadId);
+    }
+
+    @Override
+    public void tryAssignNewlyCreatedLoad(UUID loadId) {
+        delegate.tryAssignNewlyCreatedLoad(loadId);
+    }
+}
@@ -1,15 +1,21 @@
 package com.vorto.challenge.service.impl;
 
 import com.vorto.challenge.DTO.*;
+import com.vorto.challenge.cache.DriverNameCache;
 import com.vorto.challenge.common.DriverMapper;
 import com.vorto.challenge.common.LoadMappers;
+import com.vorto.challenge.common.UuidV7;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
 import com.vorto.challenge.model.Driver;
 import com.vorto.challenge.model.Load;
 import com.vorto.challenge.model.Shift;
 import com.vorto.challenge.repository.DriverRepository;
 import com.vorto.challenge.repository.LoadRepository;
 import com.vorto.challenge.repository.ShiftRepository;
+import com.vorto.challenge.exception.ErrorCode;
 import com.vorto.challenge.service.DriverService;
+import com.vorto.challenge.service.ServiceResult;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
@@ -24,30 +30,53 @@ import static com.vorto.challenge.common.JtsGeo.toLatLng;
 import static com.vorto.challenge.common.TextNormalizer.normalizeUsername;
 
 @Service
+@UsePool(DataSourceRole.DRIVER)
 public class DriverServiceImpl implements DriverService {
     private final DriverRepository driverRepository;
     private final ShiftRepository shiftRepository;
     private final LoadRepository loadRepository;
+    private final DriverNameCache driverNameCache;
 
-    public DriverServiceImpl(DriverRepository driverRepository, ShiftRepository shiftRepository, LoadRepository loadRepository) {
+    public DriverServiceImpl(DriverRepository driverRepository, ShiftRepository shiftRepository,
+                             LoadRepository loadRepository, DriverNameCache driverNameCache) {
         this.driverRepository = driverRepository;
         this.shiftRepository = shiftRepository;
         this.loadRepository = loadRepository;
+        this.driverNameCache = driverNameCache;
     }
     @Override
     @Transactional
     public LoginOutcome loginOrCreate(LoginRequest request) {
         String normalized = normalizeUsername(request.username());
 
+        // Fast path: known name -> primary-key lookup
+        UUID cachedId = driverNameCache.get(normalized);
+        if (cachedId != null) {
+            Optional<Driver> cached = driverRepository.findById(cachedId);
+            if (cached.isPresent()) {
+                return new LoginOutcome(false, DriverMapper.toDto(cached.get()));
+            }
+            driverNameCache.evict(normalized);
+        }
+
         // If exists → return it with created=false
         Optional<Driver> existing = driverRepository.findByNameIgnoreCase(normalized);
         if (existing.isPresent()) {
+            driverNameCache.put(normalized, existing.get().getId());
             return new LoginOutcome(false, DriverMapper.toDto(existing.get()));
         }
 
-        // Else create → return created entity with created=true
-        Driver saved = driverRepository.save(newDriver(normalized));
-        return new LoginOutcome(true, DriverMapper.toDto(saved));
+        // Else create. Concurrent first logins of the same name race on the unique index;
+        // exactly one insert wins and the others pick up the winner's row.
+        UUID newId = UuidV7.next();
+        boolean created = driverRepository.insertIfAbsent(newId, normalized) == 1;
+        UUID id = created ? newId : driverRepository.findIdByName(normalized)
+                .orElseThrow(() -> new IllegalStateException("Driver disappeared during login: " + normalized));
+
+        Driver driver = driverRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Driver not found: " + id));
+        driverNameCache.put(normalized, id);
+        return new LoginOutcome(created, DriverMapper.toDto(driver));
     }
 
 
@@ -59,9 +88,11 @@ public class DriverServiceImpl implements DriverService {
 
     @Override
     @Transactional(readOnly = true)
-    public DriverStateResponse getDriverState(UUID driverId) {
-        Driver driver = driverRepository.findById(driverId)
-                .orElseThrow(() -> new EntityNotFoundException("Driver not found: " + driverId));
+    public ServiceResult<DriverStateResponse> getDriverState(UUID driverId) {
+        Driver driver = driverRepository.findById(driverId).orElse(null);
+        if (driver == null) {
+            return ServiceResult.notFound(ErrorCode.DRIVER_NOT_FOUND, "Driver not found: " + driverId);
+        }
 
         // Active shift (derived from DB, not just the boolean)
         Optional<Shift> optShift = shiftRepository.findByDriverIdAndEndTimeIsNull(driverId);
@@ -88,14 +119,7 @@ public class DriverServiceImpl implements DriverService {
                     .map(LoadMappers::toLoadSummaryDto)
                     .orElse(null);
         }
-        return new DriverStateResponse(driverDto, shiftDto, loadDto);
+        return ServiceResult.success(new DriverStateResponse(driverDto, shiftDto, loadDto));
     }
 
-    // ---- helpers ---------------------------------------------------
-    private Driver newDriver(String name) {
-        Driver d = new Driver();
-        d.setName(name);
-        d.setOnShift(false);
-        return d;
-    }
 }
@@ -1,35 +1,70 @@
 package com.vorto.challenge.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vorto.challenge.DTO.LoadChangesResponse;
+import com.vorto.challenge.DTO.LoadMapResponse;
 import com.vorto.challenge.DTO.LoadSummaryDto;
 import com.vorto.challenge.DTO.CreateLoadRequest;
+import com.vorto.challenge.common.ChangeToken;
 import com.vorto.challenge.common.LoadMappers;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.jfr.LoadCreateEvent;
 import com.vorto.challenge.model.Load;
 import com.vorto.challenge.repository.LoadRepository;
+import com.vorto.challenge.repository.LoadRow;
 import com.vorto.challenge.service.AssignmentService;
 import com.vorto.challenge.service.LoadService;
+import com.vorto.challenge.stats.DispatchCounters;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.locationtech.jts.geom.Point;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.vorto.challenge.common.JtsGeo.point;
 import static com.vorto.challenge.common.LoadMappers.toLoadSummaryDto;
 
+/** Admin-facing: runs on the admin pool, including exports and the map. */
 @Service
+@UsePool(DataSourceRole.ADMIN)
 public class LoadServiceImpl implements LoadService {
 
+    private static final int EXPORT_FLUSH_EVERY = 1000;
+
+    // Admin map: zoom at which individual loads replace clusters, and size caps for either mode
+    private static final int MAP_DETAIL_ZOOM = 13;
+    private static final int MAP_MAX_ZOOM = 22;
+    private static final int MAP_MAX_LOADS = 1000;
+    private static final int MAP_MAX_CLUSTERS = 2000;
+    private static final int MAP_CELL_PX = 64;          // cluster cell edge, in screen pixels
+    private static final int MAP_MAX_CELLS_ACROSS = 64; // also bounds cells for oversized boxes
+
+    private static final int CHANGES_MAX_LIMIT = 5000;
+
     private final LoadRepository loadRepository;
     private final AssignmentService assignmentService;
+    private final ObjectMapper objectMapper;
+    private final DispatchCounters counters;
     private static final Logger log = LoggerFactory.getLogger(LoadServiceImpl.class);
 
-    public LoadServiceImpl(LoadRepository loadRepository,AssignmentService assignmentService) {
+    public LoadServiceImpl(LoadRepository loadRepository, AssignmentService assignmentService,
+                           ObjectMapper objectMapper, DispatchCounters counters) {
         this.loadRepository = loadRepository;
         this.assignmentService = assignmentService;
+        this.objectMapper = objectMapper;
+        this.counters = counters;
     }
 
     @Override
@@ -53,7 +88,7 @@ public class LoadServiceImpl implements LoadService {
     @Override
     @Transactional
     public LoadSummaryDto create(CreateLoadRequest createLoadRequest) {
-
+        LoadCreateEvent event = LoadCreateEvent.start();
         Point pickup = point(createLoadRequest.pickup().lat(), createLoadRequest.pickup().lng());
         Point dropoff = point(createLoadRequest.dropoff().lat(), createLoadRequest.dropoff().lng());
 
@@ -62,10 +97,13 @@ public class LoadServiceImpl implements LoadService {
         load.setDropoff(dropoff);
         load.setStatus(Load.Status.AWAITING_DRIVER);
         load.setCurrentStop(Load.StopKind.PICKUP);
+        load.setPriority(createLoadRequest.priority() == null ? 0 : createLoadRequest.priority().shortValue());
+        load.setCreatedAt(Instant.now());
         // assignedDriver/assignedShift/reservationExpiresAt remain null
 
         // Persist first
         Load saved = loadRepository.save(load);
+        counters.loadCreated();
 
         // ---- defensive auto-assign: doesn't fail the request if this throws ----
         try {
@@ -77,7 +115,146 @@ public class LoadServiceImpl implements LoadService {
 
         // Re-read to reflect any assignment that may have happened
         Load refreshed = loadRepository.findById(saved.getId()).orElse(saved);
+        event.finish(refreshed.getId(), refreshed.getStatus().name());
         return toLoadSummaryDto(refreshed);
     }
 
+    /**
+     * Cursor-backed NDJSON export: rows go straight from the JDBC result set into the
+     * response stream, so memory stays flat regardless of table size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(Load.Status statusOpt, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<LoadRow> rows = loadRepository.streamRows(statusOpt == null ? null : statusOpt.name());
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+
+            Iterator<LoadRow> it = rows.iterator();
+            while (it.hasNext()) {
+                writeRow(gen, it.next());
+                gen.writeRaw('\n');
+                if (++written % EXPORT_FLUSH_EVERY == 0) gen.flush();
+            }
+        }
+        return written;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LoadMapResponse getMap(String bbox, int zoom, Load.Status statusOpt) {
+        if (zoom < 0 || zoom > MAP_MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom must be between 0 and " + MAP_MAX_ZOOM);
+        }
+        double[] box = parseBbox(bbox);
+        double minLng = box[0], minLat = box[1], maxLng = box[2], maxLat = box[3];
+        String status = statusOpt == null ? null : statusOpt.name();
+
+        if (zoom >= MAP_DETAIL_ZOOM) {
+            List<LoadMapResponse.MapLoad> loads = loadRepository
+                    .findPickupsInBox(minLng, minLat, maxLng, maxLat, status, MAP_MAX_LOADS + 1).stream()
+                    .map(p -> new LoadMapResponse.MapLoad(p.getId(), p.getStatus(), p.getLat(), p.getLng()))
+                    .toList();
+            boolean truncated = loads.size() > MAP_MAX_LOADS;
+            return new LoadMapResponse("LOADS", null, List.of(),
+                    truncated ? loads.subList(0, MAP_MAX_LOADS) : loads, truncated);
+        }
+
+        // ~MAP_CELL_PX screen pixels per cell (256px web-mercator tiles), widened if the box is huge
+        double cell = Math.max(MAP_CELL_PX * 360.0 / (256L << zoom),
+                Math.max(maxLng - minLng, maxLat - minLat) / MAP_MAX_CELLS_ACROSS);
+        List<LoadMapResponse.Cluster> clusters = loadRepository
+                .clusterPickups(minLng, minLat, maxLng, maxLat, cell, status, MAP_MAX_CLUSTERS + 1).stream()
+                .map(c -> new LoadMapResponse.Cluster(c.getLat(), c.getLng(), c.getCount()))
+                .toList();
+        boolean truncated = clusters.size() > MAP_MAX_CLUSTERS;
+        return new LoadMapResponse("CLUSTERS", cell,
+                truncated ? clusters.subList(0, MAP_MAX_CLUSTERS) : clusters, List.of(), truncated);
+    }
+
+    /**
+     * One snapshot (REPEATABLE READ) for both statements: every change_xid below its xmin is committed
+     * or aborted, so nothing can later appear behind the returned token. Once the page runs short the
+     * token jumps to xmin, so quiet feeds don't rescan; it never moves backwards, even on a lagging replica.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public LoadChangesResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > CHANGES_MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + CHANGES_MAX_LIMIT);
+        }
+        ChangeToken after = ChangeToken.parse(since);
+        long xmin = loadRepository.snapshotXmin();
+        List<LoadRepository.ChangeRow> rows = loadRepository.findChangesAfter(after.xid(), after.id(), xmin, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<LoadRepository.ChangeRow> page = hasMore ? rows.subList(0, limit) : rows;
+        ChangeToken next;
+        if (hasMore) {
+            LoadRepository.ChangeRow last = page.get(page.size() - 1);
+            next = new ChangeToken(last.getChangeXid(), last.getId());
+        } else {
+            ChangeToken caughtUp = new ChangeToken(xmin, ChangeToken.MIN_ID);
+            next = caughtUp.compareTo(after) > 0 ? caughtUp : after;
+        }
+        List<LoadChangesResponse.Change> changes = page.stream()
+                .map(r -> new LoadChangesResponse.Change(toLoadSummaryDto(r), r.getUpdatedAt()))
+                .toList();
+        return new LoadChangesResponse(changes, next.encode(), hasMore);
+    }
+
+    // ---- helpers ---------------------------------------------------
+
+    /** Same shape as {@link LoadSummaryDto}, written field by field. */
+    private static void writeRow(JsonGenerator gen, LoadRow r) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", r.getId().toString());
+        gen.writeStringField("status", r.getStatus());
+        gen.writeStringField("currentStop", r.getCurrentStop());
+        writeLocation(gen, "pickup", r.getPickupLat(), r.getPickupLng());
+        writeLocation(gen, "dropoff", r.getDropoffLat(), r.getDropoffLng());
+        if (r.getDriverId() == null) {
+            gen.writeNullField("assignedDriver");
+        } else {
+            gen.writeObjectFieldStart("assignedDriver");
+            gen.writeStringField("id", r.getDriverId().toString());
+            gen.writeStringField("name", r.getDriverName());
+            gen.writeEndObject();
+        }
+        gen.writeNumberField("priority", r.getPriority());
+        gen.writeStringField("createdAt", r.getCreatedAt().toString());
+        gen.writeEndObject();
+    }
+
+    /** "minLng,minLat,maxLng,maxLat" (WGS84, no antimeridian wrap) */
+    private static double[] parseBbox(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) box[i] = Double.parseDouble(parts[i].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        for (double v : box) {
+            if (!Double.isFinite(v)) throw new IllegalArgumentException("bbox must be finite numbers");
+        }
+        if (box[0] < -180 || box[2] > 180 || box[1] < -90 || box[3] > 90
+                || box[0] >= box[2] || box[1] >= box[3]) {
+            throw new IllegalArgumentException("bbox out of range or empty");
+        }
+        return box;
+    }
+
+    private static void writeLocation(JsonGenerator gen, String field, double lat, double lng) throws IOException {
+        gen.writeObjectFieldStart(field);
+        gen.writeNumberField("lat", lat);
+        gen.writeNumberField("lng", lng);
+        gen.writeEndObject();
+    }
+
 }
@@ -2,18 +2,22 @@ package com.vorto.challenge.service.impl;
 
 import com.vorto.challenge.DTO.DriverEndShiftDto;
 import com.vorto.challenge.DTO.DriverStartShiftDto;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.jfr.ShiftChangeEvent;
 import com.vorto.challenge.model.Driver;
 import com.vorto.challenge.model.Shift;
 import com.vorto.challenge.repository.DriverRepository;
 import com.vorto.challenge.repository.LoadRepository;
 import com.vorto.challenge.repository.ShiftRepository;
+import com.vorto.challenge.retry.RetryOnConflict;
 import com.vorto.challenge.service.ShiftService;
-import jakarta.persistence.EntityNotFoundException;
-import org.springframework.http.HttpStatus;
+import com.vorto.challenge.stats.DispatchCounters;
+import com.vorto.challenge.exception.ErrorCode;
+import com.vorto.challenge.service.ServiceResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.locationtech.jts.geom.Point;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
 import static com.vorto.challenge.common.JtsGeo.point;
 
@@ -22,31 +26,43 @@ import java.util.UUID;
 
 
 @Service
+@UsePool(DataSourceRole.DRIVER)
 public class ShiftServiceImpl implements ShiftService {
 
     private final DriverRepository driverRepository;
     private final ShiftRepository shiftRepository;
     private final LoadRepository loadRepository;
+    private final DispatchCounters counters;
 
-    public ShiftServiceImpl(DriverRepository driverRepository, ShiftRepository shiftRepository, LoadRepository loadRepository) {
+    public ShiftServiceImpl(DriverRepository driverRepository, ShiftRepository shiftRepository,
+                            LoadRepository loadRepository, DispatchCounters counters) {
         this.driverRepository = driverRepository;
         this.shiftRepository = shiftRepository;
         this.loadRepository = loadRepository;
+        this.counters = counters;
     }
     /**
      * Starts a new shift for the given driver at the provided coordinates.
      * Enforces "one active shift per driver" and updates the driver's state.
      */
     @Override
+    @RetryOnConflict
     @Transactional
-    public DriverStartShiftDto startShift(UUID driverId, double latitude, double longitude) {
-        Driver driver = driverRepository.findById(driverId)
-                .orElseThrow(() -> new EntityNotFoundException("Driver not found: " + driverId));
+    public ServiceResult<DriverStartShiftDto> startShift(UUID driverId, double latitude, double longitude) {
+        ShiftChangeEvent event = ShiftChangeEvent.start(ShiftChangeEvent.START);
+        ServiceResult<DriverStartShiftDto> result = doStartShift(driverId, latitude, longitude);
+        event.finish(driverId, outcome(result));
+        return result;
+    }
+
+    private ServiceResult<DriverStartShiftDto> doStartShift(UUID driverId, double latitude, double longitude) {
+        Driver driver = driverRepository.findById(driverId).orElse(null);
+        if (driver == null) return driverNotFound(driverId);
 
         // Guard against duplicates: either an existing shift row or onShift flag already true
         boolean hasActiveShift = shiftRepository.existsByDriverIdAndEndTimeIsNull(driverId) || driver.isOnShift();
         if (hasActiveShift) {
-            throw new IllegalStateException("Driver is already on shift.");
+            return ServiceResult.conflict(ErrorCode.SHIFT_ALREADY_ACTIVE, "Driver is already on shift.");
         }
 
         Point startPoint = point(latitude, longitude);
@@ -64,8 +80,9 @@ public class ShiftServiceImpl implements ShiftService {
         // Persist in a single transaction
         driverRepository.save(driver);
         shiftRepository.save(newShift);
+        counters.shiftStarted();
 
-        return new DriverStartShiftDto(newShift.getId(),driver.getId(),newShift.getStartTime());
+        return ServiceResult.success(new DriverStartShiftDto(newShift.getId(),driver.getId(),newShift.getStartTime()));
 
     }
 
@@ -74,18 +91,28 @@ public class ShiftServiceImpl implements ShiftService {
      * Disallows ending a shift if the driver still has an active (RESERVED/IN_PROGRESS) load.
      */
     @Override
+    @RetryOnConflict
     @Transactional
-    public DriverEndShiftDto endShift(UUID driverId) {
-        Driver driver = driverRepository.findById(driverId)
-                .orElseThrow(() -> new EntityNotFoundException("Driver not found: " + driverId));
+    public ServiceResult<DriverEndShiftDto> endShift(UUID driverId) {
+        ShiftChangeEvent event = ShiftChangeEvent.start(ShiftChangeEvent.END);
+        ServiceResult<DriverEndShiftDto> result = doEndShift(driverId);
+        event.finish(driverId, outcome(result));
+        return result;
+    }
+
+    private ServiceResult<DriverEndShiftDto> doEndShift(UUID driverId) {
+        Driver driver = driverRepository.findById(driverId).orElse(null);
+        if (driver == null) return driverNotFound(driverId);
 
         // Must have an active shift
-        Shift activeShift = shiftRepository.findByDriverIdAndEndTimeIsNull(driverId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Driver is off-shift"));
+        Shift activeShift = shiftRepository.findByDriverIdAndEndTimeIsNull(driverId).orElse(null);
+        if (activeShift == null) {
+            return ServiceResult.conflict(ErrorCode.SHIFT_NOT_ACTIVE, "Driver is off-shift");
+        }
 
         // Block if driver has an active load
         if (loadRepository.existsActiveByDriverId(driverId)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot end shift: driver has an active load");
+            return ServiceResult.conflict(ErrorCode.ACTIVE_LOAD_PRESENT, "Cannot end shift: driver has an active load");
         }
 
         // Close shift & flip flag
@@ -96,7 +123,16 @@ public class ShiftServiceImpl implements ShiftService {
         // Persist
         shiftRepository.save(activeShift);
         driverRepository.save(driver);
+        counters.shiftEnded();
+
+        return ServiceResult.success(new DriverEndShiftDto(activeShift.getId(),driver.getId(),activeShift.getEndTime()));
+    }
+
+    private static String outcome(ServiceResult<?> result) {
+        return result instanceof ServiceResult.Failure<?> f ? f.code().name() : "OK";
+    }
 
-        return new DriverEndShiftDto(activeShift.getId(),driver.getId(),activeShift.getEndTime());
+    private static <T> ServiceResult<T> driverNotFound(UUID driverId) {
+        return ServiceResult.notFound(ErrorCode.DRIVER_NOT_FOUND, "Driver not found: " + driverId);
     }
 }
@@ -0,0 +1,15 @@
+package com.vorto.challenge.simulation;
+
+/**
+ * A dispatch policy under test. Implementations must be stateless (one instance may serve
+ * several runs at once) and deterministic.
+ */
+public interface AssignmentStrategy {
+    String name();
+
+    /** Pull: a driver just became free. Return an open load to reserve for them, or null to leave them idle. */
+    SimLoad pickLoad(SimDriver driver, DispatchView view, long now);
+
+    /** Push: a load was created or released. Return an idle driver to reserve it for, or null to leave it open. */
+    SimDriver pickDriver(SimLoad load, DispatchView view, long now);
+}
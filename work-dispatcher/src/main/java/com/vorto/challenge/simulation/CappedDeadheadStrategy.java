@@ -0,0 +1,25 @@
+package com.vorto.challenge.simulation;
+
+/** Nearest matching, but never across more than {@code maxKm} of deadhead; loads out of reach wait. */
+public final class CappedDeadheadStrategy implements AssignmentStrategy {
+    private final double maxKm;
+
+    public CappedDeadheadStrategy(double maxKm) {
+        this.maxKm = maxKm;
+    }
+
+    @Override
+    public String name() {
+        return "capped:" + maxKm;
+    }
+
+    @Override
+    public SimLoad pickLoad(SimDriver driver, DispatchView view, long now) {
+        return view.nearestOpenLoad(driver.x(), driver.y(), maxKm);
+    }
+
+    @Override
+    public SimDriver pickDriver(SimLoad load, DispatchView view, long now) {
+        return view.nearestIdleDriver(load.x(), load.y(), maxKm);
+    }
+}
@@ -0,0 +1,23 @@
+package com.vorto.challenge.simulation;
+
+import java.util.function.Consumer;
+
+/** What a strategy may query: loads waiting for a driver and drivers waiting for a load. */
+public interface DispatchView {
+    SimLoad nearestOpenLoad(double x, double y);
+
+    /** Closest open load no farther than {@code maxKm}, or null; cheaper than an unbounded search. */
+    SimLoad nearestOpenLoad(double x, double y, double maxKm);
+
+    void forEachOpenLoadWithin(double x, double y, double radiusKm, Consumer<SimLoad> action);
+
+    SimDriver nearestIdleDriver(double x, double y);
+
+    SimDriver nearestIdleDriver(double x, double y, double maxKm);
+
+    void forEachIdleDriverWithin(double x, double y, double radiusKm, Consumer<SimDriver> action);
+
+    static double distanceKm(double x1, double y1, double x2, double y2) {
+        return Math.hypot(x2 - x1, y2 - y1);
+    }
+}
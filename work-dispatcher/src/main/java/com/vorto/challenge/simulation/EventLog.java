@@ -0,0 +1,61 @@
+package com.vorto.challenge.simulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-text event streams, one event per line:
+ * <pre>
+ * at,LOAD,id,pickupLat,pickupLng,dropoffLat,dropoffLng
+ * at,SHIFT_START,driverId,lat,lng
+ * at,SHIFT_END,driverId
+ * </pre>
+ * {@code at} is epoch millis; blank lines and lines starting with {@code #} are skipped.
+ */
+public final class EventLog {
+    private EventLog() {}
+
+    public static List<SimEvent> read(Reader in) throws IOException {
+        List<SimEvent> events = new ArrayList<>();
+        BufferedReader r = in instanceof BufferedReader b ? b : new BufferedReader(in);
+        String line;
+        int lineNo = 0;
+        while ((line = r.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] f = line.split(",");
+            try {
+                long at = Long.parseLong(f[0]);
+                events.add(switch (f[1]) {
+                    case "LOAD" -> new SimEvent.LoadCreated(at, f[2], Double.parseDouble(f[3]), Double.parseDouble(f[4]),
+                            Double.parseDouble(f[5]), Double.parseDouble(f[6]));
+                    case "SHIFT_START" -> new SimEvent.ShiftStarted(at, f[2], Double.parseDouble(f[3]),
+                            Double.parseDouble(f[4]));
+                    case "SHIFT_END" -> new SimEvent.ShiftEnded(at, f[2]);
+                    default -> throw new IllegalArgumentException("unknown event type " + f[1]);
+                });
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Bad event on line " + lineNo + ": " + line, e);
+            }
+        }
+        return events;
+    }
+
+    public static void write(List<SimEvent> events, Appendable out) throws IOException {
+        for (SimEvent e : events) {
+            switch (e) {
+                case SimEvent.LoadCreated c -> out.append(Long.toString(c.at())).append(",LOAD,").append(c.loadId())
+                        .append(',').append(Double.toString(c.pickupLat())).append(',').append(Double.toString(c.pickupLng()))
+                        .append(',').append(Double.toString(c.dropoffLat())).append(',').append(Double.toString(c.dropoffLng()));
+                case SimEvent.ShiftStarted s -> out.append(Long.toString(s.at())).append(",SHIFT_START,").append(s.driverId())
+                        .append(',').append(Double.toString(s.lat())).append(',').append(Double.toString(s.lng()));
+                case SimEvent.ShiftEnded s -> out.append(Long.toString(s.at())).append(",SHIFT_END,").append(s.driverId());
+            }
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.vorto.challenge.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Uniform-grid point index for nearest and radius queries. Items must not move while indexed.
+ * Nearest search scans rings of cells outward and stops once no unscanned cell can be closer.
+ */
+final class GridIndex<T extends Positioned> {
+    private final double cellKm;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private int size;
+    private int minCx = Integer.MAX_VALUE, maxCx = Integer.MIN_VALUE;
+    private int minCy = Integer.MAX_VALUE, maxCy = Integer.MIN_VALUE;
+    // scratch for nearest(); the index is single-threaded like its engine
+    private T best;
+    private double bestD2;
+
+    GridIndex(double cellKm) {
+        this.cellKm = cellKm;
+    }
+
+    void add(T item) {
+        int cx = cell(item.x()), cy = cell(item.y());
+        cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(item);
+        size++;
+        minCx = Math.min(minCx, cx);
+        maxCx = Math.max(maxCx, cx);
+        minCy = Math.min(minCy, cy);
+        maxCy = Math.max(maxCy, cy);
+    }
+
+    boolean remove(T item) {
+        long key = key(cell(item.x()), cell(item.y()));
+        List<T> bucket = cells.get(key);
+        if (bucket == null) return false;
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == item) {
+                bucket.remove(i);
+                if (bucket.isEmpty()) cells.remove(key);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    T nearest(double x, double y) {
+        return nearest(x, y, Double.POSITIVE_INFINITY);
+    }
+
+    /** Closest item no farther than {@code maxKm}, or null. */
+    T nearest(double x, double y, double maxKm) {
+        if (size == 0) return null;
+        int cx = cell(x), cy = cell(y);
+        int maxRing = Math.max(Math.max(cx - minCx, maxCx - cx), Math.max(cy - minCy, maxCy - cy));
+        if (maxKm < Double.POSITIVE_INFINITY) maxRing = Math.min(maxRing, (int) Math.ceil(maxKm / cellKm) + 1);
+        best = null;
+        bestD2 = maxKm < Double.POSITIVE_INFINITY ? maxKm * maxKm : Double.POSITIVE_INFINITY;
+        long side = 2L * maxRing + 1;
+        if (side * side > 4L * cells.size()) {
+            // sparse: fewer occupied cells than the rings would visit, so check them all
+            for (List<T> bucket : cells.values()) scan(bucket, x, y);
+            T found = best;
+            best = null;
+            return found;
+        }
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (ring == 0) {
+                scan(cx, cy, x, y);
+            } else {
+                for (int i = cx - ring; i <= cx + ring; i++) {
+                    scan(i, cy - ring, x, y);
+                    scan(i, cy + ring, x, y);
+                }
+                for (int j = cy - ring + 1; j <= cy + ring - 1; j++) {
+                    scan(cx - ring, j, x, y);
+                    scan(cx + ring, j, x, y);
+                }
+            }
+            // every cell beyond this ring is at least ring * cellKm away
+            double bound = ring * cellKm;
+            if (best != null && bestD2 <= bound * bound) break;
+        }
+        T found = best;
+        best = null;
+        return found;
+    }
+
+    private void scan(int cx, int cy, double x, double y) {
+        List<T> bucket = cells.get(key(cx, cy));
+        if (bucket != null) scan(bucket, x, y);
+    }
+
+    private void scan(List<T> bucket, double x, double y) {
+        for (T t : bucket) {
+            double d2 = dist2(x, y, t);
+            if (d2 < bestD2 || (d2 == bestD2 && best == null)) {
+                bestD2 = d2;
+                best = t;
+            }
+        }
+    }
+
+    void within(double x, double y, double radiusKm, Consumer<T> action) {
+        if (size == 0) return;
+        double r2 = radiusKm * radiusKm;
+        for (int i = cell(x - radiusKm); i <= cell(x + radiusKm); i++) {
+            for (int j = cell(y - radiusKm); j <= cell(y + radiusKm); j++) {
+                List<T> bucket = cells.get(key(i, j));
+                if (bucket == null) continue;
+                for (T t : bucket) {
+                    if (dist2(x, y, t) <= r2) action.accept(t);
+                }
+            }
+        }
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellKm);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static double dist2(double x, double y, Positioned p) {
+        double dx = p.x() - x, dy = p.y() - y;
+        return dx * dx + dy * dy;
+    }
+}
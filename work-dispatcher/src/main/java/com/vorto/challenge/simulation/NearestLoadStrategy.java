@@ -0,0 +1,19 @@
+package com.vorto.challenge.simulation;
+
+/** The production policy: free drivers take the closest open load; new loads go to the closest idle driver. */
+public final class NearestLoadStrategy implements AssignmentStrategy {
+    @Override
+    public String name() {
+        return "nearest";
+    }
+
+    @Override
+    public SimLoad pickLoad(SimDriver driver, DispatchView view, long now) {
+        return view.nearestOpenLoad(driver.x(), driver.y());
+    }
+
+    @Override
+    public SimDriver pickDriver(SimLoad load, DispatchView view, long now) {
+        return view.nearestIdleDriver(load.x(), load.y());
+    }
+}
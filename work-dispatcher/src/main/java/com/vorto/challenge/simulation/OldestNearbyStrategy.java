@@ -0,0 +1,32 @@
+package com.vorto.challenge.simulation;
+
+/**
+ * Fairness variant: a free driver takes the longest-waiting load within {@code radiusKm}, falling back
+ * to the closest one. Trades some deadhead for a shorter wait tail.
+ */
+public final class OldestNearbyStrategy implements AssignmentStrategy {
+    private final double radiusKm;
+
+    public OldestNearbyStrategy(double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    @Override
+    public String name() {
+        return "oldest-nearby:" + radiusKm;
+    }
+
+    @Override
+    public SimLoad pickLoad(SimDriver driver, DispatchView view, long now) {
+        SimLoad[] oldest = new SimLoad[1];
+        view.forEachOpenLoadWithin(driver.x(), driver.y(), radiusKm, l -> {
+            if (oldest[0] == null || l.createdAt() < oldest[0].createdAt()) oldest[0] = l;
+        });
+        return oldest[0] != null ? oldest[0] : view.nearestOpenLoad(driver.x(), driver.y());
+    }
+
+    @Override
+    public SimDriver pickDriver(SimLoad load, DispatchView view, long now) {
+        return view.nearestIdleDriver(load.x(), load.y());
+    }
+}
@@ -0,0 +1,7 @@
+package com.vorto.challenge.simulation;
+
+/** Something with a fixed planar position while it sits in a {@link GridIndex}. */
+interface Positioned {
+    double x();
+    double y();
+}
@@ -0,0 +1,23 @@
+package com.vorto.challenge.simulation;
+
+/**
+ * Driver behaviour and timing model.
+ *
+ * @param reservationTtlMillis how long a reservation waits for the driver's response (cf. {@code dispatch.reservation.ttl})
+ * @param meanResponseMillis   mean of the exponential time a driver takes to act on a reservation
+ * @param rejectProbability    chance a driver rejects a reservation, which also ends their shift
+ * @param speedKmh             travel speed, straight-line
+ * @param stopMillis           time spent at each pickup and dropoff
+ * @param seed                 seeds every draw; a given driver/load/offer gets the same draws under every strategy
+ */
+public record SimConfig(long reservationTtlMillis, long meanResponseMillis, double rejectProbability,
+                        double speedKmh, long stopMillis, long seed) {
+
+    public static SimConfig defaults() {
+        return new SimConfig(120_000, 30_000, 0.02, 35, 5 * 60_000, 42);
+    }
+
+    public SimConfig withSeed(long newSeed) {
+        return new SimConfig(reservationTtlMillis, meanResponseMillis, rejectProbability, speedKmh, stopMillis, newSeed);
+    }
+}
@@ -0,0 +1,22 @@
+package com.vorto.challenge.simulation;
+
+/** A driver in a simulation run; coordinates are planar km. Strategies only read it. */
+public final class SimDriver implements Positioned {
+    enum State { OFF, IDLE, RESERVED, TO_PICKUP, TO_DROPOFF }
+
+    private final String id;
+    final long key;
+    double x, y;
+    State state = State.OFF;
+    boolean endRequested;
+
+    SimDriver(String id) {
+        this.id = id;
+        this.key = SimulationEngine.mix(id.hashCode() * 0xC2B2AE3D27D4EB4FL + 1);
+    }
+
+    public String id() { return id; }
+    /** Current position. */
+    public double x() { return x; }
+    public double y() { return y; }
+}
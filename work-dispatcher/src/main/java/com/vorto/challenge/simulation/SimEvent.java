@@ -0,0 +1,20 @@
+package com.vorto.challenge.simulation;
+
+/**
+ * External input to a simulation run, ordered by {@link #at()} (epoch millis or any common origin).
+ *
+ * Only what the outside world decides is an event: loads appearing and drivers coming on or off shift.
+ * Reservations, responses, rejections and stop completions follow from the strategy's choices and are
+ * simulated by {@link SimulationEngine}, so they can't be replayed verbatim across strategies.
+ */
+public sealed interface SimEvent {
+    long at();
+
+    record LoadCreated(long at, String loadId, double pickupLat, double pickupLng,
+                       double dropoffLat, double dropoffLng) implements SimEvent {}
+
+    record ShiftStarted(long at, String driverId, double lat, double lng) implements SimEvent {}
+
+    /** A driver carrying a load finishes it first, as the API refuses to end a shift with an active load. */
+    record ShiftEnded(long at, String driverId) implements SimEvent {}
+}
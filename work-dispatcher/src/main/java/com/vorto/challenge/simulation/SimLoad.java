@@ -0,0 +1,32 @@
+package com.vorto.challenge.simulation;
+
+/** A load in a simulation run; coordinates are planar km. Strategies only read it. */
+public final class SimLoad implements Positioned {
+    enum State { OPEN, RESERVED, ACCEPTED, IN_PROGRESS, COMPLETED }
+
+    private final String id;
+    private final double x, y;
+    private final double dropoffX, dropoffY;
+    private final long createdAt;
+    final long key;
+    State state = State.OPEN;
+    int offers;
+
+    SimLoad(String id, double x, double y, double dropoffX, double dropoffY, long createdAt) {
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.dropoffX = dropoffX;
+        this.dropoffY = dropoffY;
+        this.createdAt = createdAt;
+        this.key = SimulationEngine.mix(id.hashCode() * 0x9E3779B97F4A7C15L);
+    }
+
+    public String id() { return id; }
+    /** Pickup position. */
+    public double x() { return x; }
+    public double y() { return y; }
+    public double dropoffX() { return dropoffX; }
+    public double dropoffY() { return dropoffY; }
+    public long createdAt() { return createdAt; }
+}
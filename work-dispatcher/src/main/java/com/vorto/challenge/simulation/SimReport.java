@@ -0,0 +1,40 @@
+package com.vorto.challenge.simulation;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one strategy over one event stream. Wait time runs from load creation to pickup;
+ * deadhead is the empty distance driven to each pickup.
+ */
+public record SimReport(
+        String strategy,
+        long loadsCreated,
+        long loadsCompleted,
+        long reservations,
+        long expiries,
+        long rejections,
+        long openAtEnd,
+        long inFlightAtEnd,
+        double deadheadKm,
+        double loadedKm,
+        double meanWaitMinutes,
+        double p50WaitMinutes,
+        double p95WaitMinutes,
+        double completedPerHour,
+        long eventsProcessed,
+        long wallMillis
+) {
+    public static String header() {
+        return String.format(Locale.ROOT, "%-22s %8s %9s %8s %7s %6s %7s %11s %9s %8s %8s %8s %9s %8s",
+                "strategy", "created", "completed", "reserved", "expired", "reject", "open",
+                "deadhead/ld", "wait avg", "p50", "p95", "done/h", "events", "wall ms");
+    }
+
+    public String row() {
+        double deadheadPerLoad = loadsCompleted == 0 ? 0 : deadheadKm / loadsCompleted;
+        return String.format(Locale.ROOT, "%-22s %8d %9d %8d %7d %6d %7d %9.2fkm %7.1fmin %7.1fm %7.1fm %9.1f %8d %8d",
+                strategy, loadsCreated, loadsCompleted, reservations, expiries, rejections, openAtEnd,
+                deadheadPerLoad, meanWaitMinutes, p50WaitMinutes, p95WaitMinutes, completedPerHour,
+                eventsProcessed, wallMillis);
+    }
+}
@@ -0,0 +1,311 @@
+package com.vorto.challenge.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Discrete-event replay of an event stream through one {@link AssignmentStrategy}, entirely in memory.
+ *
+ * Mirrors the service's flow: a new or released load is pushed to an idle driver ({@code
+ * tryAssignNewlyCreatedLoad}), a driver who becomes free pulls a load ({@code getOrReserveLoad}).
+ * A reserved driver responds after an exponential delay: past the TTL the reservation expires and
+ * both sides go back into the pool; a rejection releases the load and ends the shift. Accepted loads
+ * are driven straight-line at {@link SimConfig#speedKmh()} with a fixed stop time at each end.
+ *
+ * Positions are projected to planar km around the stream's mean latitude, which is accurate at
+ * city scale. The run stops at the last input event; unfinished work is reported, not drained.
+ * Not thread-safe: one engine per run.
+ */
+public final class SimulationEngine {
+    private static final double KM_PER_DEGREE = 111.195;
+    private static final double GRID_CELL_KM = 1.0;
+    private static final int ACCEPT = 0, REJECT = 1, EXPIRE = 2, AT_PICKUP = 3, AT_DROPOFF = 4;
+
+    private final List<SimEvent> events;
+    private final AssignmentStrategy strategy;
+    private final SimConfig cfg;
+    private final double kmPerDegreeLng;
+
+    private final Map<String, SimDriver> drivers = new HashMap<>();
+    private final Map<String, SimLoad> loads = new HashMap<>();
+    private final GridIndex<SimLoad> openLoads = new GridIndex<>(GRID_CELL_KM);
+    private final GridIndex<SimDriver> idleDrivers = new GridIndex<>(GRID_CELL_KM);
+    private final PriorityQueue<Pending> queue = new PriorityQueue<>();
+    private final DispatchView view = new View();
+    private long seq;
+
+    private long reservations, expiries, rejections, completed, processed;
+    private double deadheadKm, loadedKm;
+    private long[] waits = new long[1024];
+    private int waitCount;
+
+    public SimulationEngine(List<SimEvent> events, AssignmentStrategy strategy, SimConfig cfg) {
+        List<SimEvent> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparingLong(SimEvent::at));  // stable: ties keep input order
+        this.events = sorted;
+        this.strategy = strategy;
+        this.cfg = cfg;
+        this.kmPerDegreeLng = KM_PER_DEGREE * Math.cos(Math.toRadians(meanLatitude(sorted)));
+    }
+
+    public SimReport run() {
+        long started = System.nanoTime();
+        long horizon = events.isEmpty() ? 0 : events.get(events.size() - 1).at();
+        long first = events.isEmpty() ? 0 : events.get(0).at();
+        int next = 0;
+        while (true) {
+            boolean external = next < events.size()
+                    && (queue.isEmpty() || events.get(next).at() <= queue.peek().at());
+            if (external) {
+                handle(events.get(next++));
+            } else if (!queue.isEmpty() && queue.peek().at() <= horizon) {
+                handle(queue.poll());
+            } else {
+                break;
+            }
+            processed++;
+        }
+
+        long inFlight = loads.values().stream().filter(l -> l.state != SimLoad.State.OPEN
+                && l.state != SimLoad.State.COMPLETED).count();
+        long[] w = Arrays.copyOf(waits, waitCount);
+        Arrays.sort(w);
+        double hours = Math.max(1, horizon - first) / 3_600_000.0;
+        return new SimReport(strategy.name(), loads.size(), completed, reservations, expiries, rejections,
+                openLoads.size(), inFlight, deadheadKm, loadedKm,
+                minutes(w.length == 0 ? 0 : Arrays.stream(w).average().orElse(0)),
+                minutes(percentile(w, 0.50)), minutes(percentile(w, 0.95)),
+                completed / hours, processed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // ---- external events ----
+
+    private void handle(SimEvent e) {
+        long now = e.at();
+        switch (e) {
+            case SimEvent.LoadCreated c -> {
+                SimLoad l = new SimLoad(c.loadId(), x(c.pickupLng()), y(c.pickupLat()),
+                        x(c.dropoffLng()), y(c.dropoffLat()), now);
+                if (loads.putIfAbsent(l.id(), l) == null) offer(l, now);
+            }
+            case SimEvent.ShiftStarted s -> {
+                SimDriver d = drivers.computeIfAbsent(s.driverId(), SimDriver::new);
+                d.endRequested = false;
+                if (d.state == SimDriver.State.OFF) {
+                    d.x = x(s.lng());
+                    d.y = y(s.lat());
+                    free(d, now);
+                }
+            }
+            case SimEvent.ShiftEnded s -> {
+                SimDriver d = drivers.get(s.driverId());
+                if (d == null || d.state == SimDriver.State.OFF) return;
+                if (d.state == SimDriver.State.IDLE) {
+                    idleDrivers.remove(d);
+                    d.state = SimDriver.State.OFF;
+                } else {
+                    d.endRequested = true;  // finishes the current load first
+                }
+            }
+        }
+    }
+
+    // ---- simulated events ----
+
+    private void handle(Pending p) {
+        long now = p.at();
+        SimDriver d = p.driver();
+        SimLoad l = p.load();
+        switch (p.kind()) {
+            case ACCEPT -> {
+                double km = DispatchView.distanceKm(d.x, d.y, l.x(), l.y());
+                deadheadKm += km;
+                d.state = SimDriver.State.TO_PICKUP;
+                l.state = SimLoad.State.ACCEPTED;
+                schedule(now + travelMillis(km) + cfg.stopMillis(), AT_PICKUP, d, l);
+            }
+            case AT_PICKUP -> {
+                d.x = l.x();
+                d.y = l.y();
+                d.state = SimDriver.State.TO_DROPOFF;
+                l.state = SimLoad.State.IN_PROGRESS;
+                recordWait(now - l.createdAt());
+                double km = DispatchView.distanceKm(l.x(), l.y(), l.dropoffX(), l.dropoffY());
+                loadedKm += km;
+                schedule(now + travelMillis(km) + cfg.stopMillis(), AT_DROPOFF, d, l);
+            }
+            case AT_DROPOFF -> {
+                d.x = l.dropoffX();
+                d.y = l.dropoffY();
+                l.state = SimLoad.State.COMPLETED;
+                completed++;
+                free(d, now);
+            }
+            case EXPIRE -> {
+                expiries++;
+                offer(l, now);
+                free(d, now);
+            }
+            case REJECT -> {
+                rejections++;
+                d.state = SimDriver.State.OFF;
+                d.endRequested = false;
+                offer(l, now);
+            }
+            default -> throw new IllegalStateException("Unknown event kind " + p.kind());
+        }
+    }
+
+    /** A load needs a driver: push it, or leave it open for the next free driver. */
+    private void offer(SimLoad l, long now) {
+        l.state = SimLoad.State.OPEN;
+        SimDriver d = strategy.pickDriver(l, view, now);
+        if (d != null) {
+            idleDrivers.remove(d);
+            reserve(d, l, now);
+        } else {
+            openLoads.add(l);
+        }
+    }
+
+    /** A driver is free: let them pull a load, or park them as idle. */
+    private void free(SimDriver d, long now) {
+        if (d.endRequested) {
+            d.endRequested = false;
+            d.state = SimDriver.State.OFF;
+            return;
+        }
+        d.state = SimDriver.State.IDLE;
+        SimLoad l = strategy.pickLoad(d, view, now);
+        if (l != null) {
+            openLoads.remove(l);
+            reserve(d, l, now);
+        } else {
+            idleDrivers.add(d);
+        }
+    }
+
+    private void reserve(SimDriver d, SimLoad l, long now) {
+        if (d.state != SimDriver.State.IDLE || l.state != SimLoad.State.OPEN) {
+            throw new IllegalStateException(strategy.name() + " picked an unavailable driver or load");
+        }
+        reservations++;
+        int offer = l.offers++;
+        d.state = SimDriver.State.RESERVED;
+        l.state = SimLoad.State.RESERVED;
+
+        // exponential response time; same driver/load/offer -> same draws under any strategy
+        double u = uniform(d, l, offer, 1);
+        long response = (long) (-Math.log1p(-u) * cfg.meanResponseMillis());
+        if (response > cfg.reservationTtlMillis()) {
+            schedule(now + cfg.reservationTtlMillis(), EXPIRE, d, l);
+        } else if (uniform(d, l, offer, 2) < cfg.rejectProbability()) {
+            schedule(now + response, REJECT, d, l);
+        } else {
+            schedule(now + response, ACCEPT, d, l);
+        }
+    }
+
+    private void schedule(long at, int kind, SimDriver d, SimLoad l) {
+        queue.add(new Pending(at, seq++, kind, d, l));
+    }
+
+    private long travelMillis(double km) {
+        return (long) (km / cfg.speedKmh() * 3_600_000);
+    }
+
+    private double uniform(SimDriver d, SimLoad l, int offer, int salt) {
+        long h = mix(cfg.seed() ^ d.key ^ Long.rotateLeft(l.key, 17) ^ ((long) offer << 8 | salt));
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private void recordWait(long millis) {
+        if (waitCount == waits.length) waits = Arrays.copyOf(waits, waitCount * 2);
+        waits[waitCount++] = millis;
+    }
+
+    private double x(double lng) {
+        return lng * kmPerDegreeLng;
+    }
+
+    private double y(double lat) {
+        return lat * KM_PER_DEGREE;
+    }
+
+    /** SplitMix64 finalizer. */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double meanLatitude(List<SimEvent> events) {
+        double sum = 0;
+        int n = 0;
+        for (SimEvent e : events) {
+            if (e instanceof SimEvent.LoadCreated c) {
+                sum += c.pickupLat();
+                n++;
+            } else if (e instanceof SimEvent.ShiftStarted s) {
+                sum += s.lat();
+                n++;
+            }
+        }
+        return n == 0 ? 0 : sum / n;
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(q * sorted.length))];
+    }
+
+    private static double minutes(double millis) {
+        return millis / 60_000.0;
+    }
+
+    private record Pending(long at, long seq, int kind, SimDriver driver, SimLoad load) implements Comparable<Pending> {
+        @Override
+        public int compareTo(Pending o) {
+            int c = Long.compare(at, o.at);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+
+    private final class View implements DispatchView {
+        @Override
+        public SimLoad nearestOpenLoad(double x, double y) {
+            return openLoads.nearest(x, y);
+        }
+
+        @Override
+        public SimLoad nearestOpenLoad(double x, double y, double maxKm) {
+            return openLoads.nearest(x, y, maxKm);
+        }
+
+        @Override
+        public void forEachOpenLoadWithin(double x, double y, double radiusKm, Consumer<SimLoad> action) {
+            openLoads.within(x, y, radiusKm, action);
+        }
+
+        @Override
+        public SimDriver nearestIdleDriver(double x, double y) {
+            return idleDrivers.nearest(x, y);
+        }
+
+        @Override
+        public SimDriver nearestIdleDriver(double x, double y, double maxKm) {
+            return idleDrivers.nearest(x, y, maxKm);
+        }
+
+        @Override
+        public void forEachIdleDriverWithin(double x, double y, double radiusKm, Consumer<SimDriver> action) {
+            idleDrivers.within(x, y, radiusKm, action);
+        }
+    }
+}
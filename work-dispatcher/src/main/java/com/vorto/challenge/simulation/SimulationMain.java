@@ -0,0 +1,75 @@
+package com.vorto.challenge.simulation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point; needs only the compiled classes (no Spring context, no database):
+ * <pre>
+ * java -cp target/classes com.vorto.challenge.simulation.SimulationMain \
+ *     [--events=day.csv | --drivers=1000 --loads=8000 --seed=42] [--write-events=day.csv] \
+ *     [--strategies=nearest,oldest-nearby:5,capped:8] [--ttl-ms=120000] [--threads=N]
+ * </pre>
+ */
+public final class SimulationMain {
+    private SimulationMain() {}
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--") || !a.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + a);
+            opts.put(a.substring(2, a.indexOf('=')), a.substring(a.indexOf('=') + 1));
+        }
+        long seed = Long.parseLong(opts.getOrDefault("seed", "42"));
+        SimConfig defaults = SimConfig.defaults().withSeed(seed);
+        SimConfig cfg = new SimConfig(
+                Long.parseLong(opts.getOrDefault("ttl-ms", Long.toString(defaults.reservationTtlMillis()))),
+                Long.parseLong(opts.getOrDefault("response-ms", Long.toString(defaults.meanResponseMillis()))),
+                Double.parseDouble(opts.getOrDefault("reject", Double.toString(defaults.rejectProbability()))),
+                Double.parseDouble(opts.getOrDefault("speed-kmh", Double.toString(defaults.speedKmh()))),
+                Long.parseLong(opts.getOrDefault("stop-ms", Long.toString(defaults.stopMillis()))),
+                seed);
+
+        List<SimEvent> events;
+        if (opts.containsKey("events")) {
+            events = EventLog.read(Files.newBufferedReader(Path.of(opts.get("events"))));
+        } else {
+            events = SyntheticDay.generate(seed,
+                    Integer.parseInt(opts.getOrDefault("drivers", "1000")),
+                    Integer.parseInt(opts.getOrDefault("loads", "8000")),
+                    33.4484, -112.0740, 12);
+        }
+        if (opts.containsKey("write-events")) {
+            try (Writer w = Files.newBufferedWriter(Path.of(opts.get("write-events")))) {
+                EventLog.write(events, w);
+            }
+        }
+
+        List<AssignmentStrategy> strategies = new ArrayList<>();
+        for (String spec : opts.getOrDefault("strategies", "nearest,oldest-nearby:5,capped:8").split(",")) {
+            strategies.add(strategy(spec.trim()));
+        }
+        int threads = Integer.parseInt(opts.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+        System.out.printf("%d events, %d strategies, %d threads%n", events.size(), strategies.size(), threads);
+        System.out.println(SimReport.header());
+        for (SimReport r : SimulationRunner.runAll(events, strategies, cfg, threads)) System.out.println(r.row());
+    }
+
+    static AssignmentStrategy strategy(String spec) {
+        String[] p = spec.split(":", 2);
+        return switch (p[0]) {
+            case "nearest" -> new NearestLoadStrategy();
+            case "oldest-nearby" -> new OldestNearbyStrategy(p.length > 1 ? Double.parseDouble(p[1]) : 5);
+            case "capped" -> new CappedDeadheadStrategy(p.length > 1 ? Double.parseDouble(p[1]) : 8);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + spec);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.vorto.challenge.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** Runs several strategies over the same (shared, read-only) event stream, one engine per core. */
+public final class SimulationRunner {
+    private SimulationRunner() {}
+
+    /** Reports come back in {@code strategies} order. */
+    public static List<SimReport> runAll(List<SimEvent> events, List<AssignmentStrategy> strategies,
+                                         SimConfig cfg, int threads) {
+        List<SimEvent> shared = List.copyOf(events);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, strategies.size())));
+        try {
+            List<Future<SimReport>> futures = new ArrayList<>();
+            for (AssignmentStrategy s : strategies) {
+                futures.add(pool.submit(() -> new SimulationEngine(shared, s, cfg).run()));
+            }
+            List<SimReport> reports = new ArrayList<>();
+            for (Future<SimReport> f : futures) reports.add(f.get());
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.vorto.challenge.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A generated day of city traffic: loads arrive on a two-peak daily profile around a city centre,
+ * drivers work one 8-10 h shift starting between midnight and 16:00. Same arguments, same events.
+ */
+public final class SyntheticDay {
+    private static final long HOUR = 3_600_000;
+    private static final double KM_PER_DEGREE = 111.195;
+    // relative load arrivals per hour of day
+    private static final double[] HOURLY = {
+            1, 1, 1, 1, 2, 4, 7, 9, 10, 9, 8, 8,
+            8, 8, 8, 9, 10, 9, 7, 5, 4, 3, 2, 1
+    };
+
+    private SyntheticDay() {}
+
+    public static List<SimEvent> generate(long seed, int drivers, int loads,
+                                          double centreLat, double centreLng, double spreadKm) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        double latSigma = spreadKm / KM_PER_DEGREE;
+        double lngSigma = spreadKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(centreLat)));
+        double[] cumulative = new double[HOURLY.length];
+        double total = 0;
+        for (int h = 0; h < HOURLY.length; h++) cumulative[h] = (total += HOURLY[h]);
+
+        List<SimEvent> events = new ArrayList<>(2 * drivers + loads);
+        for (int i = 0; i < drivers; i++) {
+            String id = "d" + i;
+            long start = (long) (rnd.nextDouble() * 16 * HOUR);
+            long end = start + 8 * HOUR + (long) (rnd.nextDouble() * 2 * HOUR);
+            events.add(new SimEvent.ShiftStarted(start, id,
+                    centreLat + rnd.nextGaussian() * latSigma, centreLng + rnd.nextGaussian() * lngSigma));
+            events.add(new SimEvent.ShiftEnded(end, id));
+        }
+        for (int i = 0; i < loads; i++) {
+            double u = rnd.nextDouble() * total;
+            int hour = 0;
+            while (cumulative[hour] < u) hour++;
+            long at = hour * HOUR + (long) (rnd.nextDouble() * HOUR);
+            events.add(new SimEvent.LoadCreated(at, "l" + i,
+                    centreLat + rnd.nextGaussian() * latSigma, centreLng + rnd.nextGaussian() * lngSigma,
+                    centreLat + rnd.nextGaussian() * latSigma, centreLng + rnd.nextGaussian() * lngSigma));
+        }
+        events.sort(Comparator.comparingLong(SimEvent::at));
+        return events;
+    }
+}
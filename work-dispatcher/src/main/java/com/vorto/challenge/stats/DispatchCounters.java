@@ -0,0 +1,120 @@
+package com.vorto.challenge.stats;
+
+import com.vorto.challenge.DTO.DispatchStatsDto;
+import com.vorto.challenge.common.AfterCommit;
+import com.vorto.challenge.datasource.DataSourceRole;
+import com.vorto.challenge.datasource.UsePool;
+import com.vorto.challenge.model.Load;
+import com.vorto.challenge.repository.DriverRepository;
+import com.vorto.challenge.repository.LoadRepository;
+import com.vorto.challenge.scheduling.ReservationsExpiredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * O(1) dashboard counters: loads per status and on-shift / idle drivers.
+ *
+ * Services report each transition; it is applied after their transaction commits, so rolled-back
+ * work never counts. Writers the services don't see (other nodes, manual SQL, bulk loads) cause
+ * drift, which a periodic reconciliation against the database corrects.
+ *
+ * Reconciliation adds the difference between each count and the counter as sampled just before its
+ * query, rather than overwriting the counter, so transitions applied while the query runs are kept.
+ * A transition that commits between the sample and the query's snapshot is in both and is counted
+ * twice until the next reconciliation; that window is one round trip, not the length of the query.
+ *
+ * Idle drivers are derived: with at most one open load per driver, idle = on-shift - RESERVED
+ * - IN_PROGRESS, plus a correction taken at reconciliation for open loads held by off-shift drivers.
+ */
+@Component
+public class DispatchCounters {
+    private static final Logger log = LoggerFactory.getLogger(DispatchCounters.class);
+
+    private final LoadRepository loadRepository;
+    private final DriverRepository driverRepository;
+    private final AtomicLongArray loadsByStatus = new AtomicLongArray(Load.Status.values().length);
+    private final AtomicLong driversOnShift = new AtomicLong();
+    private volatile long idleCorrection;
+    private volatile Instant reconciledAt;
+
+    public DispatchCounters(LoadRepository loadRepository, DriverRepository driverRepository) {
+        this.loadRepository = loadRepository;
+        this.driverRepository = driverRepository;
+    }
+
+    public void loadCreated() {
+        AfterCommit.run(() -> loadsByStatus.incrementAndGet(Load.Status.AWAITING_DRIVER.ordinal()));
+    }
+
+    public void loadMoved(Load.Status from, Load.Status to) {
+        AfterCommit.run(() -> move(from, to, 1));
+    }
+
+    public void shiftStarted() {
+        AfterCommit.run(driversOnShift::incrementAndGet);
+    }
+
+    public void shiftEnded() {
+        AfterCommit.run(driversOnShift::decrementAndGet);
+    }
+
+    /** Published after the expiry transaction has committed. */
+    @EventListener
+    public void onReservationsExpired(ReservationsExpiredEvent event) {
+        move(Load.Status.RESERVED, Load.Status.AWAITING_DRIVER, event.loadIds().size());
+    }
+
+    public DispatchStatsDto snapshot() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Load.Status s : Load.Status.values()) byStatus.put(s.name(), loadsByStatus.get(s.ordinal()));
+        long onShift = driversOnShift.get();
+        long busy = byStatus.get(Load.Status.RESERVED.name()) + byStatus.get(Load.Status.IN_PROGRESS.name());
+        return new DispatchStatsDto(byStatus, onShift, Math.max(0, onShift - busy + idleCorrection), reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${dispatch.stats.reconcile-interval:5m}",
+            initialDelayString = "${dispatch.stats.reconcile-interval:5m}")
+    @UsePool(DataSourceRole.BACKGROUND)
+    public void reconcile() {
+        long[] sampled = new long[loadsByStatus.length()];
+        for (int i = 0; i < sampled.length; i++) sampled[i] = loadsByStatus.get(i);
+        Map<Load.Status, Long> actual = new EnumMap<>(Load.Status.class);
+        for (LoadRepository.StatusCount c : loadRepository.countByStatus()) {
+            actual.put(Load.Status.valueOf(c.getStatus()), c.getCount());
+        }
+        long sampledOnShift = driversOnShift.get();
+        DriverRepository.ShiftCounts drivers = driverRepository.countOnShiftAndIdle();
+
+        long drift = 0;
+        for (Load.Status s : Load.Status.values()) {
+            long diff = actual.getOrDefault(s, 0L) - sampled[s.ordinal()];
+            loadsByStatus.addAndGet(s.ordinal(), diff);
+            drift += Math.abs(diff);
+        }
+        long onShiftDiff = drivers.getOnShift() - sampledOnShift;
+        driversOnShift.addAndGet(onShiftDiff);
+        drift += Math.abs(onShiftDiff);
+        long busy = actual.getOrDefault(Load.Status.RESERVED, 0L) + actual.getOrDefault(Load.Status.IN_PROGRESS, 0L);
+        idleCorrection = drivers.getIdle() - (drivers.getOnShift() - busy);
+        boolean first = reconciledAt == null;
+        reconciledAt = Instant.now();
+        if (drift > 0 && !first) log.info("Dispatch counters reconciled; corrected drift of {}", drift);
+    }
+
+    private void move(Load.Status from, Load.Status to, long n) {
+        loadsByStatus.addAndGet(from.ordinal(), -n);
+        loadsByStatus.addAndGet(to.ordinal(), n);
+    }
+}
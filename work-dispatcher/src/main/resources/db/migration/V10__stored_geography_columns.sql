@@ -0,0 +1,22 @@
+-- Geography copies of the points that distance queries rank on, kept in step by Postgres.
+-- Queries read these instead of casting pickup / current_location to geography on every row.
+-- Adding a STORED generated column rewrites the table once (ACCESS EXCLUSIVE for the duration).
+
+ALTER TABLE loads
+    ADD COLUMN IF NOT EXISTS pickup_geog geography(Point,4326)
+        GENERATED ALWAYS AS (pickup::geography) STORED;
+
+ALTER TABLE drivers
+    ADD COLUMN IF NOT EXISTS location_geog geography(Point,4326)
+        GENERATED ALWAYS AS (current_location::geography) STORED;
+
+-- KNN (<->, sphere distance in metres) over awaiting pickups; replaces the planar geometry index from V8
+CREATE INDEX IF NOT EXISTS idx_loads_awaiting_pickup_geog_gix
+    ON loads USING GIST (pickup_geog)
+    WHERE status = 'AWAITING_DRIVER';
+DROP INDEX IF EXISTS idx_loads_awaiting_pickup_gix;
+
+-- Drivers who can take a load; the map and admission queries keep using the geometry index
+CREATE INDEX IF NOT EXISTS idx_drivers_on_shift_location_geog_gix
+    ON drivers USING GIST (location_geog)
+    WHERE on_shift;
@@ -0,0 +1,8 @@
+-- Driver heartbeat: when the driver app last called the API (flushed in batches, see DriverHeartbeats).
+-- Deliberately unindexed, so the frequent updates stay HOT (no index maintenance).
+
+ALTER TABLE drivers
+    ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMPTZ;
+
+-- Drivers already on shift get a fresh grace period instead of being treated as silent
+UPDATE drivers SET last_seen_at = now() WHERE on_shift;
@@ -0,0 +1,25 @@
+-- Delta sync: every insert or update of a load records when it happened and which transaction wrote it.
+-- change_xid (64-bit, never wraps) orders the feed; a reader only returns rows whose transaction is older
+-- than its snapshot's xmin, so a slow commit can never slip in behind a token already handed out.
+-- Both columns are maintained by the trigger, not by application code (native UPDATEs included).
+-- Rows that predate this migration get change_xid 0: a full sync (no token) still returns them.
+
+ALTER TABLE loads
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    ADD COLUMN IF NOT EXISTS change_xid xid8        NOT NULL DEFAULT '0';
+
+CREATE OR REPLACE FUNCTION loads_track_change() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := now();
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_loads_track_change ON loads;
+CREATE TRIGGER trg_loads_track_change
+    BEFORE INSERT OR UPDATE ON loads
+    FOR EACH ROW EXECUTE FUNCTION loads_track_change();
+
+-- Keyset pages over (change_xid, id)
+CREATE INDEX IF NOT EXISTS idx_loads_change_xid_id ON loads (change_xid, id);
@@ -0,0 +1,33 @@
+-- Cross-node cache invalidation: changes to cached tables are announced on the 'cache_invalidation'
+-- channel as '<table>:<op>:<id>' (see CacheInvalidationListener). NOTIFY is delivered on commit only,
+-- and identical payloads within one transaction are sent once.
+-- loads are not cached in-process, so they get no trigger.
+
+CREATE OR REPLACE FUNCTION notify_cache_invalidation() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('cache_invalidation',
+                      TG_TABLE_NAME || ':' || TG_OP || ':' ||
+                      CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- New drivers matter to cached login queries (findByNameIgnoreCase)
+DROP TRIGGER IF EXISTS trg_drivers_cache_notify ON drivers;
+CREATE TRIGGER trg_drivers_cache_notify
+    AFTER INSERT OR DELETE ON drivers
+    FOR EACH ROW EXECUTE FUNCTION notify_cache_invalidation();
+
+-- Only columns the entity maps: heartbeat flushes (last_seen_at) stay silent
+DROP TRIGGER IF EXISTS trg_drivers_cache_notify_update ON drivers;
+CREATE TRIGGER trg_drivers_cache_notify_update
+    AFTER UPDATE ON drivers
+    FOR EACH ROW
+    WHEN ((OLD.name, OLD.current_location, OLD.on_shift, OLD.version)
+          IS DISTINCT FROM (NEW.name, NEW.current_location, NEW.on_shift, NEW.version))
+    EXECUTE FUNCTION notify_cache_invalidation();
+
+DROP TRIGGER IF EXISTS trg_shifts_cache_notify ON shifts;
+CREATE TRIGGER trg_shifts_cache_notify
+    AFTER UPDATE OR DELETE ON shifts
+    FOR EACH ROW EXECUTE FUNCTION notify_cache_invalidation();
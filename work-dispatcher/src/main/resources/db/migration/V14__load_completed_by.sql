@@ -0,0 +1,12 @@
+-- Who completed a load: completion clears assigned_driver_id, so without this a replayed dropoff
+-- cannot tell the driver who finished the load from any other driver.
+-- Loads completed before this migration keep NULL (completer unknown).
+
+ALTER TABLE loads
+    ADD COLUMN IF NOT EXISTS completed_by_driver_id UUID NULL;
+
+ALTER TABLE loads
+    ADD CONSTRAINT fk_loads_completed_by FOREIGN KEY (completed_by_driver_id) REFERENCES drivers(id) ON DELETE SET NULL;
+
+-- Keeps ON DELETE SET NULL from scanning loads when a driver is removed
+CREATE INDEX IF NOT EXISTS idx_loads_completed_by ON loads(completed_by_driver_id);
@@ -0,0 +1,8 @@
+-- V6__drivers_name_lower_index.sql
+-- Login looks drivers up by lower(name); a plain btree on name can't serve that predicate,
+-- so every login was a sequential scan. Names are stored normalized (lower-case), so a
+-- unique index on lower(name) enforces the same rule and replaces uq_drivers_name.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_drivers_name_lower ON drivers (lower(name));
+
+DROP INDEX IF EXISTS uq_drivers_name;
@@ -0,0 +1,15 @@
+-- V7__idempotency_keys.sql
+-- Optional durable store for Idempotency-Key responses (dispatch.idempotency.persistent=true),
+-- so retries are still answered from the original response after a restart or on another node.
+-- Rows older than dispatch.idempotency.ttl are purged periodically.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key     text PRIMARY KEY,
+    fingerprint  text        NOT NULL,
+    status       int         NOT NULL,
+    content_type text,
+    body         bytea       NOT NULL,
+    created_at   timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
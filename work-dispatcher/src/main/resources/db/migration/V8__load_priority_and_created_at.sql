@@ -0,0 +1,23 @@
+-- V8__load_priority_and_created_at.sql
+-- Priority and creation time, so reservations can rank by distance, priority and age
+
+ALTER TABLE loads
+    ADD COLUMN IF NOT EXISTS priority SMALLINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- 0 = normal ... 3 = most urgent
+ALTER TABLE loads
+    ADD CONSTRAINT ck_loads_priority CHECK (priority BETWEEN 0 AND 3);
+
+-- Existing rows: recover the creation time from UUIDv7 ids (leading 48 bits are unix millis)
+UPDATE loads
+SET created_at = to_timestamp(('x' || substr(replace(id::text, '-', ''), 1, 12))::bit(48)::bigint / 1000.0)
+WHERE substr(id::text, 15, 1) = '7';
+
+-- Reserve candidates: nearest awaiting pickups (KNN) and the oldest awaiting loads
+CREATE INDEX IF NOT EXISTS idx_loads_awaiting_pickup_gix
+    ON loads USING GIST (pickup)
+    WHERE status = 'AWAITING_DRIVER';
+CREATE INDEX IF NOT EXISTS idx_loads_awaiting_created
+    ON loads (created_at)
+    WHERE status = 'AWAITING_DRIVER';
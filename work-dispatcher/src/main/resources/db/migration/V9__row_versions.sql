@@ -0,0 +1,6 @@
+-- Optimistic concurrency: JPA @Version on loads, drivers and shifts.
+-- Native statements that change these rows bump the version themselves.
+
+ALTER TABLE loads   ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE drivers ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE shifts  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
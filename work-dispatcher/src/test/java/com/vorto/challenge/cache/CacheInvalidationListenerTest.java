@@ -0,0 +1,93 @@
+package com.vorto.challenge.cache;
+
+import com.vorto.challenge.config.CacheInvalidationProperties;
+import com.vorto.challenge.model.Driver;
+import com.vorto.challenge.model.Shift;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationListenerTest {
+    private final Cache cache = mock(Cache.class);
+    private final DriverNameCache names = new DriverNameCache();
+    private final CacheInvalidationListener listener = listener();
+
+    @Test
+    void burstIsCoalescedToOneEvictionPerKey() {
+        UUID driver = UUID.randomUUID(), shift = UUID.randomUUID();
+        CacheInvalidationListener.Invalidations batch = new CacheInvalidationListener.Invalidations();
+        for (int i = 0; i < 50; i++) {
+            batch.add("drivers:UPDATE:" + driver);
+            batch.add("shifts:UPDATE:" + shift);
+        }
+        listener.apply(batch);
+
+        verify(cache, times(1)).evictEntityData(Driver.class, driver);
+        verify(cache, times(1)).evictEntityData(Shift.class, shift);
+        verify(cache, times(1)).evictQueryRegions();
+    }
+
+    @Test
+    void shiftChangesLeaveQueryRegionsAlone() {
+        UUID shift = UUID.randomUUID();
+        CacheInvalidationListener.Invalidations batch = new CacheInvalidationListener.Invalidations();
+        batch.add("shifts:DELETE:" + shift);
+        listener.apply(batch);
+
+        verify(cache, times(1)).evictEntityData(Shift.class, shift);
+        verify(cache, never()).evictEntityData(eq(Driver.class), any());
+        verify(cache, never()).evictQueryRegions();
+    }
+
+    @Test
+    void deletedDriversLeaveTheNameCache() {
+        UUID deleted = UUID.randomUUID(), updated = UUID.randomUUID();
+        names.put("gone", deleted);
+        names.put("kept", updated);
+        CacheInvalidationListener.Invalidations batch = new CacheInvalidationListener.Invalidations();
+        batch.add("drivers:DELETE:" + deleted);
+        batch.add("drivers:UPDATE:" + updated);
+        listener.apply(batch);
+
+        assertThat(names.get("gone")).isNull();
+        assertThat(names.get("kept")).isEqualTo(updated);
+    }
+
+    @Test
+    void malformedPayloadsAreIgnored() {
+        CacheInvalidationListener.Invalidations batch = new CacheInvalidationListener.Invalidations();
+        batch.add("drivers:UPDATE");
+        batch.add("drivers:UPDATE:not-a-uuid");
+        batch.add("loads:UPDATE:" + UUID.randomUUID());
+        listener.apply(batch);
+
+        verify(cache, never()).evictQueryRegions();
+        verify(cache, never()).evictAllRegions();
+    }
+
+    private CacheInvalidationListener listener() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        when(emf.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        // never started: apply() is driven directly
+        return new CacheInvalidationListener(new DataSourceProperties(), emf, names,
+                new CacheInvalidationProperties(true, Duration.ofMillis(50), Duration.ofSeconds(10), Duration.ofSeconds(30)),
+                new SimpleMeterRegistry());
+    }
+}
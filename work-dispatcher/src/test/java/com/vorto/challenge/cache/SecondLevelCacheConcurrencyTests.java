@@ -0,0 +1,164 @@
+package com.vorto.challenge.cache;
+
+import com.vorto.challenge.common.UuidV7;
+import com.vorto.challenge.model.Driver;
+import com.vorto.challenge.repository.DriverRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.vorto.challenge.common.JtsGeo.point;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache correctness against a real Postgres (like {@code contextLoads}): concurrent writers on
+ * the READ_WRITE {@link Driver} region, and writes that bypass Hibernate, as another node's would, reaching
+ * the cache through the V13 triggers and {@link CacheInvalidationListener}.
+ */
+@SpringBootTest
+@ActiveProfiles("perf")
+class SecondLevelCacheConcurrencyTests {
+    private static final long INVALIDATION_WAIT_MILLIS = 5_000;
+
+    @Autowired DriverRepository drivers;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired EntityManagerFactory emf;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(id -> jdbc.update("DELETE FROM drivers WHERE id = ?", id));
+    }
+
+    @Test
+    void concurrentUpdatesLeaveTheCachedEntityMatchingTheDatabase() throws Exception {
+        UUID id = insertDriver("l2-concurrent-" + UUID.randomUUID());
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        int threads = 8, updatesEach = 25;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> conflicts = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                conflicts.add(pool.submit(() -> {
+                    start.await();
+                    int lost = 0;
+                    for (int i = 0; i < updatesEach; i++) {
+                        while (true) {
+                            try {
+                                double lat = thread + i / 100.0;
+                                tx.executeWithoutResult(s -> {
+                                    Driver d = drivers.findById(id).orElseThrow();  // L2 read
+                                    d.setOnShift(!d.isOnShift());
+                                    d.setCurrentLocation(point(lat, -100.0));
+                                });
+                                break;
+                            } catch (OptimisticLockingFailureException e) {
+                                lost++;  // read a stale version (cache or db); retry on fresh state
+                            }
+                        }
+                    }
+                    return lost;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> f : conflicts) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT version, on_shift, ST_Y(current_location) AS lat FROM drivers WHERE id = ?", id);
+        assertThat(((Number) row.get("version")).longValue()).isEqualTo((long) threads * updatesEach);
+
+        // this node's own notifications may still evict the entry; the next read puts it back
+        assertThat(await(() -> {
+            tx.execute(s -> drivers.findById(id).orElseThrow());
+            return cache().containsEntity(Driver.class, id);
+        })).isTrue();
+        Driver cached = tx.execute(s -> drivers.findById(id).orElseThrow());
+        assertThat(cached.getVersion()).isEqualTo(((Number) row.get("version")).longValue());
+        assertThat(cached.isOnShift()).isEqualTo(row.get("on_shift"));
+        assertThat(cached.getCurrentLocation().getY()).isEqualTo(((Number) row.get("lat")).doubleValue());
+    }
+
+    @Test
+    void updateFromAnotherNodeEvictsTheCachedEntity() {
+        UUID id = insertDriver("l2-remote-" + UUID.randomUUID());
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.execute(s -> drivers.findById(id).orElseThrow());
+        assertThat(cache().containsEntity(Driver.class, id)).isTrue();
+
+        String renamed = "l2-renamed-" + UUID.randomUUID();
+        jdbc.update("UPDATE drivers SET name = ?, version = version + 1 WHERE id = ?", renamed, id);
+
+        assertThat(await(() -> !cache().containsEntity(Driver.class, id))).isTrue();
+        String name = tx.execute(s -> drivers.findById(id).orElseThrow().getName());
+        assertThat(name).isEqualTo(renamed);
+    }
+
+    @Test
+    void insertFromAnotherNodeInvalidatesCachedLoginLookup() {
+        String name = "l2-login-" + UUID.randomUUID();
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        Optional<Driver> missing = tx.execute(s -> drivers.findByNameIgnoreCase(name));
+        assertThat(missing).isEmpty();  // cached empty result
+
+        UUID id = insertDriver(name);
+
+        assertThat(await(() -> tx.execute(s -> drivers.findByNameIgnoreCase(name)).isPresent())).isTrue();
+        UUID found = tx.execute(s -> drivers.findByNameIgnoreCase(name).orElseThrow().getId());
+        assertThat(found).isEqualTo(id);
+    }
+
+    /** Plain JDBC: Hibernate never sees the write, so only the NOTIFY path can invalidate. */
+    private UUID insertDriver(String name) {
+        UUID id = UuidV7.next();
+        jdbc.update("INSERT INTO drivers (id, name, on_shift) VALUES (?, ?, false)", id, name);
+        created.add(id);
+        return id;
+    }
+
+    private Cache cache() {
+        return emf.unwrap(SessionFactory.class).getCache();
+    }
+
+    private static boolean await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + INVALIDATION_WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) return true;
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,37 @@
+package com.vorto.challenge.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeTokenTest {
+
+    @Test
+    void roundTripsAndMissingTokenMeansStart() {
+        ChangeToken t = new ChangeToken(762, UuidV7.next());
+        assertThat(ChangeToken.parse(t.encode())).isEqualTo(t);
+        assertThat(t.encode()).matches("[A-Za-z0-9_-]{32}");
+        assertThat(ChangeToken.parse(null)).isEqualTo(ChangeToken.START);
+        assertThat(ChangeToken.parse(" ")).isEqualTo(ChangeToken.START);
+    }
+
+    @Test
+    void ordersByXidThenUnsignedId() {
+        UUID low = UUID.fromString("00000000-0000-7000-8000-000000000001");
+        UUID high = UUID.fromString("ffffffff-0000-7000-8000-000000000001");  // negative msb
+        assertThat(new ChangeToken(5, high)).isGreaterThan(new ChangeToken(5, low));
+        assertThat(new ChangeToken(6, low)).isGreaterThan(new ChangeToken(5, high));
+        assertThat(ChangeToken.START).isLessThan(new ChangeToken(0, low));
+    }
+
+    @Test
+    void rejectsForeignTokens() {
+        assertThatThrownBy(() -> ChangeToken.parse("not a token")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChangeToken.parse("AAAA")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChangeToken.parse("_____________________________w"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.vorto.challenge.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRefusesWithWaitUntilNextToken() {
+        GcraRateLimiter limiter = new GcraRateLimiter(2, 3);  // one token per 500ms
+        long now = 10 * SECOND;
+
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire(now)).isZero();
+        assertThat(limiter.utilization(now)).isEqualTo(1.0);
+        assertThat(limiter.tryAcquire(now)).isEqualTo(SECOND / 2);
+
+        assertThat(limiter.tryAcquire(now + SECOND / 2)).isZero();
+        assertThat(limiter.tryAcquire(now + SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void sustainedRateIsAdmittedAndIdleTimeRefillsTheBurst() {
+        GcraRateLimiter limiter = new GcraRateLimiter(10, 5);
+        long now = 0;
+        for (int i = 0; i < 100; i++, now += SECOND / 10) assertThat(limiter.tryAcquire(now)).isZero();
+
+        now += 10 * SECOND;
+        assertThat(limiter.utilization(now)).isZero();
+        for (int i = 0; i < 5; i++) assertThat(limiter.tryAcquire(now)).isZero();
+        assertThat(limiter.tryAcquire(now)).isPositive();
+    }
+}
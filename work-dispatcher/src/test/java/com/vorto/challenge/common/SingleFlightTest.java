@@ -0,0 +1,78 @@
+package com.vorto.challenge.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int followers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(followers + 1);
+        try {
+            Future<Integer> leader = pool.submit(() -> flight.execute("d1", () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return 42;
+            }));
+            assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Integer>> rest = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                rest.add(pool.submit(() -> flight.execute("d1", () -> {
+                    calls.incrementAndGet();
+                    return -1;
+                })));
+            }
+            // let the followers park on the leader's future before releasing it
+            while (flight.sharedCount() < followers) Thread.onSpinWait();
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            for (Future<Integer> f : rest) assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(flight.executedCount()).isEqualTo(1);
+        assertThat(flight.sharedCount()).isEqualTo(followers);
+    }
+
+    @Test
+    void failureIsRethrownAndNotRemembered() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flight.execute("d1", () -> { throw new IllegalStateException("boom"); }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+
+        assertThat(flight.execute("d1", () -> 7)).isEqualTo(7);
+        assertThat(flight.executedCount()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
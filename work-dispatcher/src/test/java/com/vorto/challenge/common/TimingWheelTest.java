@@ -0,0 +1,63 @@
+package com.vorto.challenge.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+    private static final long TICK = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void firesOnTheTickAfterTheDeadlineAcrossLevels() {
+        // 4 slots per level, 3 levels: exercises cascading and the parked-beyond-horizon path
+        TimingWheel<Integer> wheel = new TimingWheel<>(Duration.ofMillis(100), 2, 3, 0);
+        Random rnd = new Random(7);
+        long[] deadlines = new long[500];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = 1 + (long) (rnd.nextDouble() * 200 * TICK);
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        for (long now = 0; now <= 201 * TICK; now += TICK) {
+            for (int key : wheel.advanceTo(now)) {
+                long deadline = deadlines[key];
+                assertThat(now).as("key %d fired early", key).isGreaterThanOrEqualTo(deadline);
+                assertThat(now - deadline).as("key %d fired late", key).isLessThan(TICK);
+                fired.add(key);
+            }
+        }
+        assertThat(fired).hasSize(deadlines.length).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceEarlierDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 8, 3, 0);
+        wheel.schedule("a", 5 * TICK);
+        wheel.schedule("b", 5 * TICK);
+        wheel.schedule("a", 50 * TICK);
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+
+        assertThat(wheel.advanceTo(10 * TICK)).isEmpty();
+        assertThat(wheel.advanceTo(50 * TICK)).containsExactly("a");
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTickAndCatchUpIsLossless() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 8, 3, 0);
+        wheel.advanceTo(1_000 * TICK);
+        wheel.schedule("late", 0);
+        wheel.schedule("far", 1_000 * TICK + Duration.ofHours(2).toNanos());
+
+        assertThat(wheel.advanceTo(1_001 * TICK)).containsExactly("late");
+        // a stalled ticker catching up hours at once still fires everything due
+        assertThat(wheel.advanceTo(1_000 * TICK + Duration.ofHours(3).toNanos())).containsExactly("far");
+    }
+}
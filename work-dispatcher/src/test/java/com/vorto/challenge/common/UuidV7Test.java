@@ -0,0 +1,42 @@
+package com.vorto.challenge.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void idsAreVersion7AndStrictlyIncreasing() {
+        long before = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) ids.add(UuidV7.next()); // well past 4096 per millisecond
+
+        UUID prev = null;
+        for (UUID id : ids) {
+            assertThat(id.version()).isEqualTo(7);
+            assertThat(id.variant()).isEqualTo(2);
+            // unsigned comparison: matches Postgres' byte-wise uuid ordering
+            if (prev != null) assertThat(compareUnsigned(prev, id)).isNegative();
+            prev = id;
+        }
+        assertThat(UuidV7.epochMillis(ids.get(0))).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void explicitPartsAreReproducible() {
+        UUID a = UuidV7.of(1_700_000_000_000L, 5, 42L);
+        assertThat(UuidV7.of(1_700_000_000_000L, 5, 42L)).isEqualTo(a);
+        assertThat(UuidV7.epochMillis(a)).isEqualTo(1_700_000_000_000L);
+        assertThat(a.version()).isEqualTo(7);
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,35 @@
+package com.vorto.challenge.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vorto.challenge.bench.PayloadFormatBench;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and round trip of the driver-app DTOs, JSON vs CBOR. Serialization cost is measured by
+ * {@link PayloadFormatBench} ("payload-bench" profile), not here.
+ */
+class PayloadFormatTest {
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper cbor = CborConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+
+    @Test
+    void cborIsSmallerAndRoundTrips() throws Exception {
+        for (Map.Entry<String, Object> e : PayloadFormatBench.samples().entrySet()) {
+            Object value = e.getValue();
+            byte[] j = json.writeValueAsBytes(value);
+            byte[] c = cbor.writeValueAsBytes(value);
+
+            assertThat(c.length).as(e.getKey()).isLessThan(j.length * 3 / 4);
+            assertThat(cbor.readValue(c, value.getClass())).as(e.getKey()).isEqualTo(value);
+            assertThat(json.readValue(j, value.getClass())).as(e.getKey()).isEqualTo(value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.vorto.challenge.datagen;
+
+import com.vorto.challenge.config.DatagenProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatasetGeneratorTest {
+
+    @Test
+    void sameSeedProducesIdenticalRows() throws IOException {
+        assertThat(generate(7)).isEqualTo(generate(7));
+        assertThat(generate(7)).isNotEqualTo(generate(8));
+    }
+
+    @Test
+    void rowsMatchConfiguredSizesAndCopyFormat() throws IOException {
+        DatasetGenerator gen = new DatasetGenerator(props(7));
+        StringBuilder drivers = new StringBuilder(), shifts = new StringBuilder(), loads = new StringBuilder();
+        assertThat(gen.writeDrivers(drivers)).isEqualTo(200);
+        long shiftRows = gen.writeShifts(shifts);
+        assertThat(gen.writeLoads(loads)).isEqualTo(5_000);
+
+        assertThat(drivers.toString().lines()).hasSize(200)
+                .allSatisfy(l -> assertThat(l.split("\t", -1)).hasSize(5))
+                // on-shift drivers are heard from at asOf; off-shift ones never
+                .allSatisfy(l -> assertThat(l).endsWith(l.contains("\tt\t") ? "\t2025-01-01T00:00:00Z" : "\tf\t\\N"));
+        assertThat(shifts.toString().lines()).hasSize((int) shiftRows)
+                .allSatisfy(l -> assertThat(l.split("\t", -1)).hasSize(5));
+        assertThat(loads.toString().lines()).hasSize(5_000)
+                .allSatisfy(l -> assertThat(l.split("\t", -1)).hasSize(9))
+                .anySatisfy(l -> assertThat(l).contains("\tIN_PROGRESS\tDROPOFF\t"))
+                .anySatisfy(l -> assertThat(l).contains("\tAWAITING_DRIVER\tPICKUP\t\\N\t\\N\t"));
+        // 4 closed shifts each, plus an open one (end_time NULL) per on-shift driver
+        long open = shifts.toString().lines().filter(l -> l.split("\t")[3].equals("\\N")).count();
+        assertThat(shiftRows).isEqualTo(200 * 4 + open);
+    }
+
+    private static String generate(long seed) throws IOException {
+        DatasetGenerator gen = new DatasetGenerator(props(seed));
+        StringBuilder out = new StringBuilder();
+        gen.writeDrivers(out);
+        gen.writeShifts(out);
+        gen.writeLoads(out);
+        return out.toString();
+    }
+
+    private static DatagenProperties props(long seed) {
+        return new DatagenProperties(seed, 200, 5_000, 10, 4, 0.3, 0.5, 0.1,
+                Instant.parse("2025-01-01T00:00:00Z"), false);
+    }
+}
@@ -0,0 +1,80 @@
+package com.vorto.challenge.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final PreparedStatement lagQuery = mock(PreparedStatement.class);
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5),
+            Duration.ofSeconds(1), new SimpleMeterRegistry());  // never started: check() is driven directly
+
+    @Test
+    void lagIsMeasuredAgainstThePrimaryPosition() throws SQLException {
+        primaryAt("0/3000060");
+        replicaReports(0);
+
+        monitor.check();
+
+        verify(lagQuery).setString(1, "0/3000060");
+        assertThat(monitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void replicaBeyondMaxLagIsNotUsed() throws SQLException {
+        primaryAt("0/3000060");
+        replicaReports(60_000);
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void unreachablePrimaryMakesTheReplicaUnusable() throws SQLException {
+        primaryAt("0/3000060");
+        replicaReports(0);
+        monitor.check();
+        when(primary.getConnection()).thenThrow(new SQLException("primary down"));
+
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    private void primaryAt(String lsn) throws SQLException {
+        Connection conn = mock(Connection.class);
+        Statement st = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(primary.getConnection()).thenReturn(conn);
+        when(conn.createStatement()).thenReturn(st);
+        when(st.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getString(1)).thenReturn(lsn);
+    }
+
+    private void replicaReports(long lagMillis) throws SQLException {
+        Connection conn = mock(Connection.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(conn);
+        when(conn.prepareStatement(anyString())).thenReturn(lagQuery);
+        when(lagQuery.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(lagMillis);
+    }
+}
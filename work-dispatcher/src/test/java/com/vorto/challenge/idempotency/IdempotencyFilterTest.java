@@ -0,0 +1,62 @@
+package com.vorto.challenge.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    @Test
+    void storesAnswersIncludingClientErrors() {
+        for (int status : new int[]{200, 201, 204, 400, 404, 409, 422}) {
+            assertThat(IdempotencyFilter.isFinal(status)).as("status %d", status).isTrue();
+        }
+    }
+
+    @Test
+    void releasesKeyWhenRequestNeverRanOrFailed() {
+        // 429: admission refused before the handler, so a retry with the same key must run the action
+        for (int status : new int[]{429, 500, 502, 503, 504}) {
+            assertThat(IdempotencyFilter.isFinal(status)).as("status %d", status).isFalse();
+        }
+    }
+
+    @Test
+    void sameKeyFromDifferentDriversDoesNotCollide() {
+        String a = IdempotencyFilter.scopedKey("/api/drivers/3bfd7de8-3ead-4443-9abd-53dd8cc85ec0/stops/sync", "k1");
+        String b = IdempotencyFilter.scopedKey("/api/drivers/44e2e372-c01f-488c-80e5-4bc6e07f3c48/stops/sync", "k1");
+        String sameDriver = IdempotencyFilter.scopedKey(
+                "/api/drivers/3BFD7DE8-3EAD-4443-9ABD-53DD8CC85EC0/loads/6b0f5f4d-0b9f-4e28-9a4c-7c9f4c7b9f1c/reject", "k1");
+
+        assertThat(a).isNotEqualTo(b);
+        assertThat(sameDriver).isEqualTo(a);  // one driver's keys span all of their endpoints
+        assertThat(IdempotencyFilter.scopedKey("/api/loads", "k1")).isNotEqualTo(a);
+    }
+
+    @Test
+    void bufferedBodyNotifiesReadListener() throws IOException {
+        MockHttpServletRequest raw = new MockHttpServletRequest("POST", "/api/drivers/x/stops/sync");
+        raw.setContent("{\"events\":[]}".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(raw).getInputStream();
+
+        List<String> calls = new ArrayList<>();
+        in.setReadListener(new ReadListener() {
+            @Override public void onDataAvailable() throws IOException {
+                calls.add("available");
+                while (in.isReady() && !in.isFinished()) in.read();
+            }
+            @Override public void onAllDataRead() { calls.add("done"); }
+            @Override public void onError(Throwable t) { calls.add("error"); }
+        });
+
+        assertThat(calls).containsExactly("available", "done");
+    }
+}
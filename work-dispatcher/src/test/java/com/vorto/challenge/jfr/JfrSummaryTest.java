@@ -0,0 +1,53 @@
+package com.vorto.challenge.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrSummaryTest {
+
+    @Test
+    void summarisesDispatchEventsFromARecording(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CandidateSearchEvent.class);
+            recording.enable(ReservationAttemptEvent.class);
+            recording.enable(ExpiredReleaseEvent.class);
+            recording.start();
+
+            UUID driver = UUID.randomUUID();
+            CandidateSearchEvent search = CandidateSearchEvent.start(CandidateSearchEvent.DRIVER_FIRST);
+            ReservationAttemptEvent.start().finish(CandidateSearchEvent.DRIVER_FIRST, 1, ReservationAttemptEvent.LOST_RACE);
+            ReservationAttemptEvent.start().finish(CandidateSearchEvent.DRIVER_FIRST, 2, ReservationAttemptEvent.RESERVED);
+            search.finish(driver, UUID.randomUUID(), 2, true, 3.5);
+            ExpiredReleaseEvent.start().finish(ExpiredReleaseEvent.WHEEL, 4);
+            ExpiredReleaseEvent.start().finish(ExpiredReleaseEvent.SWEEP, 0);  // nothing released: not recorded
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrSummary summary = JfrSummary.read(file);
+        assertThat(summary.dispatchEvents("CandidateSearch")).isEqualTo(1);
+        assertThat(summary.dispatchEvents("ReservationAttempt")).isEqualTo(2);
+        assertThat(summary.attemptOutcomes())
+                .containsEntry("DRIVER_FIRST LOST_RACE", 1L)
+                .containsEntry("DRIVER_FIRST RESERVED", 1L);
+        assertThat(summary.expiredBySource()).containsExactlyEntriesOf(Map.of("WHEEL", 4L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary.print(new PrintStream(out, true, StandardCharsets.UTF_8), 10);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("CandidateSearch", "DRIVER_FIRST pickup distance km: p50 3.50");
+    }
+}
@@ -0,0 +1,98 @@
+package com.vorto.challenge.repository;
+
+import com.vorto.challenge.common.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the ranked reserve statements against a real Postgres + PostGIS (like {@code contextLoads}).
+ * Every test works inside one transaction that is rolled back, so it leaves no rows behind and only
+ * needs its own loads to win the ranking: they sit at the driver's position, far from any datagen
+ * area, at the highest priority and with the full age bonus.
+ */
+@SpringBootTest
+class LoadReservationTests {
+    private static final double LAT = 0.5, LNG = -150.0;  // open Pacific
+
+    @Autowired LoadRepository loads;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired PlatformTransactionManager txManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+    }
+
+    @Test
+    void lockingReserveClaimsTheBestRankedLoad() {
+        inRollback(fx -> {
+            Optional<ReservedLoad> reserved = loads.reserveRanked(fx.driver, fx.shift, LAT, LNG, null, fx.now);
+            assertReservedBy(reserved, fx.nearest, fx);
+        });
+    }
+
+    @Test
+    void optimisticReserveClaimsTheBestRankedLoad() {
+        inRollback(fx -> {
+            Optional<ReservedLoad> reserved = loads.reserveRankedOptimistic(fx.driver, fx.shift, LAT, LNG, null, fx.now);
+            assertReservedBy(reserved, fx.nearest, fx);
+        });
+    }
+
+    @Test
+    void excludedLoadIsPassedOverInBothModes() {
+        inRollback(fx -> assertReservedBy(
+                loads.reserveRanked(fx.driver, fx.shift, LAT, LNG, fx.nearest, fx.now), fx.next, fx));
+        inRollback(fx -> assertReservedBy(
+                loads.reserveRankedOptimistic(fx.driver, fx.shift, LAT, LNG, fx.nearest, fx.now), fx.next, fx));
+    }
+
+    private void assertReservedBy(Optional<ReservedLoad> reserved, UUID expected, Fixture fx) {
+        assertThat(reserved).isPresent();
+        assertThat(reserved.get().id()).isEqualTo(expected);
+        assertThat(reserved.get().status()).isEqualTo("RESERVED");
+        assertThat(reserved.get().driverId()).isEqualTo(fx.driver);
+        assertThat(reserved.get().expiresAt()).isAfter(fx.now);
+        assertThat(jdbc.queryForObject("SELECT assigned_shift_id FROM loads WHERE id = ?", UUID.class, expected))
+                .isEqualTo(fx.shift);
+    }
+
+    private record Fixture(UUID driver, UUID shift, UUID nearest, UUID next, Instant now) {}
+
+    private void inRollback(Consumer<Fixture> body) {
+        tx.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            UUID driver = UuidV7.next(), shift = UuidV7.next();
+            jdbc.update("INSERT INTO drivers (id, name, on_shift, current_location) "
+                    + "VALUES (?, ?, true, ST_SetSRID(ST_MakePoint(?, ?), 4326))",
+                    driver, "reserve-test-" + driver, LNG, LAT);
+            jdbc.update("INSERT INTO shifts (id, driver_id, start_time, start_location) "
+                    + "VALUES (?, ?, now(), ST_SetSRID(ST_MakePoint(?, ?), 4326))", shift, driver, LNG, LAT);
+            UUID nearest = insertLoad(LAT, LNG);
+            UUID next = insertLoad(LAT + 0.001, LNG);  // ~110 m north
+            body.accept(new Fixture(driver, shift, nearest, next, Instant.now()));
+        });
+    }
+
+    private UUID insertLoad(double lat, double lng) {
+        UUID id = UuidV7.next();
+        jdbc.update("INSERT INTO loads (id, pickup, dropoff, priority, created_at) VALUES (?, "
+                + "ST_SetSRID(ST_MakePoint(?, ?), 4326), ST_SetSRID(ST_MakePoint(?, ?), 4326), 3, now() - interval '1 day')",
+                id, lng, lat, lng + 0.05, lat);
+        return id;
+    }
+}
@@ -0,0 +1,90 @@
+package com.vorto.challenge.retry;
+
+import com.vorto.challenge.config.RetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetryOnConflictAspectTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final RetryOnConflictAspect aspect =
+            new RetryOnConflictAspect(new RetryProperties(3, Duration.ZERO), registry);
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void retriesConflictsUntilAnAttemptSucceeds() throws Throwable {
+        ProceedingJoinPoint pjp = joinPoint();
+        when(pjp.proceed()).thenThrow(conflict()).thenThrow(conflict()).thenReturn("done");
+
+        assertThat(aspect.retry(pjp)).isEqualTo("done");
+        verify(pjp, times(3)).proceed();
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("exhausted")).isZero();
+    }
+
+    @Test
+    void rethrowsOnceAttemptsAreExhausted() throws Throwable {
+        ProceedingJoinPoint pjp = joinPoint();
+        OptimisticLockingFailureException last = conflict();
+        when(pjp.proceed()).thenThrow(conflict()).thenThrow(conflict()).thenThrow(last);
+
+        assertThatThrownBy(() -> aspect.retry(pjp)).isSameAs(last);
+        verify(pjp, times(3)).proceed();
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() throws Throwable {
+        ProceedingJoinPoint pjp = joinPoint();
+        when(pjp.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> aspect.retry(pjp)).isInstanceOf(IllegalStateException.class);
+        verify(pjp, times(1)).proceed();
+    }
+
+    @Test
+    void runsOnceInsideAnExistingTransaction() throws Throwable {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        ProceedingJoinPoint pjp = joinPoint();
+        when(pjp.proceed()).thenThrow(conflict());
+
+        assertThatThrownBy(() -> aspect.retry(pjp)).isInstanceOf(OptimisticLockingFailureException.class);
+        verify(pjp, times(1)).proceed();
+        assertThat(count("retried")).isZero();
+    }
+
+    private static ProceedingJoinPoint joinPoint() {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.toShortString()).thenReturn("Service.method()");
+        when(pjp.getSignature()).thenReturn(signature);
+        return pjp;
+    }
+
+    private static OptimisticLockingFailureException conflict() {
+        return new OptimisticLockingFailureException("stale version");
+    }
+
+    private double count(String outcome) {
+        return registry.counter("dispatch.retry.conflicts", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,75 @@
+package com.vorto.challenge.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SimulationEngineTest {
+    private static final long MIN = 60_000;
+    // nobody rejects, everybody responds well within the TTL
+    private static final SimConfig RELIABLE = new SimConfig(120_000, 1, 0, 60, 0, 1);
+
+    @Test
+    void singleLoadIsDeliveredWithExpectedDeadheadAndWait() {
+        // driver ~11.1 km south of the pickup; at 60 km/h that is ~11 minutes
+        List<SimEvent> events = List.of(
+                new SimEvent.ShiftStarted(0, "d1", 33.0, -112.0),
+                new SimEvent.LoadCreated(MIN, "l1", 33.1, -112.0, 33.2, -112.0),
+                new SimEvent.ShiftEnded(120 * MIN, "d1"));
+
+        SimReport r = new SimulationEngine(events, new NearestLoadStrategy(), RELIABLE).run();
+
+        assertThat(r.loadsCompleted()).isEqualTo(1);
+        assertThat(r.reservations()).isEqualTo(1);
+        assertThat(r.deadheadKm()).isCloseTo(11.12, within(0.01));
+        assertThat(r.loadedKm()).isCloseTo(11.12, within(0.01));
+        assertThat(r.meanWaitMinutes()).isCloseTo(11.12, within(0.05));
+        assertThat(r.openAtEnd()).isZero();
+    }
+
+    @Test
+    void pushGoesToTheClosestIdleDriver() {
+        List<SimEvent> events = List.of(
+                new SimEvent.ShiftStarted(0, "far", 33.0, -112.0),
+                new SimEvent.ShiftStarted(0, "near", 33.09, -112.0),
+                new SimEvent.LoadCreated(MIN, "l1", 33.1, -112.0, 33.1, -112.01),
+                new SimEvent.ShiftEnded(120 * MIN, "far"));
+
+        SimReport r = new SimulationEngine(events, new NearestLoadStrategy(), RELIABLE).run();
+
+        assertThat(r.loadsCompleted()).isEqualTo(1);
+        assertThat(r.deadheadKm()).isCloseTo(1.11, within(0.01));
+    }
+
+    @Test
+    void syntheticDayConservesLoadsAndIsDeterministic() {
+        List<SimEvent> day = SyntheticDay.generate(7, 150, 3_000, 33.4484, -112.074, 10);
+        SimConfig cfg = SimConfig.defaults();
+
+        List<SimReport> reports = SimulationRunner.runAll(day,
+                List.of(new NearestLoadStrategy(), new OldestNearbyStrategy(5), new NearestLoadStrategy()), cfg, 3);
+
+        for (SimReport r : reports) {
+            assertThat(r.loadsCreated()).isEqualTo(3_000);
+            assertThat(r.loadsCompleted() + r.openAtEnd() + r.inFlightAtEnd()).isEqualTo(r.loadsCreated());
+            assertThat(r.loadsCompleted()).isPositive();
+            assertThat(r.expiries()).isPositive();
+        }
+        SimReport a = reports.get(0), b = reports.get(2);
+        assertThat(b.loadsCompleted()).isEqualTo(a.loadsCompleted());
+        assertThat(b.deadheadKm()).isEqualTo(a.deadheadKm());
+        assertThat(b.p95WaitMinutes()).isEqualTo(a.p95WaitMinutes());
+    }
+
+    @Test
+    void eventLogRoundTrips() throws Exception {
+        List<SimEvent> day = SyntheticDay.generate(3, 5, 20, 40.7, -74.0, 5);
+        StringBuilder out = new StringBuilder();
+        EventLog.write(day, out);
+        assertThat(EventLog.read(new StringReader(out.toString()))).isEqualTo(day);
+    }
+}
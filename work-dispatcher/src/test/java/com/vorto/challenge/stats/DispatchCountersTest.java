@@ -0,0 +1,97 @@
+package com.vorto.challenge.stats;
+
+import com.vorto.challenge.DTO.DispatchStatsDto;
+import com.vorto.challenge.model.Load;
+import com.vorto.challenge.repository.DriverRepository;
+import com.vorto.challenge.repository.LoadRepository;
+import com.vorto.challenge.scheduling.ReservationsExpiredEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Outside a transaction {@code AfterCommit} runs immediately, so transitions apply as they are reported. */
+class DispatchCountersTest {
+    private final LoadRepository loads = mock(LoadRepository.class);
+    private final DriverRepository drivers = mock(DriverRepository.class);
+    private final DispatchCounters counters = new DispatchCounters(loads, drivers);
+
+    @Test
+    void transitionsMoveLoadsBetweenStatuses() {
+        counters.loadCreated();
+        counters.loadCreated();
+        counters.shiftStarted();
+        counters.loadMoved(Load.Status.AWAITING_DRIVER, Load.Status.RESERVED);
+
+        DispatchStatsDto stats = counters.snapshot();
+        assertThat(stats.loadsByStatus()).containsEntry("AWAITING_DRIVER", 1L).containsEntry("RESERVED", 1L);
+        assertThat(stats.driversOnShift()).isEqualTo(1);
+        assertThat(stats.driversIdle()).isZero();
+    }
+
+    @Test
+    void expiredReservationsReturnToAwaiting() {
+        counters.loadCreated();
+        counters.loadCreated();
+        counters.loadMoved(Load.Status.AWAITING_DRIVER, Load.Status.RESERVED);
+        counters.loadMoved(Load.Status.AWAITING_DRIVER, Load.Status.RESERVED);
+
+        counters.onReservationsExpired(new ReservationsExpiredEvent(List.of(UUID.randomUUID(), UUID.randomUUID())));
+
+        assertThat(counters.snapshot().loadsByStatus()).containsEntry("AWAITING_DRIVER", 2L).containsEntry("RESERVED", 0L);
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        counters.loadCreated();  // the database has two more, written by another node
+        stubDatabase(3, 0, 2, 2);
+
+        counters.reconcile();
+
+        DispatchStatsDto stats = counters.snapshot();
+        assertThat(stats.loadsByStatus()).containsEntry("AWAITING_DRIVER", 3L);
+        assertThat(stats.driversOnShift()).isEqualTo(2);
+        assertThat(stats.driversIdle()).isEqualTo(2);
+        assertThat(stats.reconciledAt()).isNotNull();
+    }
+
+    @Test
+    void reconcileKeepsTransitionsAppliedWhileItsQueryRuns() {
+        counters.loadCreated();
+        counters.loadCreated();
+        // the count sees both loads awaiting; one is reserved (and reported) before the counters are corrected
+        when(loads.countByStatus()).thenAnswer(inv -> {
+            counters.loadMoved(Load.Status.AWAITING_DRIVER, Load.Status.RESERVED);
+            return List.of(statusCount("AWAITING_DRIVER", 2));
+        });
+        when(drivers.countOnShiftAndIdle()).thenReturn(shiftCounts(0, 0));
+
+        counters.reconcile();
+
+        assertThat(counters.snapshot().loadsByStatus()).containsEntry("AWAITING_DRIVER", 1L).containsEntry("RESERVED", 1L);
+    }
+
+    private void stubDatabase(long awaiting, long reserved, long onShift, long idle) {
+        when(loads.countByStatus()).thenReturn(List.of(
+                statusCount("AWAITING_DRIVER", awaiting), statusCount("RESERVED", reserved)));
+        when(drivers.countOnShiftAndIdle()).thenReturn(shiftCounts(onShift, idle));
+    }
+
+    private static LoadRepository.StatusCount statusCount(String status, long count) {
+        return new LoadRepository.StatusCount() {
+            @Override public String getStatus() { return status; }
+            @Override public long getCount() { return count; }
+        };
+    }
+
+    private static DriverRepository.ShiftCounts shiftCounts(long onShift, long idle) {
+        return new DriverRepository.ShiftCounts() {
+            @Override public long getOnShift() { return onShift; }
+            @Override public long getIdle() { return idle; }
+        };
+    }
+}